@@ -0,0 +1,31 @@
+package org.vaadin.addons.joelpop.ui.component;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * The record of a single invocation of an {@link ActionGrid} action, as written to an {@link ActionAuditSink}.
+ *
+ * @param timestamp when the invocation ended
+ * @param user the user invoking the action, or an empty string if unknown
+ * @param actionKey the key of the action
+ * @param itemId the id of the item the action was invoked for, as provided by the grid's data provider
+ * @param outcome the outcome of the invocation
+ * @param durationNanos the duration of the invocation, in nanoseconds
+ * @see ActionAuditTrail
+ */
+public record ActionAuditRecord(Instant timestamp, String user, String actionKey, String itemId,
+                                Outcome outcome, long durationNanos) implements Serializable {
+
+    /**
+     * The outcome of an action invocation.
+     */
+    public enum Outcome {
+        /** The handlers ran. */
+        HANDLED,
+        /** The action was not visible or not enabled for the item, so no handler ran. */
+        REJECTED,
+        /** A handler threw an exception. */
+        FAILED
+    }
+}
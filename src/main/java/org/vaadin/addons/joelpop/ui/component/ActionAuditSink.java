@@ -0,0 +1,36 @@
+package org.vaadin.addons.joelpop.ui.component;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Receives batches of {@link ActionAuditRecord}s from the background writer of an {@link ActionAuditTrail},
+ * e.g., to insert them into a database. {@link RollingFileAuditSink} writes them to local files.
+ * <p>
+ * Batches are written from a single thread, one after the other.
+ *
+ * @see ActionAuditTrail#builder(ActionAuditSink)
+ */
+@FunctionalInterface
+public interface ActionAuditSink extends Closeable {
+
+    /**
+     * Write a batch of records.
+     * <p>
+     * If writing fails, the batch is counted as failed and is not retried.
+     *
+     * @param records the records, in the order they were recorded
+     * @throws IOException if writing fails
+     */
+    void write(List<ActionAuditRecord> records) throws IOException;
+
+    /**
+     * Release the sink's resources, once the last batch has been written.
+     *
+     * @throws IOException if releasing fails
+     */
+    @Override
+    default void close() throws IOException {
+    }
+}
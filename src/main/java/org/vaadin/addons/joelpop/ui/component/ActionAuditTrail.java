@@ -0,0 +1,361 @@
+package org.vaadin.addons.joelpop.ui.component;
+
+import com.vaadin.flow.server.VaadinRequest;
+import com.vaadin.flow.server.VaadinSession;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * An audit trail of action invocations, recorded without blocking the clicks
+ * and written to an {@link ActionAuditSink} in batches by a background thread.
+ * <p>
+ * Records are queued in a bounded lock-free buffer.
+ * The writer drains the buffer once a batch is full, or once the flush interval has passed,
+ * so that a slow sink delays the writer rather than the clicks.
+ * When the buffer is full, records are handled by the {@linkplain OverflowPolicy overflow policy}.
+ * <p>
+ * A trail is meant to be shared by all the grids of an application, and closed on shutdown:
+ * <pre>{@code
+ * static final ActionAuditTrail AUDIT_TRAIL = ActionAuditTrail.builder(
+ *                 new RollingFileAuditSink(Path.of("logs"), "actions", 10 * 1024 * 1024, 10))
+ *         .withOverflowPolicy(ActionAuditTrail.OverflowPolicy.DROP_OLDEST)
+ *         .build();
+ * ...
+ * orderGrid.setAuditTrail(AUDIT_TRAIL);
+ * }</pre>
+ *
+ * @see ActionGrid#setAuditTrail(ActionAuditTrail)
+ */
+public final class ActionAuditTrail implements AutoCloseable {
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final ActionAuditSink sink;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final Supplier<String> userProvider;
+    private final Queue<ActionAuditRecord> buffer;
+    private final AtomicInteger bufferSize;
+    private final LongAdder droppedRecords;
+    private final LongAdder writtenRecords;
+    private final LongAdder failedRecords;
+    private final Thread writer;
+    private volatile boolean closed;
+
+    private ActionAuditTrail(Builder builder) {
+        sink = builder.sink;
+        capacity = builder.capacity;
+        batchSize = builder.batchSize;
+        flushIntervalNanos = builder.flushInterval.toNanos();
+        overflowPolicy = builder.overflowPolicy;
+        userProvider = builder.userProvider;
+        buffer = new ConcurrentLinkedQueue<>();
+        bufferSize = new AtomicInteger();
+        droppedRecords = new LongAdder();
+        writtenRecords = new LongAdder();
+        failedRecords = new LongAdder();
+        writer = new Thread(this::writeBatches, "action-audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Start building an audit trail.
+     *
+     * @param sink the sink to write the records to, not null
+     * @return a builder for the trail
+     */
+    public static Builder builder(ActionAuditSink sink) {
+        return new Builder(sink);
+    }
+
+    /**
+     * Record an action invocation, attributing it to the current user.
+     *
+     * @param actionKey the key of the action
+     * @param itemId the id of the item the action was invoked for
+     * @param outcome the outcome of the invocation
+     * @param durationNanos the duration of the invocation, in nanoseconds
+     * @return {@code true} if the record was queued, {@code false} if it was dropped
+     */
+    public boolean record(String actionKey, Object itemId, ActionAuditRecord.Outcome outcome, long durationNanos) {
+        return record(new ActionAuditRecord(Instant.now(), Objects.requireNonNullElse(userProvider.get(), ""),
+                actionKey, String.valueOf(itemId), outcome, durationNanos));
+    }
+
+    /**
+     * Queue a record for writing, handling it by the overflow policy if the buffer is full.
+     *
+     * @param auditRecord the record, not null
+     * @return {@code true} if the record was queued, {@code false} if it was dropped
+     */
+    public boolean record(ActionAuditRecord auditRecord) {
+        Objects.requireNonNull(auditRecord, "auditRecord cannot be null.");
+        while (!closed) {
+            var size = bufferSize.get();
+            if (size < capacity) {
+                if (bufferSize.compareAndSet(size, size + 1)) {
+                    buffer.add(auditRecord);
+                    if (size + 1 == batchSize) {
+                        LockSupport.unpark(writer);
+                    }
+                    return true;
+                }
+            }
+            else {
+                switch (overflowPolicy) {
+                    case DROP_NEWEST -> {
+                        droppedRecords.increment();
+                        return false;
+                    }
+                    case DROP_OLDEST -> {
+                        // remove the oldest record the way the writer does, polling before counting it out,
+                        // so that the count never falls behind the buffer; then queue the record as usual
+                        if (buffer.poll() != null) {
+                            bufferSize.decrementAndGet();
+                            droppedRecords.increment();
+                        }
+                    }
+                    case BLOCK -> {
+                        // parking with the session locked would stall every request of the session
+                        if (holdsSessionLock()) {
+                            droppedRecords.increment();
+                            return false;
+                        }
+                        LockSupport.unpark(writer);
+                        LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+                    }
+                }
+            }
+        }
+        droppedRecords.increment();
+        return false;
+    }
+
+    private void writeBatches() {
+        while (!closed || !buffer.isEmpty()) {
+            if (bufferSize.get() < batchSize && !closed) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+            while (!buffer.isEmpty()) {
+                var batch = new ArrayList<ActionAuditRecord>(Math.min(batchSize, bufferSize.get()));
+                ActionAuditRecord auditRecord;
+                while (batch.size() < batchSize && (auditRecord = buffer.poll()) != null) {
+                    batch.add(auditRecord);
+                }
+                bufferSize.addAndGet(-batch.size());
+                try {
+                    sink.write(batch);
+                    writtenRecords.add(batch.size());
+                }
+                catch (IOException | RuntimeException e) {
+                    failedRecords.add(batch.size());
+                }
+            }
+        }
+    }
+
+    /**
+     * Return the number of records waiting to be written.
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        return bufferSize.get();
+    }
+
+    /**
+     * Return the number of records dropped because the buffer was full, or because the trail was closed.
+     *
+     * @return the number of dropped records
+     */
+    public long getDroppedRecords() {
+        return droppedRecords.sum();
+    }
+
+    /**
+     * Return the number of records written to the sink.
+     *
+     * @return the number of written records
+     */
+    public long getWrittenRecords() {
+        return writtenRecords.sum();
+    }
+
+    /**
+     * Return the number of records in batches the sink failed to write.
+     *
+     * @return the number of failed records
+     */
+    public long getFailedRecords() {
+        return failedRecords.sum();
+    }
+
+    /**
+     * Stop recording, write the records still queued and close the sink.
+     *
+     * @throws IOException if closing the sink fails
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sink.close();
+    }
+
+    private static boolean holdsSessionLock() {
+        var session = VaadinSession.getCurrent();
+        return session != null && session.hasLock();
+    }
+
+    private static String currentUser() {
+        return Optional.ofNullable(VaadinRequest.getCurrent())
+                .map(VaadinRequest::getUserPrincipal)
+                .map(Principal::getName)
+                .orElse("");
+    }
+
+
+    /**
+     * What happens to records while the buffer is full.
+     */
+    public enum OverflowPolicy {
+        /** The record being added is dropped. */
+        DROP_NEWEST,
+        /** The oldest record in the buffer is dropped to make room. */
+        DROP_OLDEST,
+        /**
+         * The recording thread waits until the writer makes room, trading latency for completeness.
+         * <p>
+         * Clicks are recorded while their session is locked, and waiting then would stall every request
+         * of the session, so records of threads holding a session lock are dropped as for {@link #DROP_NEWEST}.
+         * Only records of other threads, e.g., recorded through {@link ActionAuditTrail#record(ActionAuditRecord)}
+         * by background jobs, wait.
+         */
+        BLOCK
+    }
+
+
+    /**
+     * Builds an {@link ActionAuditTrail}.
+     */
+    public static final class Builder {
+        private final ActionAuditSink sink;
+        private int capacity;
+        private int batchSize;
+        private Duration flushInterval;
+        private OverflowPolicy overflowPolicy;
+        private Supplier<String> userProvider;
+
+        private Builder(ActionAuditSink sink) {
+            this.sink = Objects.requireNonNull(sink, "sink cannot be null.");
+            capacity = 65_536;
+            batchSize = 512;
+            flushInterval = Duration.ofSeconds(1);
+            overflowPolicy = OverflowPolicy.DROP_NEWEST;
+            userProvider = ActionAuditTrail::currentUser;
+        }
+
+        /**
+         * Set the number of records the buffer holds, 65,536 by default.
+         * <p>
+         * Throws an {@link IllegalArgumentException} if the capacity is not positive.
+         *
+         * @param capacity the capacity of the buffer
+         * @return this builder, for method chaining
+         */
+        public Builder withCapacity(int capacity) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("capacity must be positive.");
+            }
+            this.capacity = capacity;
+            return this;
+        }
+
+        /**
+         * Set the largest number of records written to the sink at once, 512 by default.
+         * A full batch is written at once, without waiting for the flush interval.
+         * <p>
+         * Throws an {@link IllegalArgumentException} if the batch size is not positive.
+         *
+         * @param batchSize the batch size
+         * @return this builder, for method chaining
+         */
+        public Builder withBatchSize(int batchSize) {
+            if (batchSize <= 0) {
+                throw new IllegalArgumentException("batchSize must be positive.");
+            }
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Set the longest time a record waits in the buffer while the batch is not full, one second by default.
+         * <p>
+         * Throws an {@link IllegalArgumentException} if the interval is not positive.
+         *
+         * @param flushInterval the flush interval, not null
+         * @return this builder, for method chaining
+         */
+        public Builder withFlushInterval(Duration flushInterval) {
+            Objects.requireNonNull(flushInterval, "flushInterval cannot be null.");
+            if (flushInterval.isNegative() || flushInterval.isZero()) {
+                throw new IllegalArgumentException("flushInterval must be positive.");
+            }
+            this.flushInterval = flushInterval;
+            return this;
+        }
+
+        /**
+         * Set what happens to records while the buffer is full, {@link OverflowPolicy#DROP_NEWEST} by default.
+         *
+         * @param overflowPolicy the overflow policy, not null
+         * @return this builder, for method chaining
+         */
+        public Builder withOverflowPolicy(OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = Objects.requireNonNull(overflowPolicy, "overflowPolicy cannot be null.");
+            return this;
+        }
+
+        /**
+         * Set the provider of the user invoking an action, called on the thread handling the click.
+         * By default, the name of the current request's user principal, or an empty string if none.
+         *
+         * @param userProvider the user provider, not null
+         * @return this builder, for method chaining
+         */
+        public Builder withUserProvider(Supplier<String> userProvider) {
+            this.userProvider = Objects.requireNonNull(userProvider, "userProvider cannot be null.");
+            return this;
+        }
+
+        /**
+         * Build the trail, starting its writer.
+         *
+         * @return the audit trail
+         */
+        public ActionAuditTrail build() {
+            return new ActionAuditTrail(this);
+        }
+    }
+}
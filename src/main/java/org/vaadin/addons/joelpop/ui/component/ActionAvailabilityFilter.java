@@ -0,0 +1,54 @@
+package org.vaadin.addons.joelpop.ui.component;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * The filter of the queries of an {@link ActionGrid} whose rows are limited to those some actions are available for,
+ * holding the query-level counterparts of those actions' visibility and enablement.
+ * <p>
+ * The back end translates the filters into its own query, e.g., a {@code WHERE} clause:
+ * <pre>{@code
+ * orderGrid.setItemsWithAvailability(DataProvider.fromFilteringCallbacks(
+ *         query -> orderService.fetch(query.getOffset(), query.getLimit(), query.getSortOrders(),
+ *                 query.getFilter().map(ActionAvailabilityFilter::getFilters).orElse(List.of())),
+ *         query -> orderService.count(
+ *                 query.getFilter().map(ActionAvailabilityFilter::getFilters).orElse(List.of()))));
+ * }</pre>
+ *
+ * @see ActionGrid#showOnlyAvailable(String...)
+ * @see ActionGrid.Action#setAvailabilityFilter(Serializable)
+ */
+public final class ActionAvailabilityFilter implements Serializable {
+    private final List<String> actionKeys;
+    private final List<Serializable> filters;
+
+    ActionAvailabilityFilter(List<String> actionKeys, List<Serializable> filters) {
+        this.actionKeys = List.copyOf(actionKeys);
+        this.filters = List.copyOf(filters);
+    }
+
+    /**
+     * Return the keys of the actions the rows must be available for.
+     *
+     * @return the keys of the actions
+     */
+    public List<String> getActionKeys() {
+        return actionKeys;
+    }
+
+    /**
+     * Return the availability filters of the actions, in the same order as their keys,
+     * all of which the rows must match.
+     *
+     * @return the filters of the actions
+     */
+    public List<Serializable> getFilters() {
+        return filters;
+    }
+
+    @Override
+    public String toString() {
+        return "ActionAvailabilityFilter" + actionKeys;
+    }
+}
@@ -0,0 +1,288 @@
+package org.vaadin.addons.joelpop.ui.component;
+
+import com.vaadin.flow.component.icon.Icon;
+import com.vaadin.flow.function.SerializableConsumer;
+import com.vaadin.flow.function.SerializableFunction;
+import com.vaadin.flow.function.SerializablePredicate;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Stream;
+
+/**
+ * The configuration of an {@link ActionGrid.Action}: its key, row type, providers, conditions and click handlers,
+ * with the defaults and rules shared by the setters of {@link ActionGrid.Action} and {@link ActionSet.ActionBuilder}.
+ * <p>
+ * Each action holds its own configuration. An {@link ActionSet} keeps copies of the configurations it was built with,
+ * and copies them again into the actions of each grid, which then share the set's providers and click handlers.
+ *
+ * @param <T> the type of the items
+ */
+final class ActionConfiguration<T> implements Serializable {
+    final String key;
+    final Class<? extends T> rowType;
+    SerializableFunction<T, Icon> iconProvider;
+    SerializableFunction<T, String> iconNameProvider;
+    SerializableFunction<T, String> classNameProvider;
+    SerializableFunction<T, String> ariaLabelProvider;
+    SerializableFunction<T, String> tooltipProvider;
+    SerializablePredicate<T> visiblePredicate;
+    SerializablePredicate<T> enabledPredicate;
+    RowCondition<T> classNameCondition;
+    String conditionalClassName;
+    String otherwiseClassName;
+    RowCondition<T> visibleCondition;
+    RowCondition<T> enabledCondition;
+    SerializableFunction<T, CompletionStage<Boolean>> asyncVisibleProvider;
+    SerializableFunction<T, CompletionStage<Boolean>> asyncEnabledProvider;
+    boolean pendingVisible;
+    boolean pendingEnabled;
+    String pendingClassName;
+    Duration asyncTimeout;
+    boolean asyncFallback;
+    List<SerializableConsumer<T>> clickHandlers;
+    List<SerializableConsumer<Set<T>>> bulkClickHandlers;
+    SerializableFunction<Set<T>, Set<T>> bulkFilter;
+    String clientClickScript;
+    List<RowProperty<T>> clientClickProperties;
+    String confirmationMessage;
+    SerializableFunction<T, String> confirmationProvider;
+    String confirmText;
+    String cancelText;
+    Serializable availabilityFilter;
+    String availabilitySortProperty;
+
+    /**
+     * Create the default configuration of an action.
+     *
+     * @param key the unique identifier of the action
+     * @param rowType the type of the items the action applies to, or {@code null} for all items
+     */
+    ActionConfiguration(String key, Class<? extends T> rowType) {
+        this.key = key;
+        this.rowType = rowType;
+        setIcon(null);
+        setClassName(null);
+        setAccessibleName(null);
+        setTooltip(null);
+        setVisible(null);
+        setEnabled(null);
+        pendingVisible = true;
+        pendingEnabled = false;
+        pendingClassName = "";
+        asyncTimeout = ActionGrid.DEFAULT_ASYNC_TIMEOUT;
+        asyncFallback = false;
+        clickHandlers = new ArrayList<>();
+        bulkClickHandlers = new ArrayList<>();
+        clientClickProperties = List.of();
+        confirmText = ActionGrid.DEFAULT_CONFIRM_TEXT;
+        cancelText = ActionGrid.DEFAULT_CANCEL_TEXT;
+    }
+
+    private ActionConfiguration(ActionConfiguration<T> configuration) {
+        key = configuration.key;
+        rowType = configuration.rowType;
+        iconProvider = configuration.iconProvider;
+        iconNameProvider = configuration.iconNameProvider;
+        classNameProvider = configuration.classNameProvider;
+        ariaLabelProvider = configuration.ariaLabelProvider;
+        tooltipProvider = configuration.tooltipProvider;
+        visiblePredicate = configuration.visiblePredicate;
+        enabledPredicate = configuration.enabledPredicate;
+        classNameCondition = configuration.classNameCondition;
+        conditionalClassName = configuration.conditionalClassName;
+        otherwiseClassName = configuration.otherwiseClassName;
+        visibleCondition = configuration.visibleCondition;
+        enabledCondition = configuration.enabledCondition;
+        asyncVisibleProvider = configuration.asyncVisibleProvider;
+        asyncEnabledProvider = configuration.asyncEnabledProvider;
+        pendingVisible = configuration.pendingVisible;
+        pendingEnabled = configuration.pendingEnabled;
+        pendingClassName = configuration.pendingClassName;
+        asyncTimeout = configuration.asyncTimeout;
+        asyncFallback = configuration.asyncFallback;
+        // copied again by the first click handler added to the copy
+        clickHandlers = List.copyOf(configuration.clickHandlers);
+        bulkClickHandlers = List.copyOf(configuration.bulkClickHandlers);
+        bulkFilter = configuration.bulkFilter;
+        clientClickScript = configuration.clientClickScript;
+        clientClickProperties = configuration.clientClickProperties;
+        confirmationMessage = configuration.confirmationMessage;
+        confirmationProvider = configuration.confirmationProvider;
+        confirmText = configuration.confirmText;
+        cancelText = configuration.cancelText;
+        availabilityFilter = configuration.availabilityFilter;
+        availabilitySortProperty = configuration.availabilitySortProperty;
+    }
+
+    /**
+     * Return a copy of this configuration, sharing its providers and click handlers,
+     * which later changes to either configuration do not affect.
+     */
+    ActionConfiguration<T> copy() {
+        return new ActionConfiguration<>(this);
+    }
+
+    void setIcon(SerializableFunction<T, Icon> iconProvider) {
+        this.iconProvider = Objects.requireNonNullElseGet(iconProvider, () -> t -> null);
+        this.iconNameProvider = ActionGrid.iconNameProvider(this.iconProvider);
+    }
+
+    void setIconName(SerializableFunction<T, String> iconNameProvider) {
+        this.iconNameProvider = Objects.requireNonNullElseGet(iconNameProvider, () -> t -> "");
+        this.iconProvider = ActionGrid.iconProviderOf(this.iconNameProvider);
+    }
+
+    void setClassName(SerializableFunction<T, String> classNameProvider) {
+        this.classNameProvider = Objects.requireNonNullElseGet(classNameProvider, () -> t -> "");
+        this.classNameCondition = null;
+    }
+
+    void setAccessibleName(SerializableFunction<T, String> ariaLabelProvider) {
+        this.ariaLabelProvider = Objects.requireNonNullElseGet(ariaLabelProvider, () -> t -> "");
+    }
+
+    void setTooltip(SerializableFunction<T, String> tooltipProvider) {
+        this.tooltipProvider = Objects.requireNonNullElseGet(tooltipProvider, () -> t -> "");
+    }
+
+    void setVisible(SerializablePredicate<T> visiblePredicate) {
+        this.visiblePredicate = Objects.requireNonNullElseGet(visiblePredicate, () -> t -> true);
+        this.visibleCondition = null;
+        this.asyncVisibleProvider = null;
+    }
+
+    void setEnabled(SerializablePredicate<T> enabledPredicate) {
+        this.enabledPredicate = Objects.requireNonNullElseGet(enabledPredicate, () -> t -> true);
+        this.enabledCondition = null;
+        this.asyncEnabledProvider = null;
+    }
+
+    void setClassNameWhen(RowCondition<T> condition, String className, String otherwiseClassName) {
+        Objects.requireNonNull(condition, "condition cannot be null.");
+        var conditional = Objects.requireNonNullElse(className, "");
+        var otherwise = Objects.requireNonNullElse(otherwiseClassName, "");
+        setClassName(t -> condition.test(t) ? conditional : otherwise);
+        this.classNameCondition = condition;
+        this.conditionalClassName = conditional;
+        this.otherwiseClassName = otherwise;
+    }
+
+    void setVisibleWhen(RowCondition<T> condition) {
+        Objects.requireNonNull(condition, "condition cannot be null.");
+        setVisible(condition::test);
+        this.visibleCondition = condition;
+    }
+
+    void setEnabledWhen(RowCondition<T> condition) {
+        Objects.requireNonNull(condition, "condition cannot be null.");
+        setEnabled(condition::test);
+        this.enabledCondition = condition;
+    }
+
+    void setVisibleAsync(SerializableFunction<T, CompletionStage<Boolean>> asyncVisibleProvider) {
+        setVisible(null);
+        this.asyncVisibleProvider = asyncVisibleProvider;
+    }
+
+    void setEnabledAsync(SerializableFunction<T, CompletionStage<Boolean>> asyncEnabledProvider) {
+        setEnabled(null);
+        this.asyncEnabledProvider = asyncEnabledProvider;
+    }
+
+    void setPendingClassName(String pendingClassName) {
+        this.pendingClassName = Objects.requireNonNullElse(pendingClassName, "");
+    }
+
+    void setAsyncTimeout(Duration asyncTimeout) {
+        this.asyncTimeout = Objects.requireNonNull(asyncTimeout, "asyncTimeout cannot be null.");
+    }
+
+    /**
+     * Return the row properties a client click script uses, checking that the script can be inlined
+     * into the action column's template.
+     */
+    static <E> List<RowProperty<E>> clientClickProperties(String script, List<RowProperty<E>> rowProperties) {
+        Objects.requireNonNull(rowProperties, "rowProperties cannot be null.");
+        if (script != null && script.indexOf('`') >= 0) {
+            throw new IllegalArgumentException("script cannot contain a backtick.");
+        }
+        return (script != null) ? List.copyOf(rowProperties) : List.of();
+    }
+
+    void setClientClick(String script, List<RowProperty<T>> clientClickProperties) {
+        this.clientClickScript = script;
+        this.clientClickProperties = clientClickProperties;
+    }
+
+    void setConfirmation(String message) {
+        this.confirmationMessage = message;
+        this.confirmationProvider = null;
+    }
+
+    void setConfirmation(SerializableFunction<T, String> confirmationProvider) {
+        this.confirmationMessage = null;
+        this.confirmationProvider = confirmationProvider;
+    }
+
+    void setConfirmationButtonTexts(String confirmText, String cancelText) {
+        this.confirmText = Objects.requireNonNull(confirmText, "confirmText cannot be null.");
+        this.cancelText = Objects.requireNonNull(cancelText, "cancelText cannot be null.");
+    }
+
+    void addClickHandler(SerializableConsumer<T> clickHandler) {
+        Objects.requireNonNull(clickHandler, "clickHandler cannot be null.");
+        // copied from a shared configuration on the first click handler added
+        if (!(clickHandlers instanceof ArrayList)) {
+            clickHandlers = new ArrayList<>(clickHandlers);
+        }
+        clickHandlers.add(clickHandler);
+    }
+
+    void addBulkClickHandler(SerializableConsumer<Set<T>> bulkClickHandler) {
+        Objects.requireNonNull(bulkClickHandler, "bulkClickHandler cannot be null.");
+        if (!(bulkClickHandlers instanceof ArrayList)) {
+            bulkClickHandlers = new ArrayList<>(bulkClickHandlers);
+        }
+        bulkClickHandlers.add(bulkClickHandler);
+    }
+
+    /**
+     * Estimate the heap retained by this configuration: its providers and conditions, its strings,
+     * and its own lists of click handlers, which are not shared with an {@link ActionSet}.
+     */
+    long estimateRetainedSize(Set<String> counted) {
+        return MemoryEstimates.ACTION_CONFIGURATION
+                + MemoryEstimates.string(key, counted)
+                + Stream.of(iconProvider, iconNameProvider, classNameProvider, ariaLabelProvider, tooltipProvider,
+                                visiblePredicate, enabledPredicate, asyncVisibleProvider, asyncEnabledProvider,
+                                classNameCondition, visibleCondition, enabledCondition, bulkFilter,
+                                confirmationProvider)
+                        .filter(Objects::nonNull)
+                        .count() * MemoryEstimates.LAMBDA
+                + MemoryEstimates.string(conditionalClassName, counted)
+                + MemoryEstimates.string(otherwiseClassName, counted)
+                + MemoryEstimates.string(pendingClassName, counted)
+                + MemoryEstimates.string(clientClickScript, counted)
+                + MemoryEstimates.string(confirmationMessage, counted)
+                + MemoryEstimates.string(confirmText, counted)
+                + MemoryEstimates.string(cancelText, counted)
+                + MemoryEstimates.string(availabilitySortProperty, counted)
+                + estimateRetainedSize(clickHandlers)
+                + estimateRetainedSize(bulkClickHandlers);
+    }
+
+    private static long estimateRetainedSize(List<?> handlers) {
+        if (!(handlers instanceof ArrayList)) {
+            return 0;
+        }
+        return MemoryEstimates.object(2 * Integer.BYTES + MemoryEstimates.REFERENCE)
+                + (handlers.isEmpty() ? 0 : MemoryEstimates.array(Math.max(10, handlers.size()), MemoryEstimates.REFERENCE))
+                + handlers.size() * MemoryEstimates.LAMBDA;
+    }
+}
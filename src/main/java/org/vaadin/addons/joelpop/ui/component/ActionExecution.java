@@ -0,0 +1,109 @@
+package org.vaadin.addons.joelpop.ui.component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The progress of applying an {@link ActionGrid.Action} to all the items of its grid in chunks,
+ * which can be followed and cancelled from the UI.
+ *
+ * @see ActionGrid.Action#applyToAll(int, com.vaadin.flow.function.SerializableConsumer,
+ *      com.vaadin.flow.function.SerializableConsumer)
+ */
+public final class ActionExecution {
+    private final CompletableFuture<Void> completion;
+    private final AtomicLong processedItems;
+    private final AtomicLong permittedItems;
+    private final AtomicLong chunks;
+
+    ActionExecution() {
+        completion = new CompletableFuture<>();
+        processedItems = new AtomicLong();
+        permittedItems = new AtomicLong();
+        chunks = new AtomicLong();
+    }
+
+    /**
+     * Return the number of items fetched and checked so far.
+     *
+     * @return the number of items processed
+     */
+    public long getProcessedItems() {
+        return processedItems.get();
+    }
+
+    /**
+     * Return the number of items passed to the chunk handler so far,
+     * i.e., the processed items the action is visible and enabled for.
+     *
+     * @return the number of items permitted
+     */
+    public long getPermittedItems() {
+        return permittedItems.get();
+    }
+
+    /**
+     * Return the number of chunks processed so far.
+     *
+     * @return the number of chunks
+     */
+    public long getChunks() {
+        return chunks.get();
+    }
+
+    /**
+     * Return whether the execution is over, because all items were processed,
+     * it was cancelled or a chunk handler failed.
+     *
+     * @return {@code true} if the execution is over, {@code false} otherwise
+     */
+    public boolean isDone() {
+        return completion.isDone();
+    }
+
+    /**
+     * Return whether the execution was cancelled.
+     *
+     * @return {@code true} if cancelled, {@code false} otherwise
+     */
+    public boolean isCancelled() {
+        return completion.isCancelled();
+    }
+
+    /**
+     * Cancel the execution once the chunk being processed, if any, is done.
+     */
+    public void cancel() {
+        completion.cancel(false);
+    }
+
+    /**
+     * Return a stage completing once the execution is over,
+     * or completing exceptionally if it was cancelled or a chunk handler failed,
+     * caused by a {@link java.util.concurrent.CancellationException} or by the exception thrown.
+     *
+     * @return the completion of the execution
+     */
+    public CompletionStage<Void> getCompletion() {
+        return completion.minimalCompletionStage();
+    }
+
+    boolean isRunning() {
+        return !completion.isDone();
+    }
+
+    void chunkProcessed(int processed, int permitted) {
+        processedItems.addAndGet(processed);
+        permittedItems.addAndGet(permitted);
+        chunks.incrementAndGet();
+    }
+
+    void complete() {
+        completion.complete(null);
+    }
+
+    void fail(Throwable throwable) {
+        completion.completeExceptionally(throwable);
+    }
+}
@@ -1,21 +1,85 @@
 package org.vaadin.addons.joelpop.ui.component;
 
+import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.ClientCallable;
+import com.vaadin.flow.component.ComponentEvent;
+import com.vaadin.flow.component.ComponentEventListener;
 import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.DetachEvent;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
 import com.vaadin.flow.component.Unit;
+import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.grid.GridArrayUpdater;
+import com.vaadin.flow.component.grid.GridSelectionModel;
+import com.vaadin.flow.component.grid.dataview.GridLazyDataView;
 import com.vaadin.flow.component.icon.Icon;
+import com.vaadin.flow.data.provider.AbstractBackEndDataProvider;
+import com.vaadin.flow.data.provider.BackEndDataProvider;
+import com.vaadin.flow.data.provider.CompositeDataGenerator;
+import com.vaadin.flow.data.provider.DataCommunicator;
+import com.vaadin.flow.data.provider.DataChangeEvent;
+import com.vaadin.flow.data.provider.DataGenerator;
+import com.vaadin.flow.data.provider.DataProvider;
+import com.vaadin.flow.data.provider.ListDataProvider;
+import com.vaadin.flow.data.provider.Query;
+import com.vaadin.flow.data.provider.QuerySortOrder;
+import com.vaadin.flow.data.provider.SortDirection;
 import com.vaadin.flow.data.renderer.LitRenderer;
 import com.vaadin.flow.data.renderer.Renderer;
+import com.vaadin.flow.data.selection.MultiSelectionEvent;
+import com.vaadin.flow.data.selection.SelectionEvent;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.internal.CurrentInstance;
+import com.vaadin.flow.internal.StateNode;
+import com.vaadin.flow.function.SerializableBiConsumer;
 import com.vaadin.flow.function.SerializableConsumer;
 import com.vaadin.flow.function.SerializableFunction;
 import com.vaadin.flow.function.SerializablePredicate;
+import com.vaadin.flow.function.SerializableSupplier;
 import com.vaadin.flow.function.ValueProvider;
-
+import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.shared.Registration;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+import elemental.json.JsonValue;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * A {@link Grid} with a dedicated column for action icon buttons.
@@ -34,55 +98,458 @@ public class ActionGrid<T> extends Grid<T> {
             <div
              style="width:100%; height:100%;"
              @click=${(event) => event.stopPropagation()}>""";
+    // formatted with the action key, the expressions for its class name, enablement and visibility,
+    // the click handler, and the expressions for its aria-label, icon name and tooltip
     private static final String ACTION_BUTTON_TEMPLATE_FORMAT = """
                 <vaadin-button
-                 name="%s"
+                 name="%1$s"
                  role="button"
-                 aria-label="${item.%<sAriaLabel}"
+                 aria-label="${%6$s}"
                  theme="small tertiary-inline icon"
-                 ?disabled=${!item.%<sEnabled}
-                 style="visibility:${item.%<sVisible ? "visible" : "hidden"};"
-                 @click=${%<sClick}>
-                    <vaadin-icon slot="prefix" icon="${item.%<sIconName}"
-                     class="icon-s ${item.%<sClassName}"
+                 ?disabled=${!%3$s}
+                 style="visibility:${%4$s ? "visible" : "hidden"};"
+                 @click=${%5$s}>
+                    <vaadin-icon slot="prefix" icon="${%7$s}"
+                     class="icon-s ${%2$s}"
                      style="padding:2px;"></vaadin-icon>
-                    <vaadin-tooltip slot="tooltip" text="${item.%<sTooltip}"></vaadin-tooltip>
+                    <vaadin-tooltip slot="tooltip" text="${%8$s}"></vaadin-tooltip>
                 </vaadin-button>
             """;
     private static final String ACTION_COLUMN_TEMPLATE_SUFFIX = "</div>";
-
-    private final transient List<Action> actions;
+    // rendered until the action column is first built, and again while detached
+    private static final String EMPTY_ACTION_COLUMN_TEMPLATE = ACTION_COLUMN_TEMPLATE_PREFIX + ACTION_COLUMN_TEMPLATE_SUFFIX;
+    // the single row field holding the values of the row properties used by client-evaluated conditions
+    private static final String ROW_PROPERTIES_PROPERTY = "actionRow";
+    // the page size of Grid's default constructor
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    static final Duration DEFAULT_ASYNC_TIMEOUT = Duration.ofSeconds(5);
+    // the state of an action for the items of other row types, evaluated without its providers
+    private static final ActionState INAPPLICABLE_ACTION_STATE = new ActionState("", "", "", "", false, false);
+    // the suffix of the single field holding the properties sent for a typed action, or null for other row types
+    private static final String TYPED_ACTION_STATE_SUFFIX = "State";
+    // formatted with the typed action's state, the property's suffix and its value for the other row types
+    private static final String TYPED_STATE_FORMAT = "(%s?.%s ?? %s)";
+    // formatted with the typed action's state and a client-evaluated condition, false for the other row types
+    private static final String TYPED_CONDITION_FORMAT = "(%s != null && %s)";
+    private static final int STORE_FILL_BLOCK_SIZE = 64 * ActionStateStore.ROW_ALIGNMENT;
+    // reports the visible row range once scrolling pauses, for prefetching the rows about to be shown
+    private static final String VIEWPORT_LISTENER_SCRIPT = """
+            if (!this.__actionGridViewportListener) {
+                const grid = this;
+                let timeout;
+                this.__actionGridViewportListener = () => {
+                    clearTimeout(timeout);
+                    timeout = setTimeout(() => grid.$server.prefetchAroundViewport(
+                            grid._firstVisibleIndex ?? 0, grid._lastVisibleIndex ?? 0), 100);
+                };
+                this.$.table.addEventListener('scroll', this.__actionGridViewportListener);
+            }""";
+
+    // stamps clicks with a correlation id, and reports the time until the click's response is applied
+    private static final String CLICK_TRACING_SCRIPT = """
+            if (!window.__actionGridTraceClick) {
+                const starts = new Map();
+                let sequence = 0;
+                window.__actionGridTraceClick = () => {
+                    const correlationId = Date.now().toString(36) + '-' + (++sequence);
+                    starts.set(correlationId, performance.now());
+                    return correlationId;
+                };
+                window.__actionGridClickApplied = (grid, correlationId) => {
+                    const start = starts.get(correlationId);
+                    starts.delete(correlationId);
+                    if (start !== undefined) {
+                        requestAnimationFrame(() => grid.$server.reportClickLatency(correlationId,
+                                performance.now() - start));
+                    }
+                };
+            }""";
+    private static final String TRACED_CLICK_FORMAT = "() => %sClick(Date.now(), window.__actionGridTraceClick?.() ?? '')";
+    private static final String CLICK_APPLIED_SCRIPT = "window.__actionGridClickApplied?.(this, $0)";
+    private static final int MAX_PENDING_CLICK_TRACES = 256;
+
+    // flips a toggle action in the browser at once, and sends the toggles of the grid to the server in batches;
+    // toggling an item back before its batch is sent cancels its toggle
+    private static final String TOGGLE_SCRIPT = """
+            if (!window.__actionGridToggle) {
+                window.__actionGridToggle = (target, actionKey, item, delay) => {
+                    const grid = target.closest('vaadin-grid');
+                    const property = actionKey + 'On';
+                    item[property] = !item[property];
+                    grid.requestContentUpdate();
+                    const toggles = grid.__actionGridToggles ??= new Map();
+                    const toggleKey = actionKey + '/' + item.key;
+                    if (toggles.has(toggleKey)) {
+                        toggles.delete(toggleKey);
+                    }
+                    else {
+                        toggles.set(toggleKey, { action: actionKey, key: item.key, on: item[property] });
+                    }
+                    grid.__actionGridToggleTimeout ??= setTimeout(() => {
+                        grid.__actionGridToggleTimeout = null;
+                        const batch = Array.from(toggles.values());
+                        toggles.clear();
+                        if (batch.length > 0) {
+                            grid.$server.applyToggles(batch);
+                        }
+                    }, delay);
+                };
+            }""";
+    private static final String TOGGLE_CLICK_FORMAT = "(event) => window.__actionGridToggle(event.target, %s, item, %d)";
+    private static final Duration DEFAULT_TOGGLE_BATCH_DELAY = Duration.ofMillis(300);
+    // shows a confirmation popover next to an action button, resolving whether the click was confirmed;
+    // clicks whose message turns out empty are confirmed without asking
+    private static final String CONFIRMATION_SCRIPT = """
+            if (!window.__actionGridConfirm) {
+                window.__actionGridConfirm = (target, message, confirmText, cancelText) => Promise.resolve(message)
+                        .then((text) => new Promise((resolve) => {
+                    if (!text) {
+                        resolve(true);
+                        return;
+                    }
+                    const button = target.closest('vaadin-button') ?? target;
+                    const popover = document.createElement('div');
+                    popover.setAttribute('role', 'alertdialog');
+                    popover.className = 'action-grid-confirmation';
+                    popover.style.cssText = 'position:fixed; z-index:1000; display:flex; flex-wrap:wrap; align-items:center;'
+                            + ' gap:var(--lumo-space-s, 0.5rem); max-width:20rem; padding:var(--lumo-space-s, 0.5rem);'
+                            + ' background:var(--lumo-base-color, white); border-radius:var(--lumo-border-radius-m, 4px);'
+                            + ' box-shadow:var(--lumo-box-shadow-m, 0 2px 8px rgba(0, 0, 0, 0.3));';
+                    const messageElement = document.createElement('span');
+                    messageElement.style.flexBasis = '100%';
+                    messageElement.textContent = text;
+                    const confirmButton = document.createElement('vaadin-button');
+                    confirmButton.setAttribute('theme', 'primary error small');
+                    confirmButton.textContent = confirmText;
+                    const cancelButton = document.createElement('vaadin-button');
+                    cancelButton.setAttribute('theme', 'tertiary small');
+                    cancelButton.textContent = cancelText;
+                    const outside = (event) => {
+                        if (!popover.contains(event.target)) {
+                            close(false);
+                        }
+                    };
+                    const escape = (event) => {
+                        if (event.key === 'Escape') {
+                            close(false);
+                        }
+                    };
+                    const close = (confirmed) => {
+                        popover.remove();
+                        document.removeEventListener('pointerdown', outside, true);
+                        document.removeEventListener('keydown', escape, true);
+                        button.focus();
+                        resolve(confirmed);
+                    };
+                    confirmButton.addEventListener('click', () => close(true));
+                    cancelButton.addEventListener('click', () => close(false));
+                    popover.append(messageElement, confirmButton, cancelButton);
+                    document.body.append(popover);
+                    const rect = button.getBoundingClientRect();
+                    popover.style.top = Math.max(4, Math.min(rect.bottom + 4, window.innerHeight - popover.offsetHeight - 4)) + 'px';
+                    popover.style.left = Math.max(4, rect.right - popover.offsetWidth) + 'px';
+                    document.addEventListener('pointerdown', outside, true);
+                    document.addEventListener('keydown', escape, true);
+                    confirmButton.focus();
+                }));
+            }""";
+    // formatted with the confirmation's message expression and labels, and the click confirmed
+    private static final String CONFIRMED_CLICK_FORMAT =
+            "(event) => window.__actionGridConfirm(event.target, %s).then((confirmed) => confirmed && (%s)(event))";
+    // formatted with the action key, fetching the message of the row's item from the server
+    private static final String CONFIRMATION_MESSAGE_FORMAT =
+            "event.target.closest('vaadin-grid').$server.actionConfirmation(%s, item.key)";
+    static final String DEFAULT_CONFIRM_TEXT = "Confirm";
+    static final String DEFAULT_CANCEL_TEXT = "Cancel";
+    // formatted with the expression of the row properties and the script of a client click;
+    // the script has lines of its own, so that a trailing line comment cannot swallow the closing brace
+    private static final String CLIENT_CLICK_FORMAT = """
+            (event) => { const row = %s ?? {};
+            %s
+            }""";
+
+    // calibrated against the retained sizes measured by ActionGridRetainedSizeTest, which keeps the estimate within 25%;
+    // recalibrate them when it fails after a Vaadin upgrade
+    private static final long GRID_RETAINED_SIZE_ESTIMATE = 32 * 1024;
+    private static final long RENDERER_PROPERTY_SIZE_ESTIMATE = 192;
+    private static final int TEMPLATE_CACHE_SIZE = 256;
+    private static final int EXECUTION_QUEUE_CAPACITY = 64;
+    private static final Duration EXECUTION_THREAD_KEEP_ALIVE = Duration.ofMinutes(1);
+
+    // the templates of the action column by layout, shared by all grids of the application
+    static final TemplateCache<ActionColumnLayout> TEMPLATE_CACHE = new TemplateCache<>(TEMPLATE_CACHE_SIZE);
+
+    private static ForkJoinPool defaultEvaluationPool;
+    private static ExecutorService defaultExecutionPool;
+
+    private final List<Action> actions;
+    private ActionSet<T> actionSet;
     private final Column<T> actionColumn;
+    private boolean actionColumnStale;
+    private transient Queue<Runnable> asyncCompletions;
+    private transient AtomicBoolean asyncFlushScheduled;
+    private boolean parallelEvaluation;
+    private transient Executor evaluationExecutor;
+    private int prefetchPages;
+    private transient int lastViewportFirstIndex;
+    private transient int prefetchGeneration;
+    private transient List<Action> prefetchedActions;
+    private transient Map<Object, ActionState[]> prefetchedStates;
+    private boolean actionStateStoreEnabled;
+    private transient ActionStateStore actionStateStore;
+    private Registration actionStateStoreRegistration;
+    private SelectionAvailability<T> selectionAvailability;
+    private Registration selectionAvailabilityRegistration;
+    private ActionGridMetrics metrics;
+    private PayloadAccounting payloadAccounting;
+    private boolean clickTracingEnabled;
+    private transient Map<String, ClickTrace> pendingClickTraces;
+    private transient int generatedRows;
+    private transient ActionAuditTrail auditTrail;
+    private AvailabilityDataProvider availabilityDataProvider;
+    private List<String> availabilityFilterKeys = List.of();
+    private String availabilitySortKey;
 
     /**
      * Create an ActionGrid with an empty action column frozen to the end.
      */
     public ActionGrid() {
+        super(DEFAULT_PAGE_SIZE, null, new ActionDataCommunicatorBuilder<>());
         actions = new ArrayList<>();
-        actionColumn = super.addColumn(actionColumnRenderer())
+        asyncCompletions = new ConcurrentLinkedQueue<>();
+        asyncFlushScheduled = new AtomicBoolean();
+        metrics = ActionGridMetrics.NO_OP;
+        // the actual renderer is built once attached
+        actionColumn = super.addColumn(LitRenderer.<T>of(EMPTY_ACTION_COLUMN_TEMPLATE))
                 .setKey(ACTION_COLUMN_KEY)
                 .setFrozenToEnd(true)
                 .setFlexGrow(0);
         actionColumn.getElement().setAttribute("name", ACTION_COLUMN_KEY);
+        actionColumnStale = true;
+        addDataGenerator(new ActionStateGenerator());
+        ((ActionDataCommunicator<T>) getDataCommunicator()).setFetchListener(this::evaluateFetchedItems);
+        ((ActionDataCommunicator<T>) getDataCommunicator()).setDataProviderListener(this::dataProviderChanged);
     }
 
-    private Renderer<T> actionColumnRenderer() {
-        var renderer = LitRenderer.<T>of(
-                actions.stream()
-                        .map(action -> ACTION_BUTTON_TEMPLATE_FORMAT.formatted(action.getKey()))
-                        .collect(Collectors.joining("", ACTION_COLUMN_TEMPLATE_PREFIX, ACTION_COLUMN_TEMPLATE_SUFFIX)));
-        actions.forEach(action -> renderer
-                .withProperty(action.getKey() + "IconName", action::iconNameFor)
-                .withProperty(action.getKey() + "ClassName", action::classNameFor)
-                .withProperty(action.getKey() + "AriaLabel", action::ariaLabelFor)
-                .withProperty(action.getKey() + "Tooltip", action::tooltipFor)
-                .withProperty(action.getKey() + "Visible", action::isVisibleFor)
-                .withProperty(action.getKey() + "Enabled", action::isEnabledFor)
-                .withFunction(action.getKey() + "Click", action::onClickFor));
+    private LitRenderer<T> actionColumnRenderer() {
+        var renderer = LitRenderer.<T>of(actionColumnTemplate());
+        actions.forEach(action -> {
+            // toggle actions have both of their states in the template, and only send which one applies
+            if (action instanceof ToggleAction toggleAction) {
+                renderer.withProperty(toggleAction.getKey() + "On", toggleAction::isOnFor);
+            }
+            // typed actions send their properties in a single field, left empty for the other row types
+            else if (action.configuration.rowType != null) {
+                renderer.withProperty(action.getKey() + TYPED_ACTION_STATE_SUFFIX, new TypedActionStateProvider(action));
+            }
+            else {
+                withActionProperty(renderer, action, ActionProperty.ICON_NAME);
+                withActionProperty(renderer, action, ActionProperty.ARIA_LABEL);
+                withActionProperty(renderer, action, ActionProperty.TOOLTIP);
+            }
+            // client clicks and toggles are not handled by a click function
+            if (action.configuration.clientClickScript == null && !(action instanceof ToggleAction)) {
+                if (clickTracingEnabled) {
+                    renderer.withFunction(action.getKey() + "Click", (t, args) -> traceClick(action, t, args));
+                }
+                else {
+                    renderer.withFunction(action.getKey() + "Click", action::onClickFor);
+                }
+            }
+            // client-evaluated properties are computed in the browser from the row properties instead,
+            // and typed actions send theirs in their state
+            if (action.configuration.rowType == null) {
+                if (action.clientClassNameCondition() == null && !(action instanceof ToggleAction)) {
+                    withActionProperty(renderer, action, ActionProperty.CLASS_NAME);
+                }
+                if (action.clientVisibleCondition() == null) {
+                    withActionProperty(renderer, action, ActionProperty.VISIBLE);
+                }
+                if (action.clientEnabledCondition() == null) {
+                    withActionProperty(renderer, action, ActionProperty.ENABLED);
+                }
+            }
+        });
+
+        var rowProperties = rowProperties();
+        if (!rowProperties.isEmpty()) {
+            renderer.withProperty(ROW_PROPERTIES_PROPERTY, t -> {
+                var row = Json.createObject();
+                rowProperties.forEach(rowProperty -> row.put(rowProperty.getName(), rowProperty.toJson(t)));
+                if (payloadAccounting != null) {
+                    payloadAccounting.countRowProperties(ROW_PROPERTIES_PROPERTY, row);
+                }
+                return row;
+            });
+        }
 
         return renderer;
     }
 
+    /**
+     * Return the action column's template, shared with all the grids whose actions have the same layout.
+     */
+    private String actionColumnTemplate() {
+        var layout = new ActionColumnLayout(actions.stream().map(this::actionButtonLayout).toList(), clickTracingEnabled);
+        return TEMPLATE_CACHE.get(layout, ActionGrid::actionColumnTemplate);
+    }
+
+    private static String actionColumnTemplate(ActionColumnLayout layout) {
+        return layout.buttons().stream()
+                .map(button -> actionButtonTemplate(button, layout.clickTracing()))
+                .collect(Collectors.joining("", ACTION_COLUMN_TEMPLATE_PREFIX, ACTION_COLUMN_TEMPLATE_SUFFIX));
+    }
+
+    private ActionButtonLayout actionButtonLayout(Action action) {
+        var row = "item." + ROW_PROPERTIES_PROPERTY;
+        var classNameCondition = action.clientClassNameCondition();
+        var visibleCondition = action.clientVisibleCondition();
+        var enabledCondition = action.clientEnabledCondition();
+        var enabledScript = (enabledCondition != null) ? enabledCondition.toJavaScript(row) : null;
+        var visibleScript = (visibleCondition != null) ? visibleCondition.toJavaScript(row) : null;
+        if (action instanceof ToggleAction toggleAction) {
+            var on = "item." + action.getKey() + "On";
+            return new ActionButtonLayout(action.getKey(),
+                    toggleScript(on, toggleAction.onClassName, toggleAction.offClassName),
+                    enabledScript, visibleScript,
+                    toggleScript(on, toggleAction.onAriaLabel, toggleAction.offAriaLabel),
+                    toggleScript(on, toggleAction.onIconName, toggleAction.offIconName),
+                    toggleScript(on, toggleAction.onTooltip, toggleAction.offTooltip),
+                    TOGGLE_CLICK_FORMAT.formatted(RowCondition.toJavaScriptString(action.getKey()),
+                            toggleAction.batchDelay.toMillis()),
+                    confirmationScript(action));
+        }
+        var classNameScript = (classNameCondition != null)
+                ? "(" + classNameCondition.toJavaScript(row)
+                        + " ? " + RowCondition.toJavaScriptString(action.configuration.conditionalClassName)
+                        + " : " + RowCondition.toJavaScriptString(action.configuration.otherwiseClassName) + ")"
+                : null;
+        if (action.configuration.rowType != null) {
+            // the state is null for the other row types, hiding and disabling the button
+            var state = "item." + action.getKey() + TYPED_ACTION_STATE_SUFFIX;
+            return new ActionButtonLayout(action.getKey(),
+                    (classNameScript != null) ? classNameScript : typedStateScript(state, ActionProperty.CLASS_NAME),
+                    (enabledScript != null) ? TYPED_CONDITION_FORMAT.formatted(state, enabledScript)
+                            : typedStateScript(state, ActionProperty.ENABLED),
+                    (visibleScript != null) ? TYPED_CONDITION_FORMAT.formatted(state, visibleScript)
+                            : typedStateScript(state, ActionProperty.VISIBLE),
+                    typedStateScript(state, ActionProperty.ARIA_LABEL),
+                    typedStateScript(state, ActionProperty.ICON_NAME),
+                    typedStateScript(state, ActionProperty.TOOLTIP),
+                    (action.configuration.clientClickScript != null)
+                            ? CLIENT_CLICK_FORMAT.formatted(row, action.configuration.clientClickScript)
+                            : null,
+                    confirmationScript(action));
+        }
+        return new ActionButtonLayout(action.getKey(), classNameScript,
+                enabledScript, visibleScript, null, null, null,
+                (action.configuration.clientClickScript != null)
+                        ? CLIENT_CLICK_FORMAT.formatted(row, action.configuration.clientClickScript)
+                        : null,
+                confirmationScript(action));
+    }
+
+    /**
+     * Return the arguments of the action's confirmation: its message, static or fetched per item, and its labels.
+     */
+    private static String confirmationScript(ActionGrid<?>.Action action) {
+        if (action.configuration.confirmationMessage == null && action.configuration.confirmationProvider == null) {
+            return null;
+        }
+        var key = RowCondition.toJavaScriptString(action.getKey());
+        return ((action.configuration.confirmationProvider != null)
+                        ? CONFIRMATION_MESSAGE_FORMAT.formatted(key)
+                        : RowCondition.toJavaScriptString(action.configuration.confirmationMessage))
+                + ", " + RowCondition.toJavaScriptString(action.configuration.confirmText)
+                + ", " + RowCondition.toJavaScriptString(action.configuration.cancelText);
+    }
+
+    /**
+     * Return the script reading a property from a typed action's state,
+     * hidden, disabled, or empty for the other row types, whose state is {@code null}.
+     */
+    private static String typedStateScript(String state, ActionProperty property) {
+        var otherRowTypeValue = switch (property) {
+            case VISIBLE, ENABLED -> "false";
+            default -> "''";
+        };
+        return TYPED_STATE_FORMAT.formatted(state, property.getSuffix(), otherRowTypeValue);
+    }
+
+    private static String toggleScript(String on, String onValue, String offValue) {
+        return "(" + on + " ? " + RowCondition.toJavaScriptString(onValue)
+                + " : " + RowCondition.toJavaScriptString(offValue) + ")";
+    }
+
+    private static String actionButtonTemplate(ActionButtonLayout button, boolean clickTracing) {
+        var key = button.key();
+        var click = (button.clickScript() != null) ? button.clickScript()
+                : clickTracing ? TRACED_CLICK_FORMAT.formatted(key) : key + "Click";
+        return ACTION_BUTTON_TEMPLATE_FORMAT.formatted(key,
+                (button.classNameScript() != null) ? button.classNameScript() : "item." + key + "ClassName",
+                (button.enabledScript() != null) ? button.enabledScript() : "item." + key + "Enabled",
+                (button.visibleScript() != null) ? button.visibleScript() : "item." + key + "Visible",
+                (button.confirmationScript() != null)
+                        ? CONFIRMED_CLICK_FORMAT.formatted(button.confirmationScript(), click)
+                        : click,
+                (button.ariaLabelScript() != null) ? button.ariaLabelScript() : "item." + key + "AriaLabel",
+                (button.iconNameScript() != null) ? button.iconNameScript() : "item." + key + "IconName",
+                (button.tooltipScript() != null) ? button.tooltipScript() : "item." + key + "Tooltip");
+    }
+
+    /**
+     * Return the row properties used by the client-evaluated conditions and client clicks of all actions.
+     * <p>
+     * Row properties are identified by their name, so each name is sent only once.
+     */
+    private List<RowProperty<T>> rowProperties() {
+        return RowProperty.distinctByName(actions.stream()
+                .flatMap(action -> rowPropertiesOf(action.clientClassNameCondition(), action.clientVisibleCondition(),
+                        action.clientEnabledCondition(), action.configuration.clientClickProperties)));
+    }
+
+    private static <E> Stream<RowProperty<E>> rowPropertiesOf(RowCondition<E> classNameCondition,
+                                                             RowCondition<E> visibleCondition,
+                                                             RowCondition<E> enabledCondition,
+                                                             List<RowProperty<E>> clientClickProperties) {
+        return Stream.concat(Stream.of(classNameCondition, visibleCondition, enabledCondition)
+                        .filter(Objects::nonNull)
+                        .flatMap(condition -> condition.getProperties().stream()),
+                clientClickProperties.stream());
+    }
+
+    private void withActionProperty(LitRenderer<T> renderer, Action action, ActionProperty property) {
+        renderer.withProperty(property.propertyName(action.getKey()), new ActionPropertyProvider(action, property));
+    }
+
+    /**
+     * Return the value of an action property,
+     * taking it from the action state store or the action's precomputed state when there is one.
+     */
+    private Object actionPropertyValue(Action action, ActionProperty property, T t) {
+        var store = actionStateStore();
+        if (store != null) {
+            var column = store.columnOf(action);
+            var row = store.rowOf(getDataProvider().getId(t));
+            if (column >= 0 && row >= 0) {
+                return store.get(property, column, row);
+            }
+        }
+        var actionState = precomputedStateFor(action, t);
+        return (actionState != null) ? actionState.get(property) : action.renderedValueFor(property, t);
+    }
+
+    private ActionState precomputedStateFor(Action action, T t) {
+        if (action.isAsync()) {
+            return null;
+        }
+        var actionState = action.precomputedStateFor(t);
+        if (actionState == null && takePrefetchedStates(t)) {
+            actionState = action.precomputedStateFor(t);
+        }
+        return actionState;
+    }
+
     @Override
     @SafeVarargs
     public final void setColumnOrder(Column<T>... columns) {
@@ -91,6 +558,8 @@ public class ActionGrid<T> extends Grid<T> {
 
     @Override
     public void setColumnOrder(List<Column<T>> columns) {
+        var event = new ActionGridEvents.ColumnReorder();
+        event.begin();
         // because the action column is not directly accessible,
         // yet needs to be included in the grid's column list for setting their order,
         // insert the action column into the column list
@@ -109,6 +578,11 @@ public class ActionGrid<T> extends Grid<T> {
             allColumns.add(columns.size() - frozenToEndColumns.size() + frozenIndexOfActionColumn + 1, actionColumn);
             super.setColumnOrder(allColumns);
         }
+        if (event.shouldCommit()) {
+            event.columnCount = columns.size();
+            event.actionColumnPosition = getActionColumnPosition().name();
+            event.commit();
+        }
     }
 
     @Override
@@ -202,21 +676,111 @@ public class ActionGrid<T> extends Grid<T> {
      * @return the Action
      */
     public Action addAction(String key) {
+        checkNewActionKey(key);
+
+        var action = new Action(key);
+
+        actions.add(action);
+        refreshActionColumn();
+
+        fixFrozenColumnOrder();
+
+        return action;
+    }
+
+    /**
+     * Add an {@link Action} to the action column that applies only to the items of a row type,
+     * e.g., to one subtype of a sealed hierarchy of items.
+     * <p>
+     * Throws an {@link IllegalArgumentException} if an Action with the key already exists
+     * or if the key is {@code null}.
+     * <p>
+     * For the items of other types, the action is neither visible nor enabled,
+     * without evaluating any of its providers or sending any of its properties other than an empty state.
+     * Its providers can therefore take the row type's items for granted, casting them without checking.
+     *
+     * @param key the unique key to identify the Action, not null
+     * @param rowType the type of the items the Action applies to, not null
+     * @return the Action
+     * @see Action#appliesTo(Object)
+     */
+    public Action addAction(String key, Class<? extends T> rowType) {
+        checkNewActionKey(key);
+        Objects.requireNonNull(rowType, "rowType cannot be null.");
+
+        var action = new Action(key, rowType);
+
+        actions.add(action);
+        refreshActionColumn();
+
+        fixFrozenColumnOrder();
+
+        return action;
+    }
+
+    /**
+     * Add a {@link ToggleAction} to the action column,
+     * which the browser flips between its on and off states as soon as it is clicked.
+     * <p>
+     * Throws an {@link IllegalArgumentException} if an Action with the key already exists
+     * or if the key is {@code null}.
+     * <p>
+     * To supply a handler for the toggles, use {@link ToggleAction#addToggleHandler(SerializableBiConsumer)}.
+     *
+     * @param key the unique key to identify the Action, not null
+     * @param onPredicate tells whether the action is on for an item, not null
+     * @return the ToggleAction
+     */
+    public ToggleAction addToggleAction(String key, SerializablePredicate<T> onPredicate) {
+        checkNewActionKey(key);
+        Objects.requireNonNull(onPredicate, "onPredicate cannot be null.");
+
+        var action = new ToggleAction(key, onPredicate);
+
+        actions.add(action);
+        refreshActionColumn();
+
+        fixFrozenColumnOrder();
+
+        return action;
+    }
+
+    private void checkNewActionKey(String key) {
         if (key == null) {
             throw new IllegalArgumentException("key cannot be null.");
         }
         else if (actions.stream().anyMatch(a -> Objects.equals(a.getKey(), key))) {
             throw new IllegalArgumentException("Action with key \"" + key + "\" already exists.");
         }
+    }
 
-        var action = new Action(key);
-
-        actions.add(action);
+    /**
+     * Replace the actions with those of a shared {@link ActionSet}.
+     * <p>
+     * Each action gets a copy of the configuration of the set's action, sharing its providers and click handlers,
+     * so that this grid only keeps what is its own, such as the actions' evaluated states.
+     * The actions can still be modified or added to afterward, which affects only this grid,
+     * e.g., adding {@linkplain #addToggleAction(String, SerializablePredicate) toggle actions}, which sets do not hold.
+     *
+     * @param actionSet the action set, not null
+     */
+    public void setActionSet(ActionSet<T> actionSet) {
+        Objects.requireNonNull(actionSet, "actionSet cannot be null.");
+        this.actionSet = actionSet;
+        actions.clear();
+        actionSet.getConfigurations().forEach(configuration -> actions.add(new Action(configuration.copy())));
         refreshActionColumn();
 
         fixFrozenColumnOrder();
+    }
 
-        return action;
+    /**
+     * Return the {@link ActionSet} the actions were last replaced with.
+     *
+     * @return the action set, or {@code null} if none was set
+     */
+    public ActionSet<T> getActionSet() {
+        return actionSet;
     }
 
     /**
@@ -408,350 +972,3100 @@ public class ActionGrid<T> extends Grid<T> {
         return 0;
     }
 
-    public void refreshActionColumn() {
-        actionColumn.setRenderer(actionColumnRenderer())
-                .setWidth(actions.size() * 2 + Unit.REM.getSymbol());
+    /**
+     * Return the name of an icon, e.g., {@code "vaadin:edit"}.
+     *
+     * @return the icon's name, or {@code ""} if the icon is {@code null}
+     */
+    static String iconNameOf(Icon icon) {
+        return (icon != null) ? Objects.requireNonNullElse(icon.getIcon(), "") : "";
     }
 
+    /**
+     * Return a provider of the names of the icons created by an icon provider,
+     * so that only the names are kept from the created icons.
+     *
+     * @return the icon name provider, or {@code null} if the icon provider is {@code null}
+     */
+    static <E> SerializableFunction<E, String> iconNameProvider(SerializableFunction<E, Icon> iconProvider) {
+        return (iconProvider != null) ? e -> iconNameOf(iconProvider.apply(e)) : null;
+    }
 
-    public enum FrozenColumnPosition {
-        BEGINNING,
-        END
+    /**
+     * Return a provider of the icons named by an icon name provider, creating a new icon for each evaluation.
+     *
+     * @return the icon provider
+     */
+    static <E> SerializableFunction<E, Icon> iconProviderOf(SerializableFunction<E, String> iconNameProvider) {
+        return e -> createIcon(Objects.requireNonNullElse(iconNameProvider.apply(e), ""));
     }
 
+    /**
+     * Create an icon from its name, taking icons without a collection to be from the {@code vaadin} collection.
+     *
+     * @return the icon, or {@code null} if the name is empty
+     */
+    static Icon createIcon(String iconName) {
+        if (iconName.isEmpty()) {
+            return null;
+        }
+        var separator = iconName.indexOf(':');
+        return (separator < 0)
+                ? new Icon("vaadin", iconName)
+                : new Icon(iconName.substring(0, separator), iconName.substring(separator + 1));
+    }
 
     /**
-     * Represents an action associated with a key,
-     * configurable with dynamic properties for each row's item.
+     * Refresh the action column after its actions or their configuration changed.
      * <p>
-     * This class encapsulates an action identified by a unique {@code key}, with customizable
-     * behavior for rendering icons, class names, aria-label, tooltips, visibility, enablement, and click handling.
-     * Each property is defined by a function or predicate that operates on the row's item.
+     * The evaluated action states are discarded. The renderer is rebuilt right away if the grid is attached,
+     * otherwise only once it is attached, so that configuring a detached grid does not rebuild it over and over.
+     */
+    public void refreshActionColumn() {
+        actions.forEach(Action::discardPrecomputedStates);
+        discardPrefetchedStates();
+        discardActionStateStore();
+        discardSelectionAvailability();
+        actionColumn.setWidth(actions.size() * 2 + Unit.REM.getSymbol());
+        if (isAttached()) {
+            rebuildActionColumn();
+        }
+        else {
+            actionColumnStale = true;
+        }
+    }
+
+    private void rebuildActionColumn() {
+        var event = new ActionGridEvents.RendererRebuild();
+        event.begin();
+        metrics.actionColumnRefreshed();
+        var renderer = actionColumnRenderer();
+        actionColumn.setRenderer(renderer);
+        actionColumnStale = false;
+        if (actions.stream().anyMatch(ToggleAction.class::isInstance)) {
+            getElement().executeJs(TOGGLE_SCRIPT);
+        }
+        if (actions.stream().anyMatch(action -> action.configuration.confirmationMessage != null
+                || action.configuration.confirmationProvider != null)) {
+            getElement().executeJs(CONFIRMATION_SCRIPT);
+        }
+        if (event.shouldCommit()) {
+            event.actionCount = actions.size();
+            event.templateLength = renderer.getTemplateExpression().length();
+            event.commit();
+        }
+    }
+
+    /**
+     * Return whether the action states of the rows fetched in a round-trip are evaluated in parallel.
+     *
+     * @return {@code true} if action states are evaluated in parallel, {@code false} otherwise
+     */
+    public boolean isParallelEvaluation() {
+        return parallelEvaluation;
+    }
+
+    /**
+     * Set whether the action states of the rows fetched in a round-trip are evaluated in parallel.
      * <p>
-     * The action can be configured fluently via setter methods,
-     * which return the instance for chaining.
+     * When enabled, the icon, class name, aria-label, tooltip, visibility and enablement
+     * of the rows fetched by the client are evaluated in parallel as soon as the range is fetched,
+     * instead of one row after the other while the rows are generated.
+     * The rows are still generated in order and sent once, in the same round-trip.
+     * This pays off for expensive providers.
+     * Actions with asynchronous providers are not affected.
      * <p>
-     * Changes to action properties trigger a refresh of the action column,
-     * ensuring the ActionGrid reflects the updated state.
+     * The providers are then called from the {@linkplain #setParallelEvaluationExecutor(Executor) executor's}
+     * threads, with the current {@link UI} and {@link com.vaadin.flow.server.VaadinSession} available,
+     * while the request thread holds the session lock.
+     * They must therefore be thread-safe and must not lock the session or modify components.
+     *
+     * @param parallelEvaluation {@code true} to evaluate action states in parallel, {@code false} otherwise
      */
-    public class Action {
-        private final String key;
-        private SerializableFunction<T, Icon> iconProvider;
-        private SerializableFunction<T, String> classNameProvider;
-        private SerializableFunction<T, String> ariaLabelProvider;
-        private SerializableFunction<T, String> tooltipProvider;
-        private SerializablePredicate<T> visiblePredicate;
-        private SerializablePredicate<T> enabledPredicate;
-        private final List<SerializableConsumer<T>> clickHandlers;
+    public void setParallelEvaluation(boolean parallelEvaluation) {
+        this.parallelEvaluation = parallelEvaluation;
+        refreshActionColumn();
+    }
 
-        /**
-         * Construct an action with the specified key and default property providers.
-         * <p>
-         * The {@code key} uniquely identifies this action. All providers (icon, class name,
-         * aria-label, tooltip, visibility, enablement, and click) are initialized to safe defaults.
-         *
-         * @param key the unique identifier for this action
-         */
-        Action(String key) {
-            this.key = key;
-            setIcon((SerializableFunction<T, Icon>) null);
-            setClassName((SerializableFunction<T, String>) null);
-            setAccessibleName((SerializableFunction<T, String>) null);
-            setTooltip((SerializableFunction<T, String>) null);
-            setVisible(null);
-            setEnabled(null);
-            clickHandlers = new ArrayList<>();
-        }
+    /**
+     * Set the executor used to evaluate action states in parallel.
+     * <p>
+     * If the provided {@code evaluationExecutor} is null, a shared {@link ForkJoinPool}
+     * with one thread per available processor is used.
+     * The executor is not serialized with the grid; after deserialization, the shared default is used until set again.
+     *
+     * @param evaluationExecutor the executor to evaluate action states with, or {@code null} for the shared default
+     */
+    public void setParallelEvaluationExecutor(Executor evaluationExecutor) {
+        this.evaluationExecutor = evaluationExecutor;
+    }
 
-        /**
-         * Return the unique key identifying this action.
-         *
-         * @return the action's key
-         */
-        public String getKey() {
-            return key;
-        }
+    private Executor getEvaluationExecutor() {
+        return (evaluationExecutor != null) ? evaluationExecutor : defaultEvaluationPool();
+    }
 
-        /**
-         * Return the icon name for the given item, or an empty string if none exists.
-         * <p>
-         * This method retrieves the icon via {@link #iconFor(Object)} and extracts its name,
-         * defaulting to an empty string if the icon is null.
-         *
-         * @param t the item to evaluate
-         * @return the icon name, or {@code ""} if no icon is provided
-         */
-        public String iconNameFor(T t) {
-            return Optional.ofNullable(iconFor(t)).map(Icon::getIcon).orElse("");
+    private static synchronized ForkJoinPool defaultEvaluationPool() {
+        if (defaultEvaluationPool == null) {
+            defaultEvaluationPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
         }
+        return defaultEvaluationPool;
+    }
 
-        /**
-         * Retrieve the icon for the given item.
-         * <p>
-         * The icon is determined by the configured {@code iconProvider}, which may return
-         * null if no icon is applicable.
-         *
-         * @param t the item to evaluate
-         * @return the icon for the item, or {@code null} if none is provided
-         */
-        public Icon iconFor(T t) {
-            return iconProvider.apply(t);
+    /**
+     * Return the shared executor running {@link Action#applyToAll} executions by default,
+     * apart from the evaluation executor, so that long-running chunk handlers do not hold up the evaluation of rows.
+     * <p>
+     * It runs at most one execution per available processor at a time and queues up to
+     * {@value #EXECUTION_QUEUE_CAPACITY} more; any further execution is rejected and fails,
+     * rather than starting threads without limit. Its idle threads end after a minute.
+     */
+    private static synchronized ExecutorService defaultExecutionPool() {
+        if (defaultExecutionPool == null) {
+            var threadCount = new AtomicInteger();
+            var processorCount = Runtime.getRuntime().availableProcessors();
+            var executionPool = new ThreadPoolExecutor(processorCount, processorCount,
+                    EXECUTION_THREAD_KEEP_ALIVE.toMillis(), TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(EXECUTION_QUEUE_CAPACITY), runnable -> {
+                        var thread = new Thread(runnable, "action-grid-execution-" + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }, new ThreadPoolExecutor.AbortPolicy());
+            executionPool.allowCoreThreadTimeOut(true);
+            defaultExecutionPool = executionPool;
         }
+        return defaultExecutionPool;
+    }
 
-        /**
-         * Set the provider for determining the icon of this action.
-         * <p>
-         * If the provided {@code iconProvider} is null, a default provider returning
-         * {@code null} is used.
-         *
-         * @param iconProvider the function to compute the icon, or {@code null} for none
-         * @return this action, for method chaining
-         */
-        public Action setIcon(SerializableFunction<T, Icon> iconProvider) {
-            this.iconProvider = Objects.requireNonNullElseGet(iconProvider, () -> t -> null);
-            refreshActionColumn();
-            return this;
+    /**
+     * Evaluate the states of the actions for the rows about to be sent in parallel,
+     * before the data communicator generates them one after the other.
+     */
+    private void evaluateFetchedItems(List<T> items) {
+        // single rows, e.g., fetched by getItem(index), are not worth it and may never be generated
+        if (!parallelEvaluation || items.size() < 2 || actionStateStore() != null) {
+            return;
         }
-
-        /**
-         * Sets the icon for this action.
-         * This method assigns a specific icon to the action, replacing any existing icon configuration.
-         *
-         * @param icon the icon to set for this action
-         * @return this action, allowing method chaining
-         */
-        public Action setIcon(Icon icon) {
-            return setIcon(t -> icon);
+        // rows already sent keep their states until refreshed
+        var keyMapper = getDataCommunicator().getKeyMapper();
+        var newItems = items.stream()
+                .filter(item -> !keyMapper.has(item))
+                .toList();
+        var evaluatedActions = actions.stream()
+                .filter(action -> !action.isAsync())
+                .toList();
+        if (newItems.isEmpty() || evaluatedActions.isEmpty()) {
+            return;
         }
 
-        /**
-         * Return the CSS class name for the given item.
-         * <p>
-         * The class name is determined by the configured {@code classNameProvider},
-         * which defaults to an empty string if not set.
-         *
-         * @param t the item to evaluate
-         * @return the class name for the item
-         */
-        public String classNameFor(T t) {
-            return classNameProvider.apply(t);
+        var actionStates = evaluateActionStates(evaluatedActions, newItems);
+        for (int i = 0; i < newItems.size(); i++) {
+            for (int j = 0; j < evaluatedActions.size(); j++) {
+                evaluatedActions.get(j).storePrecomputedState(newItems.get(i), actionStates.get(i)[j]);
+            }
         }
+    }
 
-        /**
-         * Set the provider for determining the CSS class name of this action.
-         * To provide multiple class names, separate them with spaces.
-         * Note that this may override the default styles set for enabling/disabling.
-         * <p>
-         * If the provided {@code classNameProvider} is null, a default provider returning
-         * an empty string is used.
+    /**
+     * Evaluate the states of the actions for the items in parallel.
+     *
+     * @return the states of the actions, in the order of the items and then actions
+     */
+    List<ActionState[]> evaluateActionStates(List<Action> evaluatedActions, List<T> items) {
+        return joinAll(startActionStateEvaluation(evaluatedActions, items));
+    }
+
+    /**
+     * Start evaluating the states of the actions for each of the items on the evaluation executor.
+     *
+     * @return the states of the actions being evaluated, in the order of the items and then actions
+     */
+    private List<CompletableFuture<ActionState[]>> startActionStateEvaluation(List<Action> evaluatedActions,
+                                                                             List<T> items) {
+        return items.stream()
+                .map(item -> supplyWithCurrentInstances(() -> evaluateStatesFor(evaluatedActions, item)))
+                .toList();
+    }
+
+    private ActionState[] evaluateStatesFor(List<Action> evaluatedActions, T t) {
+        return evaluatedActions.stream()
+                .map(action -> action.evaluateStateFor(t))
+                .toArray(ActionState[]::new);
+    }
+
+    /**
+     * Run the supplier on the evaluation executor,
+     * with the current {@link UI} and {@link com.vaadin.flow.server.VaadinSession} available.
+     */
+    private <R> CompletableFuture<R> supplyWithCurrentInstances(Supplier<R> supplier) {
+        return supplyWithCurrentInstances(supplier, getEvaluationExecutor());
+    }
+
+    /**
+     * Run the supplier on an executor,
+     * with the current {@link UI} and {@link com.vaadin.flow.server.VaadinSession} available.
+     */
+    private static <R> CompletableFuture<R> supplyWithCurrentInstances(Supplier<R> supplier, Executor executor) {
+        var instances = CurrentInstance.getInstances();
+        return CompletableFuture.supplyAsync(() -> {
+            var previousInstances = CurrentInstance.getInstances();
+            CurrentInstance.restoreInstances(instances);
+            try {
+                return supplier.get();
+            }
+            finally {
+                CurrentInstance.restoreInstances(previousInstances);
+            }
+        }, executor);
+    }
+
+    /**
+     * Wait for all the futures, rethrowing the first failure's cause if it is unchecked.
+     */
+    private static <R> List<R> joinAll(List<CompletableFuture<R>> futures) {
+        try {
+            return futures.stream().map(CompletableFuture::join).toList();
+        }
+        catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Return the number of pages of action states prefetched beyond the visible rows.
+     *
+     * @return the number of prefetched pages, {@code 0} if prefetching is disabled
+     */
+    public int getPrefetchPages() {
+        return prefetchPages;
+    }
+
+    /**
+     * Set the number of pages of action states to prefetch beyond the visible rows.
+     * <p>
+     * When enabled, the client reports the visible rows whenever scrolling pauses.
+     * The pages following the visible rows in the scrolling direction are then fetched
+     * from the data provider with a single query, with the grid's current filter and sort order,
+     * and their action states are evaluated in the background on the
+     * {@linkplain #setParallelEvaluationExecutor(Executor) evaluation executor},
+     * without holding the session lock. The states are kept in a cache bounded to twice the prefetched pages.
+     * When the client then fetches those rows, their action states are taken from the cache
+     * instead of being evaluated while the client waits.
+     * <p>
+     * The data provider and the providers must therefore be thread-safe and must not access the session or components.
+     * If either throws, the failure is reported to the {@linkplain #setMetrics(ActionGridMetrics) metrics}
+     * and the rows are evaluated as usual once fetched.
+     * Actions with asynchronous providers are not prefetched.
+     *
+     * @param prefetchPages the number of pages to prefetch, or {@code 0} to disable prefetching
+     */
+    public void setPrefetchPages(int prefetchPages) {
+        if (prefetchPages < 0) {
+            throw new IllegalArgumentException("prefetchPages cannot be negative.");
+        }
+        this.prefetchPages = prefetchPages;
+        discardPrefetchedStates();
+        if (prefetchPages > 0) {
+            getElement().getNode().runWhenAttached(ui -> installViewportListener());
+        }
+    }
+
+    @Override
+    protected void onAttach(AttachEvent attachEvent) {
+        super.onAttach(attachEvent);
+        if (actionColumnStale) {
+            rebuildActionColumn();
+        }
+        if (prefetchPages > 0) {
+            installViewportListener();
+        }
+        if (clickTracingEnabled) {
+            installClickTracing();
+        }
+    }
+
+    /**
+     * Release everything derived from the actions while detached,
+     * e.g., while the view is kept in a tab or navigation cache.
+     * <p>
+     * The evaluated action states, pending evaluations and selection availability are discarded,
+     * the action state store and selection availability stop listening to their data provider,
+     * and the renderer is replaced by an empty one until the grid is attached again.
+     */
+    @Override
+    protected void onDetach(DetachEvent detachEvent) {
+        actions.forEach(Action::releaseStates);
+        discardPrefetchedStates();
+        discardActionStateStore();
+        discardSelectionAvailability();
+        asyncCompletions.clear();
+        pendingClickTraces = null;
+        actionColumn.setRenderer(LitRenderer.of(EMPTY_ACTION_COLUMN_TEMPLATE));
+        actionColumnStale = true;
+        super.onDetach(detachEvent);
+    }
+
+    private void installViewportListener() {
+        getElement().executeJs(VIEWPORT_LISTENER_SCRIPT);
+    }
+
+    @ClientCallable
+    private void prefetchAroundViewport(int firstIndex, int lastIndex) {
+        var ui = getUI().orElse(null);
+        if (prefetchPages == 0 || ui == null) {
+            return;
+        }
+        // the indexes come from the client, so ignore any range outside the rows
+        var itemCount = getDataCommunicator().getItemCount();
+        if (firstIndex < 0 || firstIndex >= itemCount || lastIndex < firstIndex) {
+            return;
+        }
+        var lastItemIndex = Math.min(lastIndex, itemCount - 1);
+        var direction = Integer.compare(firstIndex, lastViewportFirstIndex);
+        lastViewportFirstIndex = firstIndex;
+        if (direction == 0) {
+            return;
+        }
+
+        // prefetch from the page boundary beyond the visible rows, as the client fetches whole pages
+        var pageSize = getPageSize();
+        var fromIndex = (direction > 0)
+                ? (int) Math.min(itemCount, ((long) (lastItemIndex / pageSize) + 1) * pageSize)
+                : Math.max(0, ((firstIndex / pageSize) - prefetchPages) * pageSize);
+        var toIndex = (direction > 0)
+                ? (int) Math.min(itemCount, fromIndex + ((long) prefetchPages * pageSize))
+                : (firstIndex / pageSize) * pageSize;
+        var evaluatedActions = actions.stream().filter(action -> !action.isAsync()).toList();
+        if (toIndex <= fromIndex || evaluatedActions.isEmpty()) {
+            return;
+        }
+
+        // fetch and evaluate the whole range at once, without holding the session lock
+        var itemQuery = itemQuery();
+        var generation = prefetchGeneration;
+        supplyWithCurrentInstances(() -> {
+            var items = itemQuery.fetch(fromIndex, toIndex - fromIndex);
+            var actionStates = items.stream()
+                    .map(item -> evaluateStatesFor(evaluatedActions, item))
+                    .toList();
+            return new PrefetchedRange<>(items, actionStates);
+        }).whenComplete((range, failure) -> queueAsyncCompletion(ui, () -> {
+            if (failure != null) {
+                // the rows are evaluated as usual once fetched
+                metrics.prefetchFailed((failure instanceof CompletionException) ? failure.getCause() : failure);
+            }
+            // skip results made obsolete by changed actions
+            else if (generation == prefetchGeneration) {
+                storePrefetchedStates(evaluatedActions, range);
+            }
+        }));
+    }
+
+    private void storePrefetchedStates(List<Action> evaluatedActions, PrefetchedRange<T> range) {
+        if (prefetchedStates == null) {
+            var capacity = 2 * prefetchPages * getPageSize();
+            prefetchedStates = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Object, ActionState[]> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+        prefetchedActions = evaluatedActions;
+        var keyMapper = getDataCommunicator().getKeyMapper();
+        for (int i = 0; i < range.items().size(); i++) {
+            var item = range.items().get(i);
+            // the rows sent in the meantime have their own states
+            if (!keyMapper.has(item)) {
+                prefetchedStates.putIfAbsent(getDataProvider().getId(item), range.actionStates().get(i));
+            }
+        }
+    }
+
+    /**
+     * A range of items and the states of the actions for each of them, evaluated ahead of being fetched.
+     */
+    private record PrefetchedRange<E>(List<E> items, List<ActionState[]> actionStates) {
+    }
+
+    /**
+     * Move the prefetched states of an item, if any, to its actions.
+     *
+     * @return {@code true} if prefetched states were found, {@code false} otherwise
+     */
+    private boolean takePrefetchedStates(T t) {
+        if (prefetchedStates == null) {
+            return false;
+        }
+        var actionStates = prefetchedStates.remove(getDataProvider().getId(t));
+        if (actionStates == null) {
+            return false;
+        }
+        for (int i = 0; i < prefetchedActions.size(); i++) {
+            prefetchedActions.get(i).storePrecomputedState(t, actionStates[i]);
+        }
+        return true;
+    }
+
+    private void discardPrefetchedStates() {
+        prefetchGeneration++;
+        prefetchedStates = null;
+        prefetchedActions = null;
+    }
+
+    /**
+     * Return the metrics the ActionGrid reports to.
+     *
+     * @return the metrics, {@link ActionGridMetrics#NO_OP} if none are set
+     */
+    public ActionGridMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Set the metrics to report provider evaluations, click handling,
+     * action column rebuilds and generated rows to.
+     * <p>
+     * If the provided {@code metrics} is null, {@link ActionGridMetrics#NO_OP} is used,
+     * which skips measuring altogether.
+     *
+     * @param metrics the metrics to report to, or {@code null} for none
+     */
+    public void setMetrics(ActionGridMetrics metrics) {
+        this.metrics = Objects.requireNonNullElse(metrics, ActionGridMetrics.NO_OP);
+    }
+
+    /**
+     * Return the audit trail the action invocations are recorded to.
+     *
+     * @return the audit trail, or {@code null} if none is set
+     */
+    public ActionAuditTrail getAuditTrail() {
+        return auditTrail;
+    }
+
+    /**
+     * Set the audit trail to record each action invocation to,
+     * with its user, action key, item id, outcome and duration.
+     * <p>
+     * Clicks, toggles and bulk clicks are recorded, the latter once for each item.
+     * Recording only queues the record, which the trail writes in the background.
+     * <p>
+     * Like the {@linkplain #setParallelEvaluationExecutor(Executor) evaluation executor},
+     * the trail is not serialized with the grid, so it needs to be set again after deserialization.
+     *
+     * @param auditTrail the audit trail, or {@code null} for none
+     */
+    public void setAuditTrail(ActionAuditTrail auditTrail) {
+        this.auditTrail = auditTrail;
+    }
+
+    private void audit(String actionKey, T t, ActionAuditRecord.Outcome outcome, long durationNanos) {
+        if (auditTrail != null) {
+            auditTrail.record(actionKey, getDataProvider().getId(t), outcome, durationNanos);
+        }
+    }
+
+    /**
+     * Return whether the size of the data the action column sends to the client is counted.
+     *
+     * @return {@code true} if the payload is counted, {@code false} otherwise
+     */
+    public boolean isPayloadAccountingEnabled() {
+        return payloadAccounting != null;
+    }
+
+    /**
+     * Set whether the size of the data the action column sends to the client is counted.
+     * <p>
+     * When enabled, the size of the JSON of each property of each action is counted as the rows are sent,
+     * and can be read from {@link #getPayloadAccounting()}, e.g., to find the providers
+     * worth making static or replacing with client-evaluated conditions.
+     * Counting serializes every value an extra time, so it is meant for diagnosis rather than production.
+     * <p>
+     * Disabling discards everything counted so far.
+     *
+     * @param payloadAccountingEnabled {@code true} to count the payload, {@code false} otherwise
+     */
+    public void setPayloadAccountingEnabled(boolean payloadAccountingEnabled) {
+        if (!payloadAccountingEnabled) {
+            payloadAccounting = null;
+        }
+        else if (payloadAccounting == null) {
+            payloadAccounting = new PayloadAccounting();
+        }
+    }
+
+    /**
+     * Return the size of the data the action column has sent to the client.
+     *
+     * @return the payload accounting, or {@code null} if payload accounting is disabled
+     */
+    public PayloadAccounting getPayloadAccounting() {
+        return payloadAccounting;
+    }
+
+    /**
+     * Return whether clicks are traced from the browser until their response is applied.
+     *
+     * @return {@code true} if clicks are traced, {@code false} otherwise
+     */
+    public boolean isClickTracingEnabled() {
+        return clickTracingEnabled;
+    }
+
+    /**
+     * Set whether clicks are traced from the browser until their response is applied.
+     * <p>
+     * When enabled, each click on an action button is stamped in the browser with its time and a correlation id.
+     * Once the response to the click has been applied and the next frame is about to be painted,
+     * the browser reports the elapsed time back, and the {@linkplain #setMetrics(ActionGridMetrics) metrics}
+     * receive a {@link ActionGridMetrics#clickTraced(String, long, long, long) click trace} with
+     * the queue time from the click until the click handling starts on the server,
+     * the handling time, and the end-to-end time from the click until the result is shown.
+     * <p>
+     * The queue time compares the browser's clock to the server's, so it is only meaningful
+     * when both are synchronized; the handling and end-to-end times are not affected.
+     * Reporting the end-to-end time costs an extra request per click.
+     *
+     * @param clickTracingEnabled {@code true} to trace clicks, {@code false} otherwise
+     */
+    public void setClickTracingEnabled(boolean clickTracingEnabled) {
+        this.clickTracingEnabled = clickTracingEnabled;
+        pendingClickTraces = null;
+        if (clickTracingEnabled) {
+            getElement().getNode().runWhenAttached(ui -> installClickTracing());
+        }
+        refreshActionColumn();
+    }
+
+    private void installClickTracing() {
+        getElement().executeJs(CLICK_TRACING_SCRIPT);
+    }
+
+    /**
+     * Handle a traced click, keeping its trace until the browser reports when its response was applied.
+     *
+     * @param args the click's time in the browser, in milliseconds since the epoch, and its correlation id
+     */
+    private void traceClick(Action action, T t, JsonArray args) {
+        var queueNanos = (args.length() > 0)
+                ? TimeUnit.MILLISECONDS.toNanos(Math.max(0, System.currentTimeMillis() - (long) args.getNumber(0)))
+                : 0;
+        var correlationId = (args.length() > 1) ? args.getString(1) : "";
+        var start = System.nanoTime();
+        try {
+            action.onClickFor(t);
+        }
+        finally {
+            if (!correlationId.isEmpty()) {
+                if (pendingClickTraces == null) {
+                    pendingClickTraces = new LinkedHashMap<>() {
+                        @Override
+                        protected boolean removeEldestEntry(Map.Entry<String, ClickTrace> eldest) {
+                            // the browser may never report back, e.g., when the page is closed
+                            return size() > MAX_PENDING_CLICK_TRACES;
+                        }
+                    };
+                }
+                pendingClickTraces.put(correlationId, new ClickTrace(action.getKey(), queueNanos, System.nanoTime() - start));
+                getElement().executeJs(CLICK_APPLIED_SCRIPT, correlationId);
+            }
+        }
+    }
+
+    @ClientCallable
+    private void reportClickLatency(String correlationId, double endToEndMillis) {
+        var clickTrace = (pendingClickTraces != null) ? pendingClickTraces.remove(correlationId) : null;
+        if (clickTrace != null) {
+            metrics.clickTraced(clickTrace.actionKey(), clickTrace.queueNanos(), clickTrace.handlerNanos(),
+                    (long) (endToEndMillis * TimeUnit.MILLISECONDS.toNanos(1)));
+        }
+    }
+
+    /**
+     * Return the confirmation message of an action for an item, when the browser is about to ask for it.
+     *
+     * @return the message, or an empty string if no confirmation is needed,
+     *         including when the click would be rejected anyway
+     */
+    @ClientCallable
+    private String actionConfirmation(String actionKey, String itemKey) {
+        var t = getDataCommunicator().getKeyMapper().get(itemKey);
+        var action = getActionByKey(actionKey);
+        if (t == null || action == null || !action.isPermittedOnClick(t)) {
+            return "";
+        }
+        return Objects.requireNonNullElse(action.confirmationFor(t), "");
+    }
+
+    /**
+     * Apply a batch of toggles the browser has already shown.
+     *
+     * @param toggles the toggles, each with the key of its action, the key of its item and whether it is now on
+     */
+    @ClientCallable
+    private void applyToggles(JsonArray toggles) {
+        var keyMapper = getDataCommunicator().getKeyMapper();
+        for (int i = 0; i < toggles.length(); i++) {
+            var toggle = toggles.getObject(i);
+            var t = keyMapper.get(toggle.getString("key"));
+            // items no longer known to the client have nothing to roll back
+            if (t != null && getActionByKey(toggle.getString("action")) instanceof ToggleAction toggleAction) {
+                toggleAction.onToggleFor(t, toggle.getBoolean("on"));
+            }
+        }
+    }
+
+    /**
+     * Count a row generated for the client, reporting the count once the response is about to be sent.
+     */
+    private void countGeneratedRow() {
+        if (generatedRows++ == 0) {
+            getUI().ifPresentOrElse(ui -> ui.beforeClientResponse(this, context -> {
+                metrics.rowsGenerated(generatedRows);
+                if (payloadAccounting != null) {
+                    payloadAccounting.rangeSent(generatedRows);
+                }
+                generatedRows = 0;
+            }), () -> generatedRows = 0);
+        }
+    }
+
+    /**
+     * Estimate the number of bytes of heap retained by this grid, e.g., to log the footprint of a session.
+     * <p>
+     * The estimate adds the sizes of the actions, the action column's renderer, the cached action states
+     * and the {@linkplain #setActionStateStoreEnabled(boolean) action state store} to an allowance for the grid itself.
+     * The items are not counted, as they are retained by whoever provides them.
+     * Sizes assume a 64-bit JVM with compressed references, i.e., heaps below 32 GiB.
+     *
+     * @return the estimated number of bytes
+     */
+    public long estimateRetainedSize() {
+        var counted = Collections.<String>newSetFromMap(new IdentityHashMap<>());
+        var size = GRID_RETAINED_SIZE_ESTIMATE;
+        if (!actionColumnStale && actionColumn.getRenderer() instanceof LitRenderer<T> renderer) {
+            // each property and click function of each action
+            size += MemoryEstimates.string(renderer.getTemplateExpression(), counted)
+                    + (renderer.getValueProviders().size() + actions.size()) * RENDERER_PROPERTY_SIZE_ESTIMATE;
+        }
+        for (var action : actions) {
+            size += action.estimateRetainedSize(counted);
+        }
+        if (prefetchedStates != null) {
+            size += MemoryEstimates.hashMap(prefetchedStates.size());
+            for (var actionStates : prefetchedStates.values()) {
+                size += MemoryEstimates.array(actionStates.length, MemoryEstimates.REFERENCE);
+                for (var actionState : actionStates) {
+                    size += estimateRetainedSize(actionState, counted);
+                }
+            }
+        }
+        if (actionStateStore != null) {
+            size += actionStateStore.estimateRetainedSize(counted);
+        }
+        if (pendingClickTraces != null) {
+            // a linked node and a trace per click
+            size += MemoryEstimates.hashMap(pendingClickTraces.size())
+                    + pendingClickTraces.size() * (2 * MemoryEstimates.REFERENCE + MemoryEstimates.object(MemoryEstimates.REFERENCE + 2 * Long.BYTES));
+            for (var correlationId : pendingClickTraces.keySet()) {
+                size += MemoryEstimates.string(correlationId, counted);
+            }
+        }
+        return size;
+    }
+
+    private static long estimateRetainedSize(ActionState actionState, Set<String> counted) {
+        if (actionState == null) {
+            return 0;
+        }
+        return MemoryEstimates.ACTION_STATE
+                + MemoryEstimates.string(actionState.iconName(), counted)
+                + MemoryEstimates.string(actionState.className(), counted)
+                + MemoryEstimates.string(actionState.ariaLabel(), counted)
+                + MemoryEstimates.string(actionState.tooltip(), counted);
+    }
+
+    /**
+     * Return whether the action states of all the items are kept in a precomputed store.
+     *
+     * @return {@code true} if action states are stored, {@code false} otherwise
+     */
+    public boolean isActionStateStoreEnabled() {
+        return actionStateStoreEnabled;
+    }
+
+    /**
+     * Set whether the action states of all the items are kept in a precomputed store.
+     * <p>
+     * When enabled and the items are provided by a {@link ListDataProvider}, e.g., with {@link #setItems(java.util.Collection)},
+     * the icon, class name, aria-label, tooltip, visibility and enablement of every item are evaluated once,
+     * in parallel on the {@linkplain #setParallelEvaluationExecutor(Executor) evaluation executor},
+     * when the client first fetches rows.
+     * They are then kept in a compact columnar store, one bitset per action for visibility and enablement
+     * and dictionary indexes for the strings, and read from there while scrolling instead of calling the providers.
+     * <p>
+     * The states of an item are evaluated again when it is refreshed through
+     * {@link com.vaadin.flow.data.provider.DataProvider#refreshItem(Object)},
+     * and the whole store is filled again after {@link com.vaadin.flow.data.provider.DataProvider#refreshAll()},
+     * after the items are replaced and after the actions change.
+     * Items added without refreshing all are evaluated as they are fetched, as if the store were disabled.
+     * Items with equal ids are evaluated once, for the first of them.
+     * <p>
+     * This pays off for large in-memory data sets whose action states change rarely.
+     * The providers must be thread-safe and must not lock the session or modify components.
+     * Other data providers and actions with asynchronous providers are not affected.
+     *
+     * @param actionStateStoreEnabled {@code true} to store the action states of all items, {@code false} otherwise
+     */
+    public void setActionStateStoreEnabled(boolean actionStateStoreEnabled) {
+        this.actionStateStoreEnabled = actionStateStoreEnabled;
+        refreshActionColumn();
+    }
+
+    /**
+     * Return the action state store of the current items, filling it first if needed.
+     *
+     * @return the action state store, or {@code null} if there is none
+     */
+    ActionStateStore actionStateStore() {
+        if (!actionStateStoreEnabled) {
+            return null;
+        }
+        var dataProvider = getDataProvider();
+        if (actionStateStore == null || actionStateStore.getSource() != dataProvider) {
+            discardActionStateStore();
+            if (dataProvider instanceof ListDataProvider<?>) {
+                @SuppressWarnings("unchecked")
+                var listDataProvider = (ListDataProvider<T>) dataProvider;
+                actionStateStore = fillActionStateStore(listDataProvider);
+                actionStateStoreRegistration = listDataProvider.addDataProviderListener(this::onStoredDataChange);
+            }
+        }
+        return actionStateStore;
+    }
+
+    /**
+     * Evaluate the states of the actions for all the items, in parallel blocks of rows.
+     */
+    private ActionStateStore fillActionStateStore(ListDataProvider<T> dataProvider) {
+        var items = List.copyOf(dataProvider.getItems());
+        var storedActions = actions.stream().filter(action -> !action.isAsync()).toList();
+        var ids = items.stream().map(dataProvider::getId).toList();
+        var store = new ActionStateStore(dataProvider, storedActions, ids);
+
+        var futures = new ArrayList<CompletableFuture<Void>>();
+        for (int fromRow = 0; fromRow < items.size(); fromRow += STORE_FILL_BLOCK_SIZE) {
+            var blockFromRow = fromRow;
+            var blockToRow = Math.min(items.size(), fromRow + STORE_FILL_BLOCK_SIZE);
+            futures.add(supplyWithCurrentInstances(() -> {
+                for (int row = blockFromRow; row < blockToRow; row++) {
+                    // only the first item of an id is ever read
+                    if (store.rowOf(ids.get(row)) != row) {
+                        continue;
+                    }
+                    for (int column = 0; column < storedActions.size(); column++) {
+                        store.store(column, row, storedActions.get(column).evaluateStateFor(items.get(row)));
+                    }
+                }
+                return null;
+            }));
+        }
+        joinAll(futures);
+        return store;
+    }
+
+    private void onStoredDataChange(DataChangeEvent<T> event) {
+        if (actionStateStore == null) {
+            return;
+        }
+        if (event instanceof DataChangeEvent.DataRefreshEvent<T> refreshEvent) {
+            var item = refreshEvent.getItem();
+            var row = actionStateStore.rowOf(getDataProvider().getId(item));
+            if (row >= 0) {
+                for (var action : actions) {
+                    var column = actionStateStore.columnOf(action);
+                    if (column >= 0) {
+                        actionStateStore.store(column, row, action.evaluateStateFor(item));
+                    }
+                }
+            }
+        }
+        else {
+            // items may have been added, removed or replaced
+            discardActionStateStore();
+        }
+    }
+
+    private void discardActionStateStore() {
+        if (actionStateStoreRegistration != null) {
+            actionStateStoreRegistration.remove();
+            actionStateStoreRegistration = null;
+        }
+        actionStateStore = null;
+    }
+
+    /**
+     * Set a back end data provider whose queries carry the availability of the actions,
+     * so that rows can be {@linkplain #showOnlyAvailable(String...) limited to} and
+     * {@linkplain #sortByAvailability(String) sorted by} the actions available for them in the back end,
+     * rather than by loading all the items to evaluate the actions in memory.
+     * <p>
+     * The data provider receives an {@link ActionAvailabilityFilter} holding the
+     * {@linkplain Action#setAvailabilityFilter(Serializable) availability filters} of the actions to show rows for,
+     * and the {@linkplain Action#setAvailabilitySortProperty(String) availability sort property}
+     * of the action to sort by ahead of the grid's own sort orders.
+     * The actions' visibility and enablement remain the authoritative checks on click.
+     *
+     * @param dataProvider the data provider, not null
+     * @return the lazy data view of the grid
+     */
+    public GridLazyDataView<T> setItemsWithAvailability(BackEndDataProvider<T, ActionAvailabilityFilter> dataProvider) {
+        Objects.requireNonNull(dataProvider, "dataProvider cannot be null.");
+        if (availabilityDataProvider != null) {
+            availabilityDataProvider.registration.remove();
+        }
+        availabilityDataProvider = new AvailabilityDataProvider(dataProvider);
+        return setItems(availabilityDataProvider);
+    }
+
+    /**
+     * Stop listening to the back end of the availability data provider once the items are set otherwise.
+     *
+     * @param dataProvider the data provider the items are now set with
+     */
+    private void dataProviderChanged(DataProvider<T, ?> dataProvider) {
+        if (availabilityDataProvider != null && dataProvider != availabilityDataProvider) {
+            availabilityDataProvider.registration.remove();
+            availabilityDataProvider = null;
+        }
+    }
+
+    /**
+     * Show only the rows all the given actions are available for, filtering them in the back end,
+     * or all rows if no action is given.
+     * <p>
+     * Throws an {@link IllegalStateException} if the items were not set with
+     * {@link #setItemsWithAvailability(BackEndDataProvider)},
+     * and an {@link IllegalArgumentException} if an Action with a key is not found
+     * or has no {@linkplain Action#setAvailabilityFilter(Serializable) availability filter}.
+     *
+     * @param actionKeys the keys of the actions, e.g., the action approving a row to show only approvable rows
+     */
+    public void showOnlyAvailable(String... actionKeys) {
+        checkAvailabilityDataProvider();
+        for (var key : actionKeys) {
+            if (availabilityAction(key).configuration.availabilityFilter == null) {
+                throw new IllegalArgumentException("Action with key \"" + key + "\" has no availability filter.");
+            }
+        }
+        availabilityFilterKeys = List.of(actionKeys);
+        availabilityDataProvider.refreshAll();
+    }
+
+    /**
+     * Sort the rows the given action is available for first, ahead of the grid's own sort orders,
+     * sorting them in the back end, or stop doing so if the key is {@code null}.
+     * <p>
+     * Throws an {@link IllegalStateException} if the items were not set with
+     * {@link #setItemsWithAvailability(BackEndDataProvider)},
+     * and an {@link IllegalArgumentException} if an Action with the key is not found
+     * or has no {@linkplain Action#setAvailabilitySortProperty(String) availability sort property}.
+     *
+     * @param actionKey the key of the action, or {@code null} to stop sorting by availability
+     */
+    public void sortByAvailability(String actionKey) {
+        checkAvailabilityDataProvider();
+        if (actionKey != null && availabilityAction(actionKey).configuration.availabilitySortProperty == null) {
+            throw new IllegalArgumentException("Action with key \"" + actionKey + "\" has no availability sort property.");
+        }
+        availabilitySortKey = actionKey;
+        availabilityDataProvider.refreshAll();
+    }
+
+    private void checkAvailabilityDataProvider() {
+        if (availabilityDataProvider == null || getDataProvider() != availabilityDataProvider) {
+            throw new IllegalStateException("Items were not set with setItemsWithAvailability.");
+        }
+    }
+
+    private Action availabilityAction(String key) {
+        var action = getActionByKey(key);
+        if (action == null) {
+            throw new IllegalArgumentException("Action with key \"" + key + "\" not found.");
+        }
+        return action;
+    }
+
+    /**
+     * Refresh the rows if the action's query-level availability is in use.
+     */
+    private void availabilityQueryChanged(Action action) {
+        if (availabilityDataProvider != null && getDataProvider() == availabilityDataProvider
+                && (availabilityFilterKeys.contains(action.getKey()) || action.getKey().equals(availabilitySortKey))) {
+            availabilityDataProvider.refreshAll();
+        }
+    }
+
+    /**
+     * Compose the availability filter and sort order into a query of the grid.
+     * <p>
+     * Actions removed since they were chosen are skipped, as are their cleared filters and sort properties;
+     * their clicks are still checked in memory.
+     */
+    private Query<T, ActionAvailabilityFilter> availabilityQuery(Query<T, Void> query) {
+        var keys = new ArrayList<String>();
+        var filters = new ArrayList<Serializable>();
+        for (var key : availabilityFilterKeys) {
+            var action = getActionByKey(key);
+            if (action != null && action.configuration.availabilityFilter != null) {
+                keys.add(key);
+                filters.add(action.configuration.availabilityFilter);
+            }
+        }
+        var sortOrders = new ArrayList<QuerySortOrder>();
+        var sortAction = (availabilitySortKey != null) ? getActionByKey(availabilitySortKey) : null;
+        if (sortAction != null && sortAction.configuration.availabilitySortProperty != null) {
+            sortOrders.add(new QuerySortOrder(sortAction.configuration.availabilitySortProperty, SortDirection.ASCENDING));
+        }
+        sortOrders.addAll(query.getSortOrders());
+        return new Query<>(query.getOffset(), query.getLimit(), sortOrders, query.getInMemorySorting(),
+                keys.isEmpty() ? null : new ActionAvailabilityFilter(keys, filters));
+    }
+
+    /**
+     * Return whether an action is visible and enabled for all the selected items,
+     * e.g., to enable a toolbar button running it on the selection.
+     * <p>
+     * The number of selected items each action is visible and enabled for is maintained incrementally
+     * from the first call on, as items are selected, deselected or refreshed through
+     * {@link com.vaadin.flow.data.provider.DataProvider#refreshItem(Object)},
+     * so that a selection change evaluates the action for the changed items only.
+     * The availability is evaluated again for the whole selection
+     * after {@link com.vaadin.flow.data.provider.DataProvider#refreshAll()} and after the actions change.
+     * An item whose asynchronous state is still pending counts as denied, without waiting for it,
+     * until its state is resolved and the availability listeners are notified.
+     * <p>
+     * Throws an {@link IllegalArgumentException} if an Action with the key is not found.
+     *
+     * @param key the key of the Action, not null
+     * @return {@code true} if items are selected and the action is visible and enabled for all of them,
+     *         {@code false} otherwise
+     * @see #addSelectionAvailabilityListener(ComponentEventListener)
+     */
+    public boolean isEnabledForSelection(String key) {
+        var action = selectionAvailabilityAction(key);
+        var availability = selectionAvailability();
+        return availability.getSelectedCount() > 0
+                && availability.getPermittedCount(action) == availability.getSelectedCount();
+    }
+
+    /**
+     * Return the number of selected items an action is visible and enabled for.
+     * <p>
+     * Throws an {@link IllegalArgumentException} if an Action with the key is not found.
+     *
+     * @param key the key of the Action, not null
+     * @return the number of selected items the action is permitted for
+     * @see #isEnabledForSelection(String)
+     */
+    public int getPermittedSelectionCount(String key) {
+        return selectionAvailability().getPermittedCount(selectionAvailabilityAction(key));
+    }
+
+    /**
+     * Add a listener notified whenever the availability of the actions over the selected items may have changed.
+     * <p>
+     * Adding a listener starts maintaining the availability, see {@link #isEnabledForSelection(String)}.
+     *
+     * @param listener the listener to add, not null
+     * @return a handle to remove the listener
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public Registration addSelectionAvailabilityListener(ComponentEventListener<SelectionAvailabilityEvent<T>> listener) {
+        Objects.requireNonNull(listener, "listener cannot be null.");
+        selectionAvailability();
+        return addListener(SelectionAvailabilityEvent.class, (ComponentEventListener) listener);
+    }
+
+    private Action selectionAvailabilityAction(String key) {
+        var action = getActionByKey(key);
+        if (action == null) {
+            throw new IllegalArgumentException("Action with key \"" + key + "\" not found.");
+        }
+        return action;
+    }
+
+    /**
+     * Return the availability of the actions over the current selection, evaluating it first if needed.
+     */
+    private SelectionAvailability<T> selectionAvailability() {
+        var dataProvider = getDataProvider();
+        if (selectionAvailability == null || selectionAvailability.getSource() != dataProvider) {
+            discardSelectionAvailability();
+            selectionAvailability = new SelectionAvailability<>(dataProvider, actions, dataProvider::getId,
+                    getSelectedItems());
+            selectionAvailabilityRegistration = dataProvider.addDataProviderListener(this::onSelectionDataChange);
+        }
+        return selectionAvailability;
+    }
+
+    @Override
+    protected void setSelectionModel(GridSelectionModel<T> model, SelectionMode selectionMode) {
+        super.setSelectionModel(model, selectionMode);
+        // selection listeners are not carried over to a new selection model
+        addSelectionListener(this::onSelectionChange);
+        if (selectionAvailability != null) {
+            discardSelectionAvailability();
+            fireSelectionAvailabilityChange();
+        }
+    }
+
+    private void onSelectionChange(SelectionEvent<Grid<T>, T> event) {
+        if (selectionAvailability == null || selectionAvailability.getSource() != getDataProvider()) {
+            // listeners evaluate it again if they need it
+            if (hasListener(SelectionAvailabilityEvent.class)) {
+                fireSelectionAvailabilityChange();
+            }
+            return;
+        }
+        if (event instanceof MultiSelectionEvent<Grid<T>, T> multiSelectionEvent) {
+            multiSelectionEvent.getRemovedSelection().forEach(selectionAvailability::deselect);
+            multiSelectionEvent.getAddedSelection().forEach(selectionAvailability::select);
+        }
+        else {
+            // at most one item is selected
+            discardSelectionAvailability();
+            selectionAvailability();
+        }
+        fireSelectionAvailabilityChange();
+    }
+
+    private void onSelectionDataChange(DataChangeEvent<T> event) {
+        if (selectionAvailability == null) {
+            return;
+        }
+        if (event instanceof DataChangeEvent.DataRefreshEvent<T> refreshEvent) {
+            var item = refreshEvent.getItem();
+            if (getSelectionModel().isSelected(item) && selectionAvailability.refresh(item)) {
+                fireSelectionAvailabilityChange();
+            }
+        }
+        else {
+            // items may have been added, removed or replaced
+            discardSelectionAvailability();
+            fireSelectionAvailabilityChange();
+        }
+    }
+
+    /**
+     * Evaluate the availability again for a selected item whose asynchronous state has just been resolved,
+     * as it was counted as denied while pending.
+     */
+    private void onAsyncStateResolved(T item) {
+        if (selectionAvailability != null && getSelectionModel().isSelected(item)
+                && selectionAvailability.refresh(item)) {
+            fireSelectionAvailabilityChange();
+        }
+    }
+
+    private void discardSelectionAvailability() {
+        if (selectionAvailabilityRegistration != null) {
+            selectionAvailabilityRegistration.remove();
+            selectionAvailabilityRegistration = null;
+        }
+        selectionAvailability = null;
+    }
+
+    private void fireSelectionAvailabilityChange() {
+        fireEvent(new SelectionAvailabilityEvent<>(this));
+    }
+
+    /**
+     * Capture the grid's data provider, current filter and current sort order,
+     * to fetch ranges of the matching items later, e.g., off the request thread.
+     * <p>
+     * The data communicator is not thread-safe, so this must be called with the session locked.
+     */
+    @SuppressWarnings("unchecked")
+    private ItemQuery<T> itemQuery() {
+        Query<T, Object> query = getDataCommunicator().buildQuery(0, Integer.MAX_VALUE);
+        return new ItemQuery<>((DataProvider<T, Object>) getDataProvider(),
+                query.getSortOrders(), query.getInMemorySorting(), query.getFilter().orElse(null));
+    }
+
+    /**
+     * The items matching a filter, in a sort order, as captured by {@link #itemQuery()}.
+     */
+    private record ItemQuery<E>(DataProvider<E, Object> dataProvider, List<QuerySortOrder> sortOrders,
+                                Comparator<E> inMemorySorting, Object filter) {
+
+        /**
+         * Fetch a range of the matching items, in the sort order.
+         */
+        List<E> fetch(int offset, int limit) {
+            try (Stream<E> items = dataProvider.fetch(new Query<>(offset, limit, sortOrders, inMemorySorting, filter))) {
+                return items.toList();
+            }
+        }
+    }
+
+    private static boolean holdsSessionLock() {
+        var session = VaadinSession.getCurrent();
+        return session != null && session.hasLock();
+    }
+
+    /**
+     * Queue the delivery of a completed asynchronous evaluation.
+     * <p>
+     * Completions arriving before the UI gets to process them are delivered
+     * together in a single {@link UI#access} call, so that all the rows that completed
+     * in the meantime are sent to the client in the same round-trip.
+     * Without server push enabled, the delivered rows are sent with the next round-trip.
+     */
+    private void queueAsyncCompletion(UI ui, Runnable completion) {
+        asyncCompletions.add(completion);
+        if (asyncFlushScheduled.compareAndSet(false, true)) {
+            try {
+                ui.access(this::flushAsyncCompletions);
+            }
+            catch (UIDetachedException e) {
+                // nobody to deliver to anymore
+                asyncCompletions.clear();
+                asyncFlushScheduled.set(false);
+            }
+        }
+    }
+
+    private void flushAsyncCompletions() {
+        asyncFlushScheduled.set(false);
+        Runnable completion;
+        while ((completion = asyncCompletions.poll()) != null) {
+            completion.run();
+        }
+    }
+
+    /**
+     * Restore the state that is not serialized.
+     * <p>
+     * The actions are serialized with their providers and click handlers, but not their evaluated states,
+     * which are evaluated again as rows are fetched. Asynchronous evaluations in progress are not resumed.
+     */
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        asyncCompletions = new ConcurrentLinkedQueue<>();
+        asyncFlushScheduled = new AtomicBoolean();
+    }
+
+
+    public enum FrozenColumnPosition {
+        BEGINNING,
+        END
+    }
+
+
+    /**
+     * Fired when the availability of the actions over the selected items may have changed.
+     *
+     * @param <T> the type of the items
+     * @see ActionGrid#addSelectionAvailabilityListener(ComponentEventListener)
+     */
+    public static class SelectionAvailabilityEvent<T> extends ComponentEvent<ActionGrid<T>> {
+
+        /**
+         * Create the event.
+         *
+         * @param source the ActionGrid whose availability changed
+         */
+        public SelectionAvailabilityEvent(ActionGrid<T> source) {
+            super(source, false);
+        }
+
+        /**
+         * Return whether an action is visible and enabled for all the selected items.
+         *
+         * @param key the key of the Action, not null
+         * @return {@code true} if items are selected and the action is permitted for all of them, {@code false} otherwise
+         * @see ActionGrid#isEnabledForSelection(String)
+         */
+        public boolean isEnabledForSelection(String key) {
+            return getSource().isEnabledForSelection(key);
+        }
+    }
+
+
+    /**
+     * The data provider of the grid when its items are set with {@link #setItemsWithAvailability(BackEndDataProvider)},
+     * composing the availability of the actions into the queries to the back end.
+     */
+    private class AvailabilityDataProvider extends AbstractBackEndDataProvider<T, Void> {
+        private final BackEndDataProvider<T, ActionAvailabilityFilter> backEnd;
+        private final Registration registration;
+
+        AvailabilityDataProvider(BackEndDataProvider<T, ActionAvailabilityFilter> backEnd) {
+            this.backEnd = backEnd;
+            // pass on the back end's refreshes, e.g., of an item changed by a click
+            registration = backEnd.addDataProviderListener(event -> {
+                if (event instanceof DataChangeEvent.DataRefreshEvent<T> refreshEvent) {
+                    refreshItem(refreshEvent.getItem());
+                }
+                else {
+                    refreshAll();
+                }
+            });
+        }
+
+        @Override
+        protected Stream<T> fetchFromBackEnd(Query<T, Void> query) {
+            return backEnd.fetch(availabilityQuery(query));
+        }
+
+        @Override
+        protected int sizeInBackEnd(Query<T, Void> query) {
+            return backEnd.size(availabilityQuery(query));
+        }
+
+        @Override
+        public Object getId(T item) {
+            return backEnd.getId(item);
+        }
+    }
+
+
+    /**
+     * Keeps the asynchronous and precomputed action states in step with the rows known to the client.
+     * <p>
+     * A state is kept only until its row is refreshed by anyone other than
+     * its own delivery, or until its row leaves the client's cache.
+     */
+    private class ActionStateGenerator implements DataGenerator<T> {
+
+        @Override
+        public void generateData(T item, JsonObject jsonObject) {
+            // the action states are sent by the action column renderer
+            if (metrics != ActionGridMetrics.NO_OP || payloadAccounting != null) {
+                countGeneratedRow();
+            }
+        }
+
+        @Override
+        public void refreshData(T item) {
+            actions.forEach(action -> action.refreshAsyncStateFor(item));
+            if (prefetchedStates != null) {
+                prefetchedStates.remove(getDataProvider().getId(item));
+            }
+            actions.forEach(action -> action.discardPrecomputedStateFor(item));
+        }
+
+        @Override
+        public void destroyData(T item) {
+            actions.forEach(action -> action.discardAsyncStateFor(item));
+            actions.forEach(action -> action.discardPrecomputedStateFor(item));
+        }
+
+        @Override
+        public void destroyAllData() {
+            actions.forEach(Action::discardAsyncStates);
+            actions.forEach(Action::discardPrecomputedStates);
+        }
+    }
+
+    private static class ActionDataCommunicatorBuilder<T> extends DataCommunicatorBuilder<T, GridArrayUpdater> {
+
+        @Override
+        protected DataCommunicator<T> build(Element element, CompositeDataGenerator<T> dataGenerator,
+                                            GridArrayUpdater arrayUpdater,
+                                            SerializableSupplier<ValueProvider<T, String>> uniqueKeyProviderSupplier) {
+            return new ActionDataCommunicator<>(dataGenerator, arrayUpdater,
+                    data -> element.callJsFunction("$connector.updateFlatData", data), element.getNode());
+        }
+    }
+
+    /**
+     * Hands each fetched range to the grid before its rows are generated,
+     * so that their action states can be evaluated together.
+     */
+    private static class ActionDataCommunicator<T> extends DataCommunicator<T> {
+        private SerializableConsumer<List<T>> fetchListener;
+        private SerializableConsumer<DataProvider<T, ?>> dataProviderListener;
+
+        private ActionDataCommunicator(CompositeDataGenerator<T> dataGenerator, GridArrayUpdater arrayUpdater,
+                                       SerializableConsumer<JsonArray> dataUpdater, StateNode stateNode) {
+            super(dataGenerator, arrayUpdater, dataUpdater, stateNode);
+        }
+
+        private void setFetchListener(SerializableConsumer<List<T>> fetchListener) {
+            this.fetchListener = fetchListener;
+        }
+
+        private void setDataProviderListener(SerializableConsumer<DataProvider<T, ?>> dataProviderListener) {
+            this.dataProviderListener = dataProviderListener;
+        }
+
+        @Override
+        public <F> SerializableConsumer<F> setDataProvider(DataProvider<T, F> dataProvider, F initialFilter) {
+            var filterConsumer = super.setDataProvider(dataProvider, initialFilter);
+            if (dataProviderListener != null) {
+                dataProviderListener.accept(dataProvider);
+            }
+            return filterConsumer;
+        }
+
+        @Override
+        protected Stream<T> fetchFromProvider(int offset, int limit) {
+            var items = super.fetchFromProvider(offset, limit).toList();
+            if (fetchListener != null) {
+                fetchListener.accept(items);
+            }
+            return items.stream();
+        }
+    }
+
+
+    /**
+     * The state of an action for a single item, as sent to the client.
+     */
+    record ActionState(String iconName, String className, String ariaLabel, String tooltip,
+                       boolean visible, boolean enabled) implements Serializable {
+
+        Object get(ActionProperty property) {
+            return switch (property) {
+                case ICON_NAME -> iconName;
+                case CLASS_NAME -> className;
+                case ARIA_LABEL -> ariaLabel;
+                case TOOLTIP -> tooltip;
+                case VISIBLE -> visible;
+                case ENABLED -> enabled;
+            };
+        }
+    }
+
+    /**
+     * The value provider of an action property in the action column's renderer.
+     * <p>
+     * A class rather than a lambda, so that it serializes to little more than its action and property.
+     */
+    private class ActionPropertyProvider implements ValueProvider<T, Object> {
+        private final Action action;
+        private final ActionProperty property;
+
+        ActionPropertyProvider(Action action, ActionProperty property) {
+            this.action = action;
+            this.property = property;
+        }
+
+        @Override
+        public Object apply(T t) {
+            var value = actionPropertyValue(action, property, t);
+            if (payloadAccounting != null) {
+                payloadAccounting.count(action.getKey(), property, value);
+            }
+            return value;
+        }
+    }
+
+
+    /**
+     * The value provider of a typed action's state in the action column's renderer:
+     * its properties not evaluated in the browser for the items of its row type, and {@code null} for the others,
+     * so that the other row types neither evaluate nor send them.
+     */
+    private class TypedActionStateProvider implements ValueProvider<T, JsonValue> {
+        private final Action action;
+        private final List<ActionPropertyProvider> propertyProviders;
+
+        TypedActionStateProvider(Action action) {
+            this.action = action;
+            propertyProviders = Stream.of(ActionProperty.values())
+                    .filter(property -> switch (property) {
+                        case CLASS_NAME -> action.clientClassNameCondition() == null;
+                        case VISIBLE -> action.clientVisibleCondition() == null;
+                        case ENABLED -> action.clientEnabledCondition() == null;
+                        default -> true;
+                    })
+                    .map(property -> new ActionPropertyProvider(action, property))
+                    .toList();
+        }
+
+        @Override
+        public JsonValue apply(T t) {
+            if (!action.appliesTo(t)) {
+                return Json.createNull();
+            }
+            var state = Json.createObject();
+            for (var propertyProvider : propertyProviders) {
+                var name = propertyProvider.property.getSuffix();
+                var value = propertyProvider.apply(t);
+                if (value instanceof Boolean flag) {
+                    state.put(name, flag);
+                }
+                else {
+                    state.put(name, (String) value);
+                }
+            }
+            return state;
+        }
+    }
+
+
+    /**
+     * What the action column's template is generated from, identifying it in the template cache.
+     */
+    record ActionColumnLayout(List<ActionButtonLayout> buttons, boolean clickTracing) {
+    }
+
+    /**
+     * What the template of an action's button is generated from: its key, the scripts of its
+     * client-evaluated properties and click, or {@code null} for the properties sent per item and the default click,
+     * and the arguments of its confirmation, or {@code null} for none.
+     */
+    record ActionButtonLayout(String key, String classNameScript, String enabledScript, String visibleScript,
+                              String ariaLabelScript, String iconNameScript, String tooltipScript, String clickScript,
+                              String confirmationScript) {
+    }
+
+    /**
+     * The server-side part of a traced click, awaiting the browser's report of its end-to-end time.
+     */
+    private record ClickTrace(String actionKey, long queueNanos, long handlerNanos) implements Serializable {
+    }
+
+
+    /**
+     * The state of an asynchronously evaluated action for a single item.
+     */
+    private static final class AsyncState {
+        private boolean complete;
+        private boolean delivering;
+        private boolean visible;
+        private boolean enabled;
+    }
+
+
+    /**
+     * Represents an action associated with a key,
+     * configurable with dynamic properties for each row's item.
+     * <p>
+     * This class encapsulates an action identified by a unique {@code key}, with customizable
+     * behavior for rendering icons, class names, aria-label, tooltips, visibility, enablement, and click handling.
+     * Each property is defined by a function or predicate that operates on the row's item.
+     * <p>
+     * The action can be configured fluently via setter methods,
+     * which return the instance for chaining.
+     * <p>
+     * Changes to action properties trigger a refresh of the action column,
+     * ensuring the ActionGrid reflects the updated state.
+     */
+    public class Action implements Serializable {
+        private final ActionConfiguration<T> configuration;
+        private transient Map<Object, AsyncState> asyncStates;
+        private transient Map<Object, ActionState> precomputedStates;
+
+        /**
+         * Construct an action with the specified key and default property providers.
+         * <p>
+         * The {@code key} uniquely identifies this action. All providers (icon, class name,
+         * aria-label, tooltip, visibility, enablement, and click) are initialized to safe defaults.
+         *
+         * @param key the unique identifier for this action
+         */
+        Action(String key) {
+            this(key, null);
+        }
+
+        /**
+         * Construct an action applying only to the items of a row type, with default property providers.
+         *
+         * @param key the unique identifier for this action
+         * @param rowType the type of the items this action applies to, or {@code null} for all items
+         */
+        Action(String key, Class<? extends T> rowType) {
+            this(new ActionConfiguration<>(key, rowType));
+        }
+
+        /**
+         * Construct an action from its configuration, e.g., a copy of the configuration of an {@link ActionSet}'s action.
+         *
+         * @param configuration the configuration of this action
+         */
+        Action(ActionConfiguration<T> configuration) {
+            this.configuration = configuration;
+        }
+
+        /**
+         * Return the unique key identifying this action.
+         *
+         * @return the action's key
+         */
+        public String getKey() {
+            return configuration.key;
+        }
+
+        /**
+         * Return the type of the items this action applies to.
+         *
+         * @return the row type, or {@code null} if this action applies to all items
+         * @see ActionGrid#addAction(String, Class)
+         */
+        public Class<? extends T> getRowType() {
+            return configuration.rowType;
+        }
+
+        /**
+         * Return whether this action applies to the given item, i.e., whether the item is of its row type.
+         * <p>
+         * An action is neither visible nor enabled for the items it does not apply to,
+         * and its providers are not evaluated for them.
+         *
+         * @param t the item to check
+         * @return {@code true} if this action applies to the item, {@code false} otherwise
+         */
+        public boolean appliesTo(T t) {
+            return configuration.rowType == null || configuration.rowType.isInstance(t);
+        }
+
+        /**
+         * Return the icon name for the given item, or an empty string if none exists.
+         * <p>
+         * The icon name is the name of the icon returned by the configured {@code iconProvider},
+         * or the name returned by the configured {@code iconNameProvider}, defaulting to an empty string if not set.
+         *
+         * @param t the item to evaluate
+         * @return the icon name, e.g., {@code "vaadin:edit"}, or {@code ""} if no icon is provided
+         */
+        public String iconNameFor(T t) {
+            return Objects.requireNonNullElse(evaluate(ActionProperty.ICON_NAME, configuration.iconNameProvider, t), "");
+        }
+
+        /**
+         * Retrieve the icon for the given item.
+         * <p>
+         * The icon is determined by the configured {@code iconProvider}, which may return
+         * null if no icon is applicable.
+         * Actions whose icon is set by name, e.g., those of an {@link ActionSet}, create a new icon from the name.
+         *
+         * @param t the item to evaluate
+         * @return the icon for the item, or {@code null} if none is provided
+         */
+        public Icon iconFor(T t) {
+            return evaluate(ActionProperty.ICON_NAME, configuration.iconProvider, t);
+        }
+
+        /**
+         * Set the provider for determining the icon of this action.
+         * <p>
+         * If the provided {@code iconProvider} is null, a default provider returning
+         * {@code null} is used.
+         *
+         * @param iconProvider the function to compute the icon, or {@code null} for none
+         * @return this action, for method chaining
+         */
+        public Action setIcon(SerializableFunction<T, Icon> iconProvider) {
+            configuration.setIcon(iconProvider);
+            refreshActionColumn();
+            return this;
+        }
+
+        /**
+         * Sets the icon for this action.
+         * This method assigns a specific icon to the action, replacing any existing icon configuration.
+         *
+         * @param icon the icon to set for this action
+         * @return this action, allowing method chaining
+         */
+        public Action setIcon(Icon icon) {
+            return setIcon(t -> icon);
+        }
+
+        /**
+         * Set the provider for determining the icon name of this action, e.g., {@code "vaadin:edit"}.
+         * <p>
+         * If the provided {@code iconNameProvider} is null, a default provider returning
+         * an empty string, i.e., no icon, is used.
+         *
+         * @param iconNameProvider the function to compute the icon name, or {@code null} for none
+         * @return this action, for method chaining
+         */
+        public Action setIconName(SerializableFunction<T, String> iconNameProvider) {
+            configuration.setIconName(iconNameProvider);
+            refreshActionColumn();
+            return this;
+        }
+
+        /**
+         * Set a static icon name for this action, e.g., {@code "vaadin:edit"}.
+         *
+         * @param iconName the icon name to set, or {@code null} for none
+         * @return this action, for method chaining
+         */
+        public Action setIconName(String iconName) {
+            var name = Objects.requireNonNullElse(iconName, "");
+            return setIconName(t -> name);
+        }
+
+        /**
+         * Return the CSS class name for the given item.
+         * <p>
+         * The class name is determined by the configured {@code classNameProvider},
+         * which defaults to an empty string if not set.
+         *
+         * @param t the item to evaluate
+         * @return the class name for the item
+         */
+        public String classNameFor(T t) {
+            return evaluate(ActionProperty.CLASS_NAME, configuration.classNameProvider, t);
+        }
+
+        /**
+         * Set the provider for determining the CSS class name of this action.
+         * To provide multiple class names, separate them with spaces.
+         * Note that this may override the default styles set for enabling/disabling.
+         * <p>
+         * If the provided {@code classNameProvider} is null, a default provider returning
+         * an empty string is used.
+         *
+         * @param classNameProvider the function to compute the class name, or {@code null} for empty
+         * @return this action, for method chaining
+         */
+        public Action setClassName(SerializableFunction<T, String> classNameProvider) {
+            configuration.setClassName(classNameProvider);
+            refreshActionColumn();
+            return this;
+        }
+
+        /**
+         * Sets the CSS class name for this action.
+         * This method assigns a specific class name to the action, replacing any existing class name configuration.
+         * To provide multiple class names, separate them with spaces.
+         * Note that this may override the default styles set for enabling/disabling.
+         *
+         * @param className the class name to set for this action
+         * @return this action, allowing method chaining
+         */
+        public Action setClassName(String className) {
+            return setClassName(t -> className);
+        }
+
+        /**
+         * Return the aria-label text for the given item.
+         * <p>
+         * The aria-label is determined by the configured {@code ariaLabelProvider},
+         * which defaults to an empty string if not set.
+         *
+         * @param t the item to evaluate
+         * @return the aria-label text for the item
+         */
+        public String ariaLabelFor(T t) {
+            return evaluate(ActionProperty.ARIA_LABEL, configuration.ariaLabelProvider, t);
+        }
+
+        /**
+         * Set the provider for determining the ariaLabel text of this action.
+         * <p>
+         * If the provided {@code ariaLabelProvider} is null, a default provider returning
+         * an empty string is used.
+         *
+         * @param ariaLabelProvider the function to compute the ariaLabel, or {@code null} for empty
+         * @return this action, for method chaining
+         */
+        public Action setAccessibleName(SerializableFunction<T, String> ariaLabelProvider) {
+            configuration.setAccessibleName(ariaLabelProvider);
+            refreshActionColumn();
+            return this;
+        }
+
+        /**
+         * Sets a static aria-label text for this action.
+         * This method assigns a specific aria-label to the action, replacing any existing aria-label configuration.
+         *
+         * @param ariaLabel the aria-label text to set for this action
+         * @return this action, allowing method chaining
+         */
+        public Action setAccessibleName(String ariaLabel) {
+            return setAccessibleName(t -> ariaLabel);
+        }
+
+        /**
+         * Return the tooltip text for the given item.
+         * <p>
+         * The tooltip is determined by the configured {@code tooltipProvider},
+         * which defaults to an empty string if not set.
+         *
+         * @param t the item to evaluate
+         * @return the tooltip text for the item
+         */
+        public String tooltipFor(T t) {
+            return evaluate(ActionProperty.TOOLTIP, configuration.tooltipProvider, t);
+        }
+
+        /**
+         * Set the provider for determining the tooltip text of this action.
+         * <p>
+         * If the provided {@code tooltipProvider} is null, a default provider returning
+         * an empty string is used.
+         *
+         * @param tooltipProvider the function to compute the tooltip, or {@code null} for empty
+         * @return this action, for method chaining
+         */
+        public Action setTooltip(SerializableFunction<T, String> tooltipProvider) {
+            configuration.setTooltip(tooltipProvider);
+            refreshActionColumn();
+            return this;
+        }
+
+        /**
+         * Sets a static tooltip text for this action.
+         * This method assigns a specific tooltip to the action, replacing any existing tooltip configuration.
+         *
+         * @param tooltip the tooltip text to set for this action
+         * @return this action, allowing method chaining
+         */
+        public Action setTooltip(String tooltip) {
+            return setTooltip(t -> tooltip);
+        }
+
+        /**
+         * Return if this action is visible for the given item.
+         * <p>
+         * Visibility is evaluated by the configured {@code visiblePredicate},
+         * which defaults to {@code true} if not set.
+         *
+         * @param t the item to evaluate
+         * @return {@code true} if the action is visible, {@code false} otherwise
+         */
+        public boolean isVisibleFor(T t) {
+            if (!appliesTo(t)) {
+                return false;
+            }
+            if (configuration.asyncVisibleProvider != null) {
+                return awaitAsync(configuration.asyncVisibleProvider.apply(t));
+            }
+            return testVisible(t);
+        }
+
+        /**
+         * Set the predicate for determining the visibility of this action.
+         * <p>
+         * If the provided {@code visiblePredicate} is null, a default predicate returning
+         * {@code true} is used.
+         *
+         * @param visiblePredicate the predicate to evaluate visibility, or {@code null} for always visible
+         * @return this action, for method chaining
+         */
+        public Action setVisible(SerializablePredicate<T> visiblePredicate) {
+            configuration.setVisible(visiblePredicate);
+            discardAsyncStates();
+            refreshActionColumn();
+            return this;
+        }
+
+        /**
+         * Sets the visibility for this action.
+         * This method assigns a specific visibility to the action, replacing any existing visibility configuration.
+         *
+         * @param visible the visibility to set for this action
+         * @return this action, allowing method chaining
+         */
+        public Action setVisible(boolean visible) {
+            return setVisible(t -> visible);
+        }
+
+        /**
+         * Determine if this action is enabled for the given item.
+         * <p>
+         * Enablement is evaluated by the configured {@code enabledPredicate},
+         * which defaults to {@code true} if not set.
+         *
+         * @param t the item to evaluate
+         * @return {@code true} if the action is enabled, {@code false} otherwise
+         */
+        public boolean isEnabledFor(T t) {
+            if (!appliesTo(t)) {
+                return false;
+            }
+            if (configuration.asyncEnabledProvider != null) {
+                return awaitAsync(configuration.asyncEnabledProvider.apply(t));
+            }
+            return testEnabled(t);
+        }
+
+        /**
+         * Set the predicate for determining the enablement of this action.
+         * <p>
+         * If the provided {@code enabledPredicate} is null, a default predicate returning
+         * {@code true} is used.
+         *
+         * @param enabledPredicate the predicate to evaluate enablement, or {@code null} for always enabled
+         * @return this action, for method chaining
+         */
+        public Action setEnabled(SerializablePredicate<T> enabledPredicate) {
+            configuration.setEnabled(enabledPredicate);
+            discardAsyncStates();
+            refreshActionColumn();
+            return this;
+        }
+
+        /**
+         * Sets the enablement for this action.
+         * This method assigns a specific enablement to the action, replacing any existing enablement configuration.
+         *
+         * @param enabled the enablement to set for this action
+         * @return this action, allowing method chaining
+         */
+        public Action setEnabled(boolean enabled) {
+            return setEnabled(t -> enabled);
+        }
+
+        /**
+         * Set the CSS class name of this action by a condition evaluated in the browser.
+         * <p>
+         * Unlike {@link #setClassName(SerializableFunction)}, no class name is sent for each row;
+         * the condition is compiled into the action's template and evaluated
+         * against the {@link RowProperty row properties} the condition depends on,
+         * which are sent in a single field shared by all actions.
+         *
+         * @param condition the condition, not null
+         * @param className the class name to use when the condition holds
+         * @return this action, for method chaining
+         */
+        public Action setClassNameWhen(RowCondition<T> condition, String className) {
+            return setClassNameWhen(condition, className, "");
+        }
+
+        /**
+         * Set the CSS class name of this action by a condition evaluated in the browser.
+         * <p>
+         * Unlike {@link #setClassName(SerializableFunction)}, no class name is sent for each row;
+         * the condition is compiled into the action's template and evaluated
+         * against the {@link RowProperty row properties} the condition depends on,
+         * which are sent in a single field shared by all actions.
+         *
+         * @param condition the condition, not null
+         * @param className the class name to use when the condition holds
+         * @param otherwiseClassName the class name to use when the condition does not hold
+         * @return this action, for method chaining
+         */
+        public Action setClassNameWhen(RowCondition<T> condition, String className, String otherwiseClassName) {
+            Objects.requireNonNull(condition, "condition cannot be null.");
+            checkRowProperties(condition, configuration.visibleCondition, configuration.enabledCondition,
+                    configuration.clientClickProperties);
+            configuration.setClassNameWhen(condition, className, otherwiseClassName);
+            refreshActionColumn();
+            return this;
+        }
+
+        /**
+         * Return the condition setting the CSS class name of this action in the browser.
+         *
+         * @return the condition, or {@code null} if the class name is not set by a condition
+         */
+        public RowCondition<T> getClassNameCondition() {
+            return configuration.classNameCondition;
+        }
+
+        /**
+         * Set the visibility of this action by a condition evaluated in the browser.
+         * <p>
+         * Unlike {@link #setVisible(SerializablePredicate)}, no visibility is sent for each row;
+         * the condition is compiled into the action's template and evaluated
+         * against the {@link RowProperty row properties} the condition depends on,
+         * which are sent in a single field shared by all actions.
+         * The condition is still evaluated on the server before invoking the click handlers.
+         *
+         * @param condition the condition, not null
+         * @return this action, for method chaining
+         */
+        public Action setVisibleWhen(RowCondition<T> condition) {
+            Objects.requireNonNull(condition, "condition cannot be null.");
+            checkRowProperties(configuration.classNameCondition, condition, configuration.enabledCondition,
+                    configuration.clientClickProperties);
+            configuration.setVisibleWhen(condition);
+            discardAsyncStates();
+            refreshActionColumn();
+            return this;
+        }
+
+        /**
+         * Return the condition setting the visibility of this action in the browser.
+         *
+         * @return the condition, or {@code null} if the visibility is not set by a condition
+         */
+        public RowCondition<T> getVisibleCondition() {
+            return configuration.visibleCondition;
+        }
+
+        /**
+         * Set the enablement of this action by a condition evaluated in the browser.
+         * <p>
+         * Unlike {@link #setEnabled(SerializablePredicate)}, no enablement is sent for each row;
+         * the condition is compiled into the action's template and evaluated
+         * against the {@link RowProperty row properties} the condition depends on,
+         * which are sent in a single field shared by all actions.
+         * The condition is still evaluated on the server before invoking the click handlers.
+         *
+         * @param condition the condition, not null
+         * @return this action, for method chaining
+         */
+        public Action setEnabledWhen(RowCondition<T> condition) {
+            Objects.requireNonNull(condition, "condition cannot be null.");
+            checkRowProperties(configuration.classNameCondition, configuration.visibleCondition, condition,
+                    configuration.clientClickProperties);
+            configuration.setEnabledWhen(condition);
+            discardAsyncStates();
+            refreshActionColumn();
+            return this;
+        }
+
+        /**
+         * Return the condition setting the enablement of this action in the browser.
+         *
+         * @return the condition, or {@code null} if the enablement is not set by a condition
+         */
+        public RowCondition<T> getEnabledCondition() {
+            return configuration.enabledCondition;
+        }
+
+        /**
+         * Set the click of this action to a script run in the browser, without a round-trip to the server,
+         * e.g., to copy a value to the clipboard, open a URL or expand the row's details.
+         *
+         * @param script the script, or {@code null} to handle clicks on the server again
+         * @return this action, for method chaining
+         * @see #setClientClick(String, List)
+         */
+        public Action setClientClick(String script) {
+            return setClientClick(script, List.of());
+        }
+
+        /**
+         * Set the click of this action to a script run in the browser, without a round-trip to the server,
+         * e.g., to copy a value to the clipboard, open a URL or expand the row's details.
+         * <p>
+         * The script is compiled into the action's template, and runs with {@code event} bound to the click event,
+         * {@code item} to the row's item, and {@code row} to the values of the {@link RowProperty row properties},
+         * which are sent in a single field shared by all actions, e.g.:
+         * <pre>{@code
+         * action.setClientClick("navigator.clipboard.writeText(row.orderNumber)",
+         *         List.of(RowProperty.of("orderNumber", Order::getNumber)));
+         * }</pre>
+         * The script is part of the page, so it must never be built from user input; pass such values as row properties.
+         * <p>
+         * No click function is registered for the action, so the click handlers are not called on clicks;
+         * the visibility and enablement are still evaluated on the server.
+         * <p>
+         * Throws an {@link IllegalArgumentException} if the script contains a backtick,
+         * which would end the template.
+         *
+         * @param script the script, or {@code null} to handle clicks on the server again
+         * @param rowProperties the row properties the script uses, not null
+         * @return this action, for method chaining
+         */
+        public Action setClientClick(String script, List<RowProperty<T>> rowProperties) {
+            var properties = ActionConfiguration.clientClickProperties(script, rowProperties);
+            checkRowProperties(configuration.classNameCondition, configuration.visibleCondition,
+                    configuration.enabledCondition, properties);
+            configuration.setClientClick(script, properties);
+            refreshActionColumn();
+            return this;
+        }
+
+        /**
+         * Return the script run in the browser on clicks.
+         *
+         * @return the script, or {@code null} if clicks are handled on the server
+         */
+        public String getClientClick() {
+            return configuration.clientClickScript;
+        }
+
+        /**
+         * Set a static message the user confirms in the browser before a click is handled,
+         * e.g., for deleting or archiving.
+         * <p>
+         * The message is part of the action's template, and a popover showing it opens next to the button on click.
+         * Clicks are only sent to the server once confirmed, so cancelled clicks cost no round-trip.
+         *
+         * @param message the message, or {@code null} to handle clicks without confirmation
+         * @return this action, for method chaining
+         */
+        public Action setConfirmation(String message) {
+            configuration.setConfirmation(message);
+            refreshActionColumn();
+            return this;
+        }
+
+        /**
+         * Set the provider of the message the user confirms in the browser before a click is handled,
+         * e.g., naming the item to delete.
+         * <p>
+         * Messages are not sent with the rows; the browser fetches the message of an item when its button is clicked,
+         * and a popover showing it opens next to the button.
+         * Clicks are only sent to the server once confirmed.
+         * Items whose message is {@code null} or empty are clicked without confirmation.
+         *
+         * @param confirmationProvider the function to compute the message, or {@code null} for no confirmation
+         * @return this action, for method chaining
+         */
+        public Action setConfirmation(SerializableFunction<T, String> confirmationProvider) {
+            configuration.setConfirmation(confirmationProvider);
+            refreshActionColumn();
+            return this;
+        }
+
+        /**
+         * Set the texts of the confirmation popover's buttons, e.g., to translate them.
+         *
+         * @param confirmText the text of the button confirming the click, not null
+         * @param cancelText the text of the button cancelling the click, not null
+         * @return this action, for method chaining
+         */
+        public Action setConfirmationButtonTexts(String confirmText, String cancelText) {
+            configuration.setConfirmationButtonTexts(confirmText, cancelText);
+            refreshActionColumn();
+            return this;
+        }
+
+        /**
+         * Set the query-level counterpart of this action's visibility and enablement,
+         * selecting in the back end the items this action is available for,
+         * e.g., a specification, a criteria object or an enum the back end translates into its query.
+         * <p>
+         * The filter is passed to the back end in an {@link ActionAvailabilityFilter}
+         * while the grid {@linkplain ActionGrid#showOnlyAvailable(String...) shows only the rows} this action is available for.
+         * It is a hint for the query only; clicks are still checked with the visibility and enablement.
+         * The filter is serializable, as it is kept by the action and replicated with the session.
+         *
+         * @param availabilityFilter the filter, or {@code null} for none
+         * @return this action, for method chaining
+         * @see ActionGrid#setItemsWithAvailability(BackEndDataProvider)
+         */
+        public Action setAvailabilityFilter(Serializable availabilityFilter) {
+            configuration.availabilityFilter = availabilityFilter;
+            availabilityQueryChanged(this);
+            return this;
+        }
+
+        /**
+         * Return the query-level counterpart of this action's visibility and enablement.
+         *
+         * @return the filter, or {@code null} if none
+         */
+        public Serializable getAvailabilityFilter() {
+            return configuration.availabilityFilter;
+        }
+
+        /**
+         * Set the back end sort property ordering the items this action is available for first when ascending,
+         * e.g., one the back end translates into {@code CASE WHEN status = 'PENDING' THEN 0 ELSE 1 END}.
+         * <p>
+         * The property is sorted by ascending, ahead of the grid's own sort orders,
+         * while the grid {@linkplain ActionGrid#sortByAvailability(String) sorts by the availability} of this action.
+         *
+         * @param availabilitySortProperty the sort property, or {@code null} for none
+         * @return this action, for method chaining
+         * @see ActionGrid#setItemsWithAvailability(BackEndDataProvider)
+         */
+        public Action setAvailabilitySortProperty(String availabilitySortProperty) {
+            configuration.availabilitySortProperty = availabilitySortProperty;
+            availabilityQueryChanged(this);
+            return this;
+        }
+
+        /**
+         * Return the back end sort property ordering the items this action is available for first.
+         *
+         * @return the sort property, or {@code null} if none
+         */
+        public String getAvailabilitySortProperty() {
+            return configuration.availabilitySortProperty;
+        }
+
+        /**
+         * Return the message the user confirms before a click on the given item is handled.
+         *
+         * @param t the item to evaluate
+         * @return the message, or {@code null} if clicks are handled without confirmation
+         */
+        public String confirmationFor(T t) {
+            return (configuration.confirmationProvider != null)
+                    ? configuration.confirmationProvider.apply(t)
+                    : configuration.confirmationMessage;
+        }
+
+        /**
+         * Check that the row properties this action is about to use do not share a name
+         * with another row property, of this or another action, that has a different value provider.
+         */
+        private void checkRowProperties(RowCondition<T> classNameCondition, RowCondition<T> visibleCondition,
+                                        RowCondition<T> enabledCondition, List<RowProperty<T>> clientClickProperties) {
+            RowProperty.distinctByName(Stream.concat(actions.stream()
+                            .filter(action -> action != this)
+                            .flatMap(action -> rowPropertiesOf(action.configuration.classNameCondition,
+                                    action.configuration.visibleCondition, action.configuration.enabledCondition,
+                                    action.configuration.clientClickProperties)),
+                    rowPropertiesOf(classNameCondition, visibleCondition, enabledCondition, clientClickProperties)));
+        }
+
+        // the conditions are evaluated in the browser only while no asynchronous state needs rendering
+        private RowCondition<T> clientClassNameCondition() {
+            return isAsync() ? null : configuration.classNameCondition;
+        }
+
+        private RowCondition<T> clientVisibleCondition() {
+            return isAsync() ? null : configuration.visibleCondition;
+        }
+
+        private RowCondition<T> clientEnabledCondition() {
+            return isAsync() ? null : configuration.enabledCondition;
+        }
+
+        /**
+         * Set the asynchronous provider for determining the visibility of this action.
+         * <p>
+         * Use this instead of {@link #setVisible(SerializablePredicate)} when determining
+         * the visibility is slow, e.g., when it requires a remote call.
+         * Rows are first rendered in the pending state
+         * (see {@link #setPendingVisible(boolean)}, {@link #setPendingEnabled(boolean)}
+         * and {@link #setPendingClassName(String)}), and are updated once the provider's result completes.
+         * Results not completing within the {@linkplain #setAsyncTimeout(Duration) timeout},
+         * or completing exceptionally, are replaced by the {@linkplain #setAsyncFallback(boolean) fallback}.
+         * <p>
+         * Enable server push to have completed results shown without waiting for the next round-trip.
+         * Clicks on a row whose state is still pending are rejected rather than awaited.
+         * <p>
+         * If the provided {@code asyncVisibleProvider} is null, the action reverts to always visible.
+         *
+         * @param asyncVisibleProvider the function to start evaluating visibility, or {@code null} for always visible
+         * @return this action, for method chaining
+         */
+        public Action setVisibleAsync(SerializableFunction<T, CompletionStage<Boolean>> asyncVisibleProvider) {
+            setVisible(null);
+            configuration.setVisibleAsync(asyncVisibleProvider);
+            return this;
+        }
+
+        /**
+         * Set the asynchronous provider for determining the enablement of this action.
+         * <p>
+         * Use this instead of {@link #setEnabled(SerializablePredicate)} when determining
+         * the enablement is slow, e.g., when it requires a remote call.
+         * Rows are first rendered in the pending state
+         * (see {@link #setPendingVisible(boolean)}, {@link #setPendingEnabled(boolean)}
+         * and {@link #setPendingClassName(String)}), and are updated once the provider's result completes.
+         * Results not completing within the {@linkplain #setAsyncTimeout(Duration) timeout},
+         * or completing exceptionally, are replaced by the {@linkplain #setAsyncFallback(boolean) fallback}.
+         * <p>
+         * Enable server push to have completed results shown without waiting for the next round-trip.
+         * Clicks on a row whose state is still pending are rejected rather than awaited.
+         * <p>
+         * If the provided {@code asyncEnabledProvider} is null, the action reverts to always enabled.
+         *
+         * @param asyncEnabledProvider the function to start evaluating enablement, or {@code null} for always enabled
+         * @return this action, for method chaining
+         */
+        public Action setEnabledAsync(SerializableFunction<T, CompletionStage<Boolean>> asyncEnabledProvider) {
+            setEnabled(null);
+            configuration.setEnabledAsync(asyncEnabledProvider);
+            return this;
+        }
+
+        /**
+         * Set the visibility of this action while its asynchronous state is pending.
+         * <p>
+         * Defaults to {@code true}.
+         *
+         * @param pendingVisible the visibility while pending
+         * @return this action, for method chaining
+         */
+        public Action setPendingVisible(boolean pendingVisible) {
+            configuration.pendingVisible = pendingVisible;
+            refreshActionColumn();
+            return this;
+        }
+
+        /**
+         * Set the enablement of this action while its asynchronous state is pending.
+         * <p>
+         * Defaults to {@code false}.
+         *
+         * @param pendingEnabled the enablement while pending
+         * @return this action, for method chaining
+         */
+        public Action setPendingEnabled(boolean pendingEnabled) {
+            configuration.pendingEnabled = pendingEnabled;
+            refreshActionColumn();
+            return this;
+        }
+
+        /**
+         * Set the CSS class name added to this action while its asynchronous state is pending,
+         * e.g., to show a spinner.
+         * <p>
+         * If the provided {@code pendingClassName} is null, an empty string is used.
+         *
+         * @param pendingClassName the class name added while pending, or {@code null} for none
+         * @return this action, for method chaining
+         */
+        public Action setPendingClassName(String pendingClassName) {
+            configuration.setPendingClassName(pendingClassName);
+            refreshActionColumn();
+            return this;
+        }
+
+        /**
+         * Set how long to wait for an asynchronous result before using the fallback.
+         * <p>
+         * Defaults to 5 seconds.
+         *
+         * @param asyncTimeout the timeout, not null
+         * @return this action, for method chaining
+         */
+        public Action setAsyncTimeout(Duration asyncTimeout) {
+            configuration.setAsyncTimeout(asyncTimeout);
+            return this;
+        }
+
+        /**
+         * Set the result used when an asynchronous result times out or fails.
+         * <p>
+         * Defaults to {@code false}, i.e., hidden or disabled.
+         *
+         * @param asyncFallback the result to use instead
+         * @return this action, for method chaining
+         */
+        public Action setAsyncFallback(boolean asyncFallback) {
+            configuration.asyncFallback = asyncFallback;
+            return this;
+        }
+
+        boolean isAsync() {
+            return configuration.asyncVisibleProvider != null || configuration.asyncEnabledProvider != null;
+        }
+
+        private boolean testVisible(T t) {
+            return test(ActionProperty.VISIBLE, configuration.visiblePredicate, t);
+        }
+
+        private boolean testEnabled(T t) {
+            return test(ActionProperty.ENABLED, configuration.enabledPredicate, t);
+        }
+
+        /**
+         * Apply a provider to the item, reporting its duration to the metrics and flight recorder.
+         */
+        private <V> V evaluate(ActionProperty property, SerializableFunction<T, V> provider, T t) {
+            var event = new ActionGridEvents.ProviderEvaluation();
+            if (metrics == ActionGridMetrics.NO_OP && !event.isEnabled()) {
+                return provider.apply(t);
+            }
+            var start = System.nanoTime();
+            event.begin();
+            try {
+                return provider.apply(t);
+            }
+            finally {
+                reportEvaluation(property, event, start);
+            }
+        }
+
+        /**
+         * Test a predicate on the item, reporting its duration to the metrics and flight recorder.
+         */
+        private boolean test(ActionProperty property, SerializablePredicate<T> predicate, T t) {
+            var event = new ActionGridEvents.ProviderEvaluation();
+            if (metrics == ActionGridMetrics.NO_OP && !event.isEnabled()) {
+                return predicate.test(t);
+            }
+            var start = System.nanoTime();
+            event.begin();
+            try {
+                return predicate.test(t);
+            }
+            finally {
+                reportEvaluation(property, event, start);
+            }
+        }
+
+        private void reportEvaluation(ActionProperty property, ActionGridEvents.ProviderEvaluation event, long start) {
+            metrics.providerEvaluated(configuration.key, property, System.nanoTime() - start);
+            event.end();
+            if (event.shouldCommit()) {
+                event.actionKey = configuration.key;
+                event.property = property.name();
+                event.commit();
+            }
+        }
+
+        /**
+         * Return the value of a property for the given item as rendered, i.e., its pending state while asynchronous.
+         */
+        private Object renderedValueFor(ActionProperty property, T t) {
+            return switch (property) {
+                case ICON_NAME -> iconNameFor(t);
+                case CLASS_NAME -> renderedClassNameFor(t);
+                case ARIA_LABEL -> ariaLabelFor(t);
+                case TOOLTIP -> tooltipFor(t);
+                case VISIBLE -> renderedVisibleFor(t);
+                case ENABLED -> renderedEnabledFor(t);
+            };
+        }
+
+        private String renderedClassNameFor(T t) {
+            var className = classNameFor(t);
+            if (!isAsync() || asyncStateFor(t).complete || configuration.pendingClassName.isEmpty()) {
+                return className;
+            }
+            var pendingClassName = configuration.pendingClassName;
+            return (className == null || className.isEmpty()) ? pendingClassName : className + " " + pendingClassName;
+        }
+
+        private boolean renderedVisibleFor(T t) {
+            if (!isAsync()) {
+                return testVisible(t);
+            }
+            var asyncState = asyncStateFor(t);
+            return asyncState.complete ? asyncState.visible : configuration.pendingVisible;
+        }
+
+        private boolean renderedEnabledFor(T t) {
+            if (!isAsync()) {
+                return testEnabled(t);
+            }
+            var asyncState = asyncStateFor(t);
+            return asyncState.complete ? asyncState.enabled : configuration.pendingEnabled;
+        }
+
+        private AsyncState asyncStateFor(T t) {
+            if (asyncStates == null) {
+                asyncStates = new HashMap<>();
+            }
+            var id = getDataProvider().getId(t);
+            var asyncState = asyncStates.get(id);
+            if (asyncState == null) {
+                asyncState = new AsyncState();
+                // without a UI the result could never be delivered, so leave it pending
+                var ui = getUI();
+                if (ui.isPresent()) {
+                    asyncStates.put(id, asyncState);
+                    startAsyncEvaluation(ui.get(), t, id, asyncState);
+                }
+            }
+            return asyncState;
+        }
+
+        private void startAsyncEvaluation(UI ui, T t, Object id, AsyncState asyncState) {
+            var visible = (configuration.asyncVisibleProvider != null)
+                    ? withTimeout(configuration.asyncVisibleProvider.apply(t))
+                    : CompletableFuture.completedFuture(testVisible(t));
+            var enabled = (configuration.asyncEnabledProvider != null)
+                    ? withTimeout(configuration.asyncEnabledProvider.apply(t))
+                    : CompletableFuture.completedFuture(testEnabled(t));
+            visible.thenAcceptBoth(enabled, (v, e) -> queueAsyncCompletion(ui, () -> {
+                // skip results made obsolete while they were being evaluated
+                if (asyncStates == null || asyncStates.get(id) != asyncState) {
+                    return;
+                }
+                asyncState.visible = v;
+                asyncState.enabled = e;
+                asyncState.complete = true;
+                asyncState.delivering = true;
+                getDataCommunicator().refresh(t);
+                onAsyncStateResolved(t);
+            }));
+        }
+
+        private CompletableFuture<Boolean> withTimeout(CompletionStage<Boolean> stage) {
+            if (stage == null) {
+                return CompletableFuture.completedFuture(configuration.asyncFallback);
+            }
+            // copy so the timeout does not complete the provider's own future
+            return stage.toCompletableFuture().copy()
+                    .completeOnTimeout(configuration.asyncFallback, configuration.asyncTimeout.toMillis(),
+                            TimeUnit.MILLISECONDS)
+                    .exceptionally(e -> configuration.asyncFallback)
+                    .thenApply(result -> Objects.requireNonNullElse(result, configuration.asyncFallback));
+        }
+
+        private boolean awaitAsync(CompletionStage<Boolean> stage) {
+            return withTimeout(stage).join();
+        }
+
+        /**
+         * Return whether a click on the item is permitted, i.e., whether this action is visible and enabled for it.
+         * <p>
+         * Asynchronous results are not awaited while the session is locked, as that would block the whole session:
+         * the click is then permitted only once the item's state has been resolved,
+         * and is rejected while it is still pending, starting its evaluation if it was not already.
+         */
+        boolean isPermittedOnClick(T t) {
+            if (!isAsync() || !holdsSessionLock()) {
+                return isVisibleFor(t) && isEnabledFor(t);
+            }
+            if (!appliesTo(t)) {
+                return false;
+            }
+            var asyncState = asyncStateFor(t);
+            return asyncState.complete
+                    && ((configuration.asyncVisibleProvider != null) ? asyncState.visible : testVisible(t))
+                    && ((configuration.asyncEnabledProvider != null) ? asyncState.enabled : testEnabled(t));
+        }
+
+        private void refreshAsyncStateFor(T t) {
+            if (asyncStates == null) {
+                return;
+            }
+            var id = getDataProvider().getId(t);
+            var asyncState = asyncStates.get(id);
+            if (asyncState != null && asyncState.delivering) {
+                asyncState.delivering = false;
+            }
+            else {
+                asyncStates.remove(id);
+            }
+        }
+
+        private void discardAsyncStateFor(T t) {
+            if (asyncStates != null) {
+                asyncStates.remove(getDataProvider().getId(t));
+            }
+        }
+
+        private void discardAsyncStates() {
+            if (asyncStates != null) {
+                asyncStates.clear();
+            }
+        }
+
+        ActionState evaluateStateFor(T t) {
+            if (!appliesTo(t)) {
+                return INAPPLICABLE_ACTION_STATE;
+            }
+            return new ActionState(iconNameFor(t), classNameFor(t), ariaLabelFor(t), tooltipFor(t),
+                    testVisible(t), testEnabled(t));
+        }
+
+        private ActionState precomputedStateFor(T t) {
+            return (precomputedStates != null) ? precomputedStates.get(getDataProvider().getId(t)) : null;
+        }
+
+        private void storePrecomputedState(T t, ActionState actionState) {
+            if (precomputedStates == null) {
+                precomputedStates = new HashMap<>();
+            }
+            precomputedStates.put(getDataProvider().getId(t), actionState);
+        }
+
+        private void discardPrecomputedStateFor(T t) {
+            if (precomputedStates != null) {
+                precomputedStates.remove(getDataProvider().getId(t));
+            }
+        }
+
+        long shallowSize() {
+            return MemoryEstimates.ACTION;
+        }
+
+        long estimateRetainedSize(Set<String> counted) {
+            // the action itself and its configuration
+            var size = shallowSize() + configuration.estimateRetainedSize(counted);
+            if (asyncStates != null) {
+                size += MemoryEstimates.hashMap(asyncStates.size())
+                        + asyncStates.size() * MemoryEstimates.object(4);
+            }
+            if (precomputedStates != null) {
+                size += MemoryEstimates.hashMap(precomputedStates.size());
+                for (var actionState : precomputedStates.values()) {
+                    size += ActionGrid.estimateRetainedSize(actionState, counted);
+                }
+            }
+            return size;
+        }
+
+        private void discardPrecomputedStates() {
+            if (precomputedStates != null) {
+                precomputedStates.clear();
+            }
+        }
+
+        /**
+         * Release the asynchronous and precomputed states, rather than only clearing them,
+         * so that their tables are not retained either.
+         */
+        private void releaseStates() {
+            asyncStates = null;
+            precomputedStates = null;
+        }
+
+        /**
+         * Execute the click action for the given item, but only if visible and enabled.
+         * <p>
+         * This method checks the visibility and enablement of the action for the specified
+         * item using {@link #isVisibleFor(Object)} and {@link #isEnabledFor(Object)}. If either
+         * condition fails, the method returns without action.
+         * While the session is locked, asynchronous results are not awaited:
+         * a click on an item whose state is still pending is rejected. Otherwise, it invokes the configured
+         * {@code clickHandlers}. This defensive check prevents execution when the UI state might
+         * have been tampered with (e.g., via browser manipulation).
          *
-         * @param classNameProvider the function to compute the class name, or {@code null} for empty
+         * @param t the item to process on click
+         */
+        public void onClickFor(T t) {
+            var event = new ActionGridEvents.Click();
+            var outcome = ActionAuditRecord.Outcome.REJECTED;
+            var start = System.nanoTime();
+            event.begin();
+            try {
+                // defensively check visible & enabled state as browser state can be tampered with
+                if (!isPermittedOnClick(t)) {
+                    return;
+                }
+                configuration.clickHandlers.forEach(clickHandler -> clickHandler.accept(t));
+                outcome = ActionAuditRecord.Outcome.HANDLED;
+            }
+            catch (RuntimeException e) {
+                outcome = ActionAuditRecord.Outcome.FAILED;
+                metrics.clickHandlerFailed(configuration.key, e);
+                throw e;
+            }
+            finally {
+                var durationNanos = System.nanoTime() - start;
+                metrics.clickHandled(configuration.key, durationNanos);
+                audit(configuration.key, t, outcome, durationNanos);
+                event.end();
+                if (event.shouldCommit()) {
+                    event.actionKey = configuration.key;
+                    event.handlerCount = configuration.clickHandlers.size();
+                    event.outcome = outcome.name();
+                    event.commit();
+                }
+            }
+        }
+
+        /**
+         * Add a consumer for handling click events on this action.
+         *
+         * @param clickHandler a consumer to handle clicks; non-null
          * @return this action, for method chaining
          */
-        public Action setClassName(SerializableFunction<T, String> classNameProvider) {
-            this.classNameProvider = Objects.requireNonNullElseGet(classNameProvider, () -> t -> "");
-            refreshActionColumn();
+        public Action addClickHandler(SerializableConsumer<T> clickHandler) {
+            configuration.addClickHandler(clickHandler);
             return this;
         }
 
         /**
-         * Sets the CSS class name for this action.
-         * This method assigns a specific class name to the action, replacing any existing class name configuration.
-         * To provide multiple class names, separate them with spaces.
-         * Note that this may override the default styles set for enabling/disabling.
+         * Execute the bulk click action for the grid's selected items.
          *
-         * @param className the class name to set for this action
-         * @return this action, allowing method chaining
+         * @see #onBulkClickFor(Set)
          */
-        public Action setClassName(String className) {
-            return setClassName(t -> className);
+        public void onBulkClick() {
+            onBulkClickFor(getSelectedItems());
         }
 
         /**
-         * Return the aria-label text for the given item.
+         * Execute the bulk click action for the given items, but only for those the action is visible and enabled for.
          * <p>
-         * The aria-label is determined by the configured {@code ariaLabelProvider},
-         * which defaults to an empty string if not set.
+         * The items are checked in a single pass, with the {@linkplain #setBulkFilter(SerializableFunction) bulk filter}
+         * if set, otherwise with {@link #isVisibleFor(Object)} and {@link #isEnabledFor(Object)},
+         * starting all asynchronous evaluations before awaiting any of them.
+         * As for a single click, asynchronous results are not awaited while the session is locked:
+         * only the items whose state has been resolved are then permitted.
+         * Each {@code bulkClickHandler} is then invoked once with the permitted items,
+         * unless none are permitted.
          *
-         * @param t the item to evaluate
-         * @return the aria-label text for the item
+         * @param items the items to process; non-null
          */
-        public String ariaLabelFor(T t) {
-            return ariaLabelProvider.apply(t);
+        public void onBulkClickFor(Set<T> items) {
+            Objects.requireNonNull(items, "items cannot be null.");
+            var event = new ActionGridEvents.Click();
+            var outcome = ActionAuditRecord.Outcome.REJECTED;
+            var start = System.nanoTime();
+            var permittedItems = Set.<T>of();
+            event.begin();
+            try {
+                // defensively check visible & enabled state as the selection can be tampered with
+                permittedItems = permittedItems(items);
+                if (permittedItems.isEmpty()) {
+                    return;
+                }
+                var handledItems = permittedItems;
+                configuration.bulkClickHandlers.forEach(bulkClickHandler -> bulkClickHandler.accept(handledItems));
+                outcome = ActionAuditRecord.Outcome.HANDLED;
+            }
+            catch (RuntimeException e) {
+                outcome = ActionAuditRecord.Outcome.FAILED;
+                metrics.clickHandlerFailed(configuration.key, e);
+                throw e;
+            }
+            finally {
+                var durationNanos = System.nanoTime() - start;
+                metrics.clickHandled(configuration.key, durationNanos);
+                for (var t : items) {
+                    audit(configuration.key, t, permittedItems.contains(t) ? outcome : ActionAuditRecord.Outcome.REJECTED,
+                            durationNanos);
+                }
+                event.end();
+                if (event.shouldCommit()) {
+                    event.actionKey = configuration.key;
+                    event.handlerCount = configuration.bulkClickHandlers.size();
+                    event.outcome = outcome.name();
+                    event.commit();
+                }
+            }
+        }
+
+        private Set<T> permittedItems(Set<T> items) {
+            if (configuration.rowType != null) {
+                // neither the filter nor the providers see the items of other row types
+                items = items.stream()
+                        .filter(this::appliesTo)
+                        .collect(Collectors.toCollection(LinkedHashSet::new));
+            }
+            if (configuration.bulkFilter != null) {
+                // only ever the given items, whatever the filter returns
+                var filteredItems = Objects.requireNonNullElse(
+                        configuration.bulkFilter.apply(Collections.unmodifiableSet(items)), Set.<T>of());
+                return items.stream()
+                        .filter(filteredItems::contains)
+                        .collect(Collectors.collectingAndThen(Collectors.toCollection(LinkedHashSet::new),
+                                Collections::unmodifiableSet));
+            }
+            if (isAsync() && holdsSessionLock()) {
+                // awaiting would block the whole session, so the items still pending are rejected
+                return items.stream()
+                        .filter(this::isPermittedOnClick)
+                        .collect(Collectors.collectingAndThen(Collectors.toCollection(LinkedHashSet::new),
+                                Collections::unmodifiableSet));
+            }
+            var itemList = List.copyOf(items);
+            var visible = itemList.stream()
+                    .map(t -> (configuration.asyncVisibleProvider != null)
+                            ? withTimeout(configuration.asyncVisibleProvider.apply(t))
+                            : CompletableFuture.completedFuture(testVisible(t)))
+                    .toList();
+            var enabled = itemList.stream()
+                    .map(t -> (configuration.asyncEnabledProvider != null)
+                            ? withTimeout(configuration.asyncEnabledProvider.apply(t))
+                            : CompletableFuture.completedFuture(testEnabled(t)))
+                    .toList();
+            var permittedItems = new LinkedHashSet<T>();
+            for (int i = 0; i < itemList.size(); i++) {
+                if (visible.get(i).join() && enabled.get(i).join()) {
+                    permittedItems.add(itemList.get(i));
+                }
+            }
+            return Collections.unmodifiableSet(permittedItems);
         }
 
         /**
-         * Set the provider for determining the ariaLabel text of this action.
-         * <p>
-         * If the provided {@code ariaLabelProvider} is null, a default provider returning
-         * an empty string is used.
+         * Apply this action to all the items matching the grid's current filter, in chunks, off the request thread.
          *
-         * @param ariaLabelProvider the function to compute the ariaLabel, or {@code null} for empty
-         * @return this action, for method chaining
+         * @param chunkSize the maximum number of items fetched and handled at a time; positive
+         * @param chunkHandler a consumer to handle the permitted items of each chunk; non-null
+         * @return the execution, to follow its progress or cancel it
+         * @see #applyToAll(int, SerializableConsumer, SerializableConsumer, Executor)
          */
-        public Action setAccessibleName(SerializableFunction<T, String> ariaLabelProvider) {
-            this.ariaLabelProvider = Objects.requireNonNullElseGet(ariaLabelProvider, () -> t -> "");
-            refreshActionColumn();
-            return this;
+        public ActionExecution applyToAll(int chunkSize, SerializableConsumer<List<T>> chunkHandler) {
+            return applyToAll(chunkSize, chunkHandler, null, null);
         }
 
         /**
-         * Sets a static aria-label text for this action.
-         * This method assigns a specific aria-label to the action, replacing any existing aria-label configuration.
+         * Apply this action to all the items matching the grid's current filter, in chunks, off the request thread.
          *
-         * @param ariaLabel the aria-label text to set for this action
-         * @return this action, allowing method chaining
+         * @param chunkSize the maximum number of items fetched and handled at a time; positive
+         * @param chunkHandler a consumer to handle the permitted items of each chunk; non-null
+         * @param progressListener a consumer to follow the progress of the execution, or {@code null} for none
+         * @return the execution, to follow its progress or cancel it
+         * @see #applyToAll(int, SerializableConsumer, SerializableConsumer, Executor)
          */
-        public Action setAccessibleName(String ariaLabel) {
-            return setAccessibleName(t -> ariaLabel);
+        public ActionExecution applyToAll(int chunkSize, SerializableConsumer<List<T>> chunkHandler,
+                                          SerializableConsumer<ActionExecution> progressListener) {
+            return applyToAll(chunkSize, chunkHandler, progressListener, null);
         }
 
         /**
-         * Return the tooltip text for the given item.
+         * Apply this action to all the items matching the grid's current filter, in chunks, off the request thread.
          * <p>
-         * The tooltip is determined by the configured {@code tooltipProvider},
-         * which defaults to an empty string if not set.
+         * The items are fetched from the grid's data provider one chunk at a time,
+         * with the grid's filter and sort order as they are when this method is called,
+         * so that no more than a chunk is held in memory, however many items match.
+         * This method must therefore be called with the session locked, e.g., from a click listener. The items of each chunk are checked as for a
+         * {@linkplain #onBulkClickFor(Set) bulk click}, and the permitted ones are passed to the chunk handler.
+         * <p>
+         * The chunks are fetched, checked and handled one after the other on the given executor,
+         * or by default on a shared pool of daemon threads dedicated to these executions,
+         * which runs one execution per available processor at a time and queues a bounded number more,
+         * so that they neither hold up nor are held up by the evaluation of rows, with the current {@link UI} and {@link com.vaadin.flow.server.VaadinSession} available
+         * but without holding the session lock.
+         * The data provider, the action's predicates and the chunk handler must therefore be thread-safe
+         * and must not modify components.
+         * The progress listener, on the other hand, is called with the session locked after each chunk
+         * and once more when the execution is over, e.g., to update a progress bar;
+         * enable server push to have the progress shown as it happens.
+         * <p>
+         * As chunks are fetched by offset, the chunk handler must not change which items match the filter,
+         * or items would be skipped or handled twice.
+         * If a chunk handler throws, the execution stops and completes exceptionally;
+         * so does an execution the executor rejects, e.g., because the default pool's queue is full.
          *
-         * @param t the item to evaluate
-         * @return the tooltip text for the item
+         * @param chunkSize the maximum number of items fetched and handled at a time; positive
+         * @param chunkHandler a consumer to handle the permitted items of each chunk; non-null
+         * @param progressListener a consumer to follow the progress of the execution, or {@code null} for none
+         * @param executor the executor to run the execution on, or {@code null} for the shared default
+         * @return the execution, to follow its progress or cancel it
          */
-        public String tooltipFor(T t) {
-            return tooltipProvider.apply(t);
+        public ActionExecution applyToAll(int chunkSize, SerializableConsumer<List<T>> chunkHandler,
+                                          SerializableConsumer<ActionExecution> progressListener, Executor executor) {
+            if (chunkSize < 1) {
+                throw new IllegalArgumentException("chunkSize must be positive.");
+            }
+            Objects.requireNonNull(chunkHandler, "chunkHandler cannot be null.");
+            var execution = new ActionExecution();
+            var ui = getUI().orElse(null);
+            // the data communicator is only read here, with the session locked
+            var itemQuery = itemQuery();
+            Runnable progressReporter = () -> {
+                if (progressListener == null) {
+                    return;
+                }
+                if (ui != null) {
+                    queueAsyncCompletion(ui, () -> progressListener.accept(execution));
+                }
+                else {
+                    progressListener.accept(execution);
+                }
+            };
+            try {
+                supplyWithCurrentInstances(() -> {
+                    applyInChunks(execution, itemQuery, chunkSize, chunkHandler, progressReporter);
+                    return null;
+                }, Objects.requireNonNullElseGet(executor, ActionGrid::defaultExecutionPool));
+            }
+            catch (RejectedExecutionException e) {
+                // the executor is saturated: the execution fails instead of waiting for room
+                metrics.clickHandlerFailed(configuration.key, e);
+                execution.fail(e);
+                progressReporter.run();
+            }
+            return execution;
+        }
+
+        private void applyInChunks(ActionExecution execution, ItemQuery<T> itemQuery, int chunkSize,
+                                   SerializableConsumer<List<T>> chunkHandler, Runnable progressReporter) {
+            try {
+                var offset = 0;
+                while (execution.isRunning()) {
+                    var chunk = itemQuery.fetch(offset, chunkSize);
+                    offset += chunk.size();
+                    var permittedItems = List.copyOf(permittedItems(new LinkedHashSet<>(chunk)));
+                    if (!permittedItems.isEmpty()) {
+                        chunkHandler.accept(permittedItems);
+                    }
+                    execution.chunkProcessed(chunk.size(), permittedItems.size());
+                    if (chunk.size() < chunkSize) {
+                        execution.complete();
+                    }
+                    else {
+                        progressReporter.run();
+                    }
+                }
+            }
+            catch (RuntimeException e) {
+                metrics.clickHandlerFailed(configuration.key, e);
+                execution.fail(e);
+            }
+            progressReporter.run();
         }
 
         /**
-         * Set the provider for determining the tooltip text of this action.
-         * <p>
-         * If the provided {@code tooltipProvider} is null, a default provider returning
-         * an empty string is used.
+         * Add a consumer for handling bulk click events on this action,
+         * invoked once with all the permitted items of a bulk click.
          *
-         * @param tooltipProvider the function to compute the tooltip, or {@code null} for empty
+         * @param bulkClickHandler a consumer to handle bulk clicks; non-null
          * @return this action, for method chaining
+         * @see #onBulkClickFor(Set)
          */
-        public Action setTooltip(SerializableFunction<T, String> tooltipProvider) {
-            this.tooltipProvider = Objects.requireNonNullElseGet(tooltipProvider, () -> t -> "");
-            refreshActionColumn();
+        public Action addBulkClickHandler(SerializableConsumer<Set<T>> bulkClickHandler) {
+            configuration.addBulkClickHandler(bulkClickHandler);
             return this;
         }
 
         /**
-         * Sets a static tooltip text for this action.
-         * This method assigns a specific tooltip to the action, replacing any existing tooltip configuration.
+         * Set the filter returning the items of a bulk click that this action is visible and enabled for.
+         * <p>
+         * Use this to check all the items with a single backend call instead of one call per item.
+         * The filter must apply the same rules as the visibility and enablement of this action;
+         * items it returns that are not part of the bulk click are ignored.
+         * <p>
+         * If the provided {@code bulkFilter} is null, each item is checked
+         * with {@link #isVisibleFor(Object)} and {@link #isEnabledFor(Object)}.
          *
-         * @param tooltip the tooltip text to set for this action
-         * @return this action, allowing method chaining
+         * @param bulkFilter the function returning the permitted items, or {@code null} to check each item
+         * @return this action, for method chaining
          */
-        public Action setTooltip(String tooltip) {
-            return setTooltip(t -> tooltip);
+        public Action setBulkFilter(SerializableFunction<Set<T>, Set<T>> bulkFilter) {
+            configuration.bulkFilter = bulkFilter;
+            return this;
         }
 
         /**
-         * Return if this action is visible for the given item.
+         * Create a button executing the bulk click action for the grid's selected items,
+         * e.g., to set as the action column's header or to add to a toolbar.
          * <p>
-         * Visibility is evaluated by the configured {@code visiblePredicate},
-         * which defaults to {@code true} if not set.
+         * The button is enabled only while items are selected, and is disabled while the bulk click is handled.
+         *
+         * @param text the text of the button
+         * @return the new button
+         */
+        public Button createBulkClickButton(String text) {
+            var button = new Button(text);
+            button.setDisableOnClick(true);
+            button.addClickListener(clickEvent -> {
+                try {
+                    onBulkClick();
+                }
+                finally {
+                    button.setEnabled(!getSelectedItems().isEmpty());
+                }
+            });
+            button.addAttachListener(attachEvent -> {
+                button.setEnabled(!getSelectedItems().isEmpty());
+                var registration = addSelectionListener(selectionEvent ->
+                        button.setEnabled(!selectionEvent.getAllSelectedItems().isEmpty()));
+                button.addDetachListener(detachEvent -> {
+                    registration.remove();
+                    detachEvent.unregisterListener();
+                });
+            });
+            return button;
+        }
+    }
+
+
+    /**
+     * An action switching each item between two states, such as favorite or not,
+     * whose icon, class name, aria-label and tooltip are both part of the action column's template.
+     * <p>
+     * Only whether the action is on is sent for each item.
+     * A click flips the state in the browser at once, without waiting for the server,
+     * and the toggles are sent to the server in batches, at most one batch per {@linkplain #setBatchDelay(Duration) batch delay}.
+     * The server calls the toggle handlers for each toggle, unless the action is not visible or not enabled for the item,
+     * and rolls the browser back for the items that did not end up in the state shown.
+     * <p>
+     * The click handlers are not used, and the icon, class name, aria-label and tooltip are set
+     * for both states with {@link #setIcons(Icon, Icon)}, {@link #setClassNames(String, String)},
+     * {@link #setAccessibleNames(String, String)} and {@link #setTooltips(String, String)}.
+     */
+    public class ToggleAction extends Action {
+        private final SerializablePredicate<T> onPredicate;
+        private String onIconName;
+        private String offIconName;
+        private String onClassName;
+        private String offClassName;
+        private String onAriaLabel;
+        private String offAriaLabel;
+        private String onTooltip;
+        private String offTooltip;
+        private Duration batchDelay;
+        private final List<SerializableBiConsumer<T, Boolean>> toggleHandlers;
+
+        ToggleAction(String key, SerializablePredicate<T> onPredicate) {
+            super(key);
+            this.onPredicate = onPredicate;
+            onIconName = "";
+            offIconName = "";
+            onClassName = "";
+            offClassName = "";
+            onAriaLabel = "";
+            offAriaLabel = "";
+            onTooltip = "";
+            offTooltip = "";
+            batchDelay = DEFAULT_TOGGLE_BATCH_DELAY;
+            toggleHandlers = new ArrayList<>();
+        }
+
+        /**
+         * Return whether this action is on for the given item.
          *
          * @param t the item to evaluate
-         * @return {@code true} if the action is visible, {@code false} otherwise
+         * @return {@code true} if on, {@code false} if off
          */
-        public boolean isVisibleFor(T t) {
-            return visiblePredicate.test(t);
+        public boolean isOnFor(T t) {
+            return onPredicate.test(t);
         }
 
         /**
-         * Set the predicate for determining the visibility of this action.
-         * <p>
-         * If the provided {@code visiblePredicate} is null, a default predicate returning
-         * {@code true} is used.
+         * Set the icons of the on and off states.
          *
-         * @param visiblePredicate the predicate to evaluate visibility, or {@code null} for always visible
+         * @param onIcon the icon while on, or {@code null} for none
+         * @param offIcon the icon while off, or {@code null} for none
          * @return this action, for method chaining
          */
-        public Action setVisible(SerializablePredicate<T> visiblePredicate) {
-            this.visiblePredicate = Objects.requireNonNullElseGet(visiblePredicate, () -> t -> true);
-            refreshActionColumn();
+        public ToggleAction setIcons(Icon onIcon, Icon offIcon) {
+            onIconName = iconNameOf(onIcon);
+            offIconName = iconNameOf(offIcon);
+            setIcon(t -> isOnFor(t) ? onIcon : offIcon);
             return this;
         }
 
         /**
-         * Sets the visibility for this action.
-         * This method assigns a specific visibility to the action, replacing any existing visibility configuration.
+         * Set the CSS class names of the on and off states.
          *
-         * @param visible the visibility to set for this action
-         * @return this action, allowing method chaining
+         * @param onClassName the class name while on, or {@code null} for none
+         * @param offClassName the class name while off, or {@code null} for none
+         * @return this action, for method chaining
          */
-        public Action setVisible(boolean visible) {
-            return setVisible(t -> visible);
+        public ToggleAction setClassNames(String onClassName, String offClassName) {
+            this.onClassName = Objects.requireNonNullElse(onClassName, "");
+            this.offClassName = Objects.requireNonNullElse(offClassName, "");
+            setClassName(t -> isOnFor(t) ? this.onClassName : this.offClassName);
+            return this;
         }
 
         /**
-         * Determine if this action is enabled for the given item.
-         * <p>
-         * Enablement is evaluated by the configured {@code enabledPredicate},
-         * which defaults to {@code true} if not set.
+         * Set the aria-labels of the on and off states.
          *
-         * @param t the item to evaluate
-         * @return {@code true} if the action is enabled, {@code false} otherwise
+         * @param onAriaLabel the aria-label while on, or {@code null} for none
+         * @param offAriaLabel the aria-label while off, or {@code null} for none
+         * @return this action, for method chaining
          */
-        public boolean isEnabledFor(T t) {
-            return enabledPredicate.test(t);
+        public ToggleAction setAccessibleNames(String onAriaLabel, String offAriaLabel) {
+            this.onAriaLabel = Objects.requireNonNullElse(onAriaLabel, "");
+            this.offAriaLabel = Objects.requireNonNullElse(offAriaLabel, "");
+            setAccessibleName(t -> isOnFor(t) ? this.onAriaLabel : this.offAriaLabel);
+            return this;
         }
 
         /**
-         * Set the predicate for determining the enablement of this action.
-         * <p>
-         * If the provided {@code enabledPredicate} is null, a default predicate returning
-         * {@code true} is used.
+         * Set the tooltips of the on and off states.
          *
-         * @param enabledPredicate the predicate to evaluate enablement, or {@code null} for always enabled
+         * @param onTooltip the tooltip while on, or {@code null} for none
+         * @param offTooltip the tooltip while off, or {@code null} for none
          * @return this action, for method chaining
          */
-        public Action setEnabled(SerializablePredicate<T> enabledPredicate) {
-            this.enabledPredicate = Objects.requireNonNullElseGet(enabledPredicate, () -> t -> true);
-            refreshActionColumn();
+        public ToggleAction setTooltips(String onTooltip, String offTooltip) {
+            this.onTooltip = Objects.requireNonNullElse(onTooltip, "");
+            this.offTooltip = Objects.requireNonNullElse(offTooltip, "");
+            setTooltip(t -> isOnFor(t) ? this.onTooltip : this.offTooltip);
             return this;
         }
 
         /**
-         * Sets the enablement for this action.
-         * This method assigns a specific enablement to the action, replacing any existing enablement configuration.
+         * Return how long the browser collects toggles before sending them to the server.
          *
-         * @param enabled the enablement to set for this action
-         * @return this action, allowing method chaining
+         * @return the batch delay
          */
-        public Action setEnabled(boolean enabled) {
-            return setEnabled(t -> enabled);
+        public Duration getBatchDelay() {
+            return batchDelay;
         }
 
         /**
-         * Execute the click action for the given item, but only if visible and enabled.
+         * Set how long the browser collects toggles before sending them to the server.
          * <p>
-         * This method checks the visibility and enablement of the action for the specified
-         * item using {@link #isVisibleFor(Object)} and {@link #isEnabledFor(Object)}. If either
-         * condition fails, the method returns without action. Otherwise, it invokes the configured
-         * {@code clickHandlers}. This defensive check prevents execution when the UI state might
-         * have been tampered with (e.g., via browser manipulation).
+         * Longer delays send fewer requests for bursts of toggles, at the cost of a later rollback of rejected toggles.
          *
-         * @param t the item to process on click
+         * @param batchDelay the batch delay, not null nor negative
+         * @return this action, for method chaining
          */
-        public void onClickFor(T t) {
-            // defensively check visible & enabled state as browser state can be tampered with
-            if (!isVisibleFor(t) || !isEnabledFor(t)) {
-                return;
+        public ToggleAction setBatchDelay(Duration batchDelay) {
+            Objects.requireNonNull(batchDelay, "batchDelay cannot be null.");
+            if (batchDelay.isNegative()) {
+                throw new IllegalArgumentException("batchDelay cannot be negative.");
             }
-            clickHandlers.forEach(clickHandler -> clickHandler.accept(t));
+            this.batchDelay = batchDelay;
+            refreshActionColumn();
+            return this;
         }
 
         /**
-         * Add a consumer for handling click events on this action.
+         * Add a handler for the toggles of this action, called with the item and whether it is to be on.
          *
-         * @param clickHandler a consumer to handle clicks; non-null
+         * @param toggleHandler a consumer to handle toggles; non-null
          * @return this action, for method chaining
          */
-        public Action addClickHandler(SerializableConsumer<T> clickHandler) {
-            Objects.requireNonNull(clickHandler, "clickHandler cannot be null.");
-            this.clickHandlers.add(clickHandler);
+        public ToggleAction addToggleHandler(SerializableBiConsumer<T, Boolean> toggleHandler) {
+            Objects.requireNonNull(toggleHandler, "toggleHandler cannot be null.");
+            toggleHandlers.add(toggleHandler);
             return this;
         }
+
+        /**
+         * Toggle the given item, as a click in the browser does.
+         *
+         * @param t the item to toggle
+         */
+        @Override
+        public void onClickFor(T t) {
+            onToggleFor(t, !isOnFor(t));
+        }
+
+        /**
+         * Execute the toggle handlers for the given item, but only if visible and enabled
+         * and the item is not in the requested state already, e.g., when toggled from another session.
+         * <p>
+         * Whatever the outcome, unless the item ends up in the requested state, it is refreshed,
+         * rolling back the state the browser shows.
+         *
+         * @param t the item to toggle
+         * @param on whether the item is to be on
+         * @return {@code true} if the toggle handlers were executed, {@code false} otherwise
+         */
+        public boolean onToggleFor(T t, boolean on) {
+            var event = new ActionGridEvents.Click();
+            var outcome = ActionAuditRecord.Outcome.REJECTED;
+            var start = System.nanoTime();
+            event.begin();
+            try {
+                // defensively check visible & enabled state as browser state can be tampered with
+                if (!isPermittedOnClick(t) || isOnFor(t) == on) {
+                    return false;
+                }
+                toggleHandlers.forEach(toggleHandler -> toggleHandler.accept(t, on));
+                outcome = ActionAuditRecord.Outcome.HANDLED;
+                return true;
+            }
+            catch (RuntimeException e) {
+                outcome = ActionAuditRecord.Outcome.FAILED;
+                metrics.clickHandlerFailed(getKey(), e);
+                throw e;
+            }
+            finally {
+                var durationNanos = System.nanoTime() - start;
+                metrics.clickHandled(getKey(), durationNanos);
+                audit(getKey(), t, outcome, durationNanos);
+                event.end();
+                if (event.shouldCommit()) {
+                    event.actionKey = getKey();
+                    event.handlerCount = toggleHandlers.size();
+                    event.outcome = outcome.name();
+                    event.commit();
+                }
+                if (isOnFor(t) != on) {
+                    getDataProvider().refreshItem(t);
+                }
+            }
+        }
+
+        @Override
+        long shallowSize() {
+            return MemoryEstimates.TOGGLE_ACTION;
+        }
+
+        @Override
+        long estimateRetainedSize(Set<String> counted) {
+            // the predicate, the state names and the list of toggle handlers
+            return super.estimateRetainedSize(counted)
+                    + MemoryEstimates.LAMBDA
+                    + Stream.of(onIconName, offIconName, onClassName, offClassName,
+                                    onAriaLabel, offAriaLabel, onTooltip, offTooltip)
+                            .mapToLong(name -> MemoryEstimates.string(name, counted))
+                            .sum()
+                    + MemoryEstimates.object(2 * Integer.BYTES + MemoryEstimates.REFERENCE)
+                    + (toggleHandlers.isEmpty() ? 0 : MemoryEstimates.array(Math.max(10, toggleHandlers.size()), MemoryEstimates.REFERENCE))
+                    + toggleHandlers.size() * MemoryEstimates.LAMBDA;
+        }
     }
 }
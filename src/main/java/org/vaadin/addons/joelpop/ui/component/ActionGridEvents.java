@@ -0,0 +1,80 @@
+package org.vaadin.addons.joelpop.ui.component;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * The JDK Flight Recorder events of the {@link ActionGrid} hot paths.
+ * <p>
+ * Events are only committed while a recording enables them,
+ * so they cost next to nothing otherwise.
+ */
+final class ActionGridEvents {
+    private static final String CATEGORY = "ActionGrid";
+
+    private ActionGridEvents() {
+    }
+
+    @Name("ActionGrid.RendererRebuild")
+    @Label("Renderer Rebuild")
+    @Description("Rebuild of the action column's renderer")
+    @Category({ "Vaadin", CATEGORY })
+    @StackTrace(false)
+    static final class RendererRebuild extends Event {
+        @Label("Action Count")
+        int actionCount;
+
+        @Label("Template Length")
+        @Description("Length of the action column's Lit template, in characters")
+        int templateLength;
+    }
+
+    @Name("ActionGrid.ProviderEvaluation")
+    @Label("Provider Evaluation")
+    @Description("Evaluation of an action's provider for a single item, recorded above the threshold")
+    @Category({ "Vaadin", CATEGORY })
+    @Threshold("1 ms")
+    @StackTrace(false)
+    static final class ProviderEvaluation extends Event {
+        @Label("Action Key")
+        String actionKey;
+
+        @Label("Property")
+        String property;
+    }
+
+    @Name("ActionGrid.Click")
+    @Label("Click")
+    @Description("Handling of a click on an action")
+    @Category({ "Vaadin", CATEGORY })
+    @StackTrace(false)
+    static final class Click extends Event {
+        @Label("Action Key")
+        String actionKey;
+
+        @Label("Handler Count")
+        int handlerCount;
+
+        @Label("Outcome")
+        @Description("HANDLED, REJECTED when the action is invisible or disabled for the item, or FAILED")
+        String outcome;
+    }
+
+    @Name("ActionGrid.ColumnReorder")
+    @Label("Column Reorder")
+    @Description("Reordering of the grid's columns around the action column")
+    @Category({ "Vaadin", CATEGORY })
+    @StackTrace(false)
+    static final class ColumnReorder extends Event {
+        @Label("Column Count")
+        int columnCount;
+
+        @Label("Action Column Position")
+        String actionColumnPosition;
+    }
+}
@@ -0,0 +1,98 @@
+package org.vaadin.addons.joelpop.ui.component;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Receives measurements of where an {@link ActionGrid} spends its time.
+ * <p>
+ * All methods do nothing by default, so implementations only override what they record,
+ * e.g., to forward to a metrics library. {@link InMemoryActionGridMetrics} keeps them in memory.
+ * <p>
+ * Provider evaluations may be reported from the
+ * {@linkplain ActionGrid#setParallelEvaluationExecutor(java.util.concurrent.Executor) evaluation executor's} threads,
+ * so implementations must be thread-safe.
+ *
+ * @see ActionGrid#setMetrics(ActionGridMetrics)
+ */
+public interface ActionGridMetrics extends Serializable {
+
+    /**
+     * Metrics that record nothing, used when none are set.
+     */
+    ActionGridMetrics NO_OP = new ActionGridMetrics() {
+        @Serial
+        private Object readResolve() {
+            // stay recognizable as no metrics after deserialization
+            return NO_OP;
+        }
+    };
+
+    /**
+     * Report the evaluation of an action's provider for a single item.
+     * Asynchronous providers are not reported.
+     *
+     * @param actionKey the key of the action
+     * @param property the property the provider computes
+     * @param durationNanos the duration of the evaluation, in nanoseconds
+     */
+    default void providerEvaluated(String actionKey, ActionProperty property, long durationNanos) {
+    }
+
+    /**
+     * Report the handling of a click on an action,
+     * including checking its visibility and enablement and running its click handlers.
+     *
+     * @param actionKey the key of the action
+     * @param durationNanos the duration of the click handling, in nanoseconds
+     */
+    default void clickHandled(String actionKey, long durationNanos) {
+    }
+
+    /**
+     * Report a click handler throwing an exception.
+     * The exception is rethrown after reporting.
+     *
+     * @param actionKey the key of the action
+     * @param exception the exception thrown
+     */
+    default void clickHandlerFailed(String actionKey, RuntimeException exception) {
+    }
+
+    /**
+     * Report a click traced from the browser until its response was applied.
+     *
+     * @param actionKey the key of the action
+     * @param queueNanos the time from the click in the browser until its handling started on the server,
+     *                   in nanoseconds; only meaningful when the browser's and server's clocks are synchronized
+     * @param handlerNanos the duration of the click handling, in nanoseconds
+     * @param endToEndNanos the time from the click until its response was applied in the browser, in nanoseconds
+     * @see ActionGrid#setClickTracingEnabled(boolean)
+     */
+    default void clickTraced(String actionKey, long queueNanos, long handlerNanos, long endToEndNanos) {
+    }
+
+    /**
+     * Report a rebuild of the action column's renderer.
+     */
+    default void actionColumnRefreshed() {
+    }
+
+    /**
+     * Report the number of rows generated for the client in a single round-trip.
+     *
+     * @param rowCount the number of rows generated
+     */
+    default void rowsGenerated(int rowCount) {
+    }
+
+    /**
+     * Report a failure to fetch or evaluate the rows prefetched in the background.
+     * The rows are evaluated as usual once fetched.
+     *
+     * @param exception the exception thrown
+     * @see ActionGrid#setPrefetchPages(int)
+     */
+    default void prefetchFailed(Throwable exception) {
+    }
+}
@@ -0,0 +1,38 @@
+package org.vaadin.addons.joelpop.ui.component;
+
+/**
+ * The per-item properties of an {@link ActionGrid} action, as sent to the client.
+ */
+public enum ActionProperty {
+    ICON_NAME("IconName"),
+    CLASS_NAME("ClassName"),
+    ARIA_LABEL("AriaLabel"),
+    TOOLTIP("Tooltip"),
+    VISIBLE("Visible"),
+    ENABLED("Enabled");
+
+    private final String suffix;
+
+    ActionProperty(String suffix) {
+        this.suffix = suffix;
+    }
+
+    /**
+     * Return the suffix appended to the action's key to name this property in the action column's template.
+     *
+     * @return the property name's suffix
+     */
+    public String getSuffix() {
+        return suffix;
+    }
+
+    /**
+     * Return the name of this property for the given action in the action column's template.
+     *
+     * @param actionKey the key of the action
+     * @return the property's name
+     */
+    public String propertyName(String actionKey) {
+        return actionKey + suffix;
+    }
+}
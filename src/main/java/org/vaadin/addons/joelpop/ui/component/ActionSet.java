@@ -0,0 +1,578 @@
+package org.vaadin.addons.joelpop.ui.component;
+
+import com.vaadin.flow.component.icon.Icon;
+import com.vaadin.flow.function.SerializableConsumer;
+import com.vaadin.flow.function.SerializableFunction;
+import com.vaadin.flow.function.SerializablePredicate;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
+
+/**
+ * An immutable set of actions, built once and shared by any number of {@link ActionGrid}s,
+ * e.g., by every session showing the same grid.
+ * <p>
+ * Actions are configured with the same setters as those added to a grid.
+ * The set holds plain values and providers only, without creating any component,
+ * so it can be built on any thread, e.g., in a static initializer:
+ * <pre>{@code
+ * static final ActionSet<Order> ORDER_ACTIONS = ActionSet.<Order>builder()
+ *         .withAction("edit", action -> action
+ *                 .setIconName("vaadin:edit")
+ *                 .setEnabled(Order::isOpen))
+ *         .withAction("delete", action -> action
+ *                 .setIconName("vaadin:trash"))
+ *         .build();
+ * ...
+ * orderGrid.setActionSet(ORDER_ACTIONS);
+ * }</pre>
+ * Grids using the set share its providers and click handlers,
+ * so the providers and click handlers are called concurrently from all those grids' sessions
+ * and must not keep per-grid state; click handlers needing the grid or view should be added per grid instead.
+ * <p>
+ * A set holds plain actions only; {@link ActionGrid.ToggleAction toggle actions} are added per grid
+ * with {@link ActionGrid#addToggleAction(String, SerializablePredicate)} after setting the set.
+ *
+ * @param <T> the type of the items
+ * @see ActionGrid#setActionSet(ActionSet)
+ */
+public final class ActionSet<T> implements Serializable {
+    private final List<ActionConfiguration<T>> configurations;
+
+    private ActionSet(List<ActionConfiguration<T>> configurations) {
+        this.configurations = List.copyOf(configurations);
+    }
+
+    /**
+     * Start building an action set.
+     *
+     * @param <T> the type of the items
+     * @return a builder for the set
+     */
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Return the keys of the set's actions, in order.
+     *
+     * @return the keys of the actions
+     */
+    public List<String> getActionKeys() {
+        return configurations.stream().map(configuration -> configuration.key).toList();
+    }
+
+    /**
+     * Return the configurations of the set's actions, which are never changed; copy them to configure an action.
+     */
+    List<ActionConfiguration<T>> getConfigurations() {
+        return configurations;
+    }
+
+
+    /**
+     * Builds an {@link ActionSet}. A builder is not thread-safe, and its sets are unaffected by later changes to it.
+     *
+     * @param <T> the type of the items
+     */
+    public static final class Builder<T> {
+        private final Map<String, ActionBuilder<T>> actions = new LinkedHashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Add an action, configured with the setters of an action added to a grid.
+         * <p>
+         * Throws an {@link IllegalArgumentException} if an action with the key already exists
+         * or if the key is {@code null}.
+         *
+         * @param key the unique key to identify the action, not null
+         * @param configurer configures the action, e.g., setting its providers and adding its click handlers
+         * @return this builder, for method chaining
+         */
+        public Builder<T> withAction(String key, Consumer<ActionBuilder<T>> configurer) {
+            return addAction(key, null, configurer);
+        }
+
+        /**
+         * Add an action applying only to the items of a row type, configured with the setters of an action added to a grid.
+         * <p>
+         * Throws an {@link IllegalArgumentException} if an action with the key already exists
+         * or if the key is {@code null}.
+         *
+         * @param key the unique key to identify the action, not null
+         * @param rowType the type of the items the action applies to, not null
+         * @param configurer configures the action, e.g., setting its providers and adding its click handlers
+         * @return this builder, for method chaining
+         * @see ActionGrid#addAction(String, Class)
+         */
+        public Builder<T> withAction(String key, Class<? extends T> rowType, Consumer<ActionBuilder<T>> configurer) {
+            Objects.requireNonNull(rowType, "rowType cannot be null.");
+            return addAction(key, rowType, configurer);
+        }
+
+        private Builder<T> addAction(String key, Class<? extends T> rowType, Consumer<ActionBuilder<T>> configurer) {
+            if (key == null) {
+                throw new IllegalArgumentException("key cannot be null.");
+            }
+            else if (actions.containsKey(key)) {
+                throw new IllegalArgumentException("Action with key \"" + key + "\" already exists.");
+            }
+            Objects.requireNonNull(configurer, "configurer cannot be null.");
+
+            var action = new ActionBuilder<T>(key, rowType);
+            configurer.accept(action);
+            actions.put(key, action);
+            return this;
+        }
+
+        /**
+         * Build the set from the actions added so far.
+         *
+         * @return the action set
+         */
+        public ActionSet<T> build() {
+            return new ActionSet<>(actions.values().stream()
+                    .map(action -> action.configuration.copy())
+                    .toList());
+        }
+    }
+
+    /**
+     * Configures an action of an {@link ActionSet}.
+     * <p>
+     * The setters are those of {@link ActionGrid.Action}, with the same defaults and the same meaning;
+     * icons are kept by name, so that no component is created while building.
+     *
+     * @param <T> the type of the items
+     */
+    public static final class ActionBuilder<T> {
+        private final ActionConfiguration<T> configuration;
+
+        private ActionBuilder(String key, Class<? extends T> rowType) {
+            configuration = new ActionConfiguration<>(key, rowType);
+        }
+
+        /**
+         * Return the key of the action.
+         *
+         * @return the action's key
+         */
+        public String getKey() {
+            return configuration.key;
+        }
+
+        /**
+         * Set the provider creating the icon of the action, of which only the name is kept.
+         *
+         * @param iconProvider the function to create the icon, or {@code null} for none
+         * @return this builder, for method chaining
+         * @see ActionGrid.Action#setIcon(SerializableFunction)
+         */
+        public ActionBuilder<T> setIcon(SerializableFunction<T, Icon> iconProvider) {
+            return setIconName(ActionGrid.iconNameProvider(iconProvider));
+        }
+
+        /**
+         * Set the provider for determining the icon name of the action, e.g., {@code "vaadin:edit"}.
+         *
+         * @param iconNameProvider the function to compute the icon name, or {@code null} for none
+         * @return this builder, for method chaining
+         * @see ActionGrid.Action#setIconName(SerializableFunction)
+         */
+        public ActionBuilder<T> setIconName(SerializableFunction<T, String> iconNameProvider) {
+            configuration.setIconName(iconNameProvider);
+            return this;
+        }
+
+        /**
+         * Set a static icon name for the action, e.g., {@code "vaadin:edit"}.
+         *
+         * @param iconName the icon name to set, or {@code null} for none
+         * @return this builder, for method chaining
+         * @see ActionGrid.Action#setIconName(String)
+         */
+        public ActionBuilder<T> setIconName(String iconName) {
+            var name = Objects.requireNonNullElse(iconName, "");
+            return setIconName(t -> name);
+        }
+
+        /**
+         * Set the provider for determining the CSS class name of the action.
+         *
+         * @param classNameProvider the function to compute the class name, or {@code null} for none
+         * @return this builder, for method chaining
+         * @see ActionGrid.Action#setClassName(SerializableFunction)
+         */
+        public ActionBuilder<T> setClassName(SerializableFunction<T, String> classNameProvider) {
+            configuration.setClassName(classNameProvider);
+            return this;
+        }
+
+        /**
+         * Set a static CSS class name for the action.
+         *
+         * @param className the class name to set
+         * @return this builder, for method chaining
+         * @see ActionGrid.Action#setClassName(String)
+         */
+        public ActionBuilder<T> setClassName(String className) {
+            return setClassName(t -> className);
+        }
+
+        /**
+         * Set the provider for determining the accessible name of the action.
+         *
+         * @param ariaLabelProvider the function to compute the accessible name, or {@code null} for none
+         * @return this builder, for method chaining
+         * @see ActionGrid.Action#setAccessibleName(SerializableFunction)
+         */
+        public ActionBuilder<T> setAccessibleName(SerializableFunction<T, String> ariaLabelProvider) {
+            configuration.setAccessibleName(ariaLabelProvider);
+            return this;
+        }
+
+        /**
+         * Set a static accessible name for the action.
+         *
+         * @param ariaLabel the accessible name to set
+         * @return this builder, for method chaining
+         * @see ActionGrid.Action#setAccessibleName(String)
+         */
+        public ActionBuilder<T> setAccessibleName(String ariaLabel) {
+            return setAccessibleName(t -> ariaLabel);
+        }
+
+        /**
+         * Set the provider for determining the tooltip of the action.
+         *
+         * @param tooltipProvider the function to compute the tooltip, or {@code null} for none
+         * @return this builder, for method chaining
+         * @see ActionGrid.Action#setTooltip(SerializableFunction)
+         */
+        public ActionBuilder<T> setTooltip(SerializableFunction<T, String> tooltipProvider) {
+            configuration.setTooltip(tooltipProvider);
+            return this;
+        }
+
+        /**
+         * Set a static tooltip for the action.
+         *
+         * @param tooltip the tooltip to set
+         * @return this builder, for method chaining
+         * @see ActionGrid.Action#setTooltip(String)
+         */
+        public ActionBuilder<T> setTooltip(String tooltip) {
+            return setTooltip(t -> tooltip);
+        }
+
+        /**
+         * Set the predicate for determining the visibility of the action.
+         *
+         * @param visiblePredicate the predicate to determine visibility, or {@code null} for always visible
+         * @return this builder, for method chaining
+         * @see ActionGrid.Action#setVisible(SerializablePredicate)
+         */
+        public ActionBuilder<T> setVisible(SerializablePredicate<T> visiblePredicate) {
+            configuration.setVisible(visiblePredicate);
+            return this;
+        }
+
+        /**
+         * Set a static visibility for the action.
+         *
+         * @param visible {@code true} to make the action visible, {@code false} to hide it
+         * @return this builder, for method chaining
+         * @see ActionGrid.Action#setVisible(boolean)
+         */
+        public ActionBuilder<T> setVisible(boolean visible) {
+            return setVisible(t -> visible);
+        }
+
+        /**
+         * Set the predicate for determining the enablement of the action.
+         *
+         * @param enabledPredicate the predicate to determine enablement, or {@code null} for always enabled
+         * @return this builder, for method chaining
+         * @see ActionGrid.Action#setEnabled(SerializablePredicate)
+         */
+        public ActionBuilder<T> setEnabled(SerializablePredicate<T> enabledPredicate) {
+            configuration.setEnabled(enabledPredicate);
+            return this;
+        }
+
+        /**
+         * Set a static enablement for the action.
+         *
+         * @param enabled {@code true} to enable the action, {@code false} to disable it
+         * @return this builder, for method chaining
+         * @see ActionGrid.Action#setEnabled(boolean)
+         */
+        public ActionBuilder<T> setEnabled(boolean enabled) {
+            return setEnabled(t -> enabled);
+        }
+
+        /**
+         * Set a CSS class name applied while a row condition holds, evaluated in the browser.
+         *
+         * @param condition the condition, not null
+         * @param className the class name while the condition holds
+         * @return this builder, for method chaining
+         * @see ActionGrid.Action#setClassNameWhen(RowCondition, String)
+         */
+        public ActionBuilder<T> setClassNameWhen(RowCondition<T> condition, String className) {
+            return setClassNameWhen(condition, className, "");
+        }
+
+        /**
+         * Set the CSS class names applied while a row condition holds and otherwise, evaluated in the browser.
+         *
+         * @param condition the condition, not null
+         * @param className the class name while the condition holds
+         * @param otherwiseClassName the class name otherwise
+         * @return this builder, for method chaining
+         * @see ActionGrid.Action#setClassNameWhen(RowCondition, String, String)
+         */
+        public ActionBuilder<T> setClassNameWhen(RowCondition<T> condition, String className, String otherwiseClassName) {
+            configuration.setClassNameWhen(condition, className, otherwiseClassName);
+            return this;
+        }
+
+        /**
+         * Make the action visible only while a row condition holds, evaluated in the browser.
+         *
+         * @param condition the condition, not null
+         * @return this builder, for method chaining
+         * @see ActionGrid.Action#setVisibleWhen(RowCondition)
+         */
+        public ActionBuilder<T> setVisibleWhen(RowCondition<T> condition) {
+            configuration.setVisibleWhen(condition);
+            return this;
+        }
+
+        /**
+         * Make the action enabled only while a row condition holds, evaluated in the browser.
+         *
+         * @param condition the condition, not null
+         * @return this builder, for method chaining
+         * @see ActionGrid.Action#setEnabledWhen(RowCondition)
+         */
+        public ActionBuilder<T> setEnabledWhen(RowCondition<T> condition) {
+            configuration.setEnabledWhen(condition);
+            return this;
+        }
+
+        /**
+         * Set a script run in the browser when the action is clicked, instead of a server round-trip.
+         *
+         * @param script the script, or {@code null} to handle clicks on the server
+         * @return this builder, for method chaining
+         * @see ActionGrid.Action#setClientClick(String)
+         */
+        public ActionBuilder<T> setClientClick(String script) {
+            return setClientClick(script, List.of());
+        }
+
+        /**
+         * Set a script run in the browser when the action is clicked, with row properties available to it.
+         *
+         * @param script the script, or {@code null} to handle clicks on the server
+         * @param rowProperties the row properties the script reads, not null
+         * @return this builder, for method chaining
+         * @see ActionGrid.Action#setClientClick(String, List)
+         */
+        public ActionBuilder<T> setClientClick(String script, List<RowProperty<T>> rowProperties) {
+            configuration.setClientClick(script, ActionConfiguration.clientClickProperties(script, rowProperties));
+            return this;
+        }
+
+        /**
+         * Set a static message the browser asks to confirm before a click is sent.
+         *
+         * @param message the message, or {@code null} for no confirmation
+         * @return this builder, for method chaining
+         * @see ActionGrid.Action#setConfirmation(String)
+         */
+        public ActionBuilder<T> setConfirmation(String message) {
+            configuration.setConfirmation(message);
+            return this;
+        }
+
+        /**
+         * Set the provider of the message the browser asks to confirm before a click is sent.
+         *
+         * @param confirmationProvider the function to compute the message, or {@code null} for no confirmation
+         * @return this builder, for method chaining
+         * @see ActionGrid.Action#setConfirmation(SerializableFunction)
+         */
+        public ActionBuilder<T> setConfirmation(SerializableFunction<T, String> confirmationProvider) {
+            configuration.setConfirmation(confirmationProvider);
+            return this;
+        }
+
+        /**
+         * Set the texts of the confirmation's buttons.
+         *
+         * @param confirmText the text of the confirm button, not null
+         * @param cancelText the text of the cancel button, not null
+         * @return this builder, for method chaining
+         * @see ActionGrid.Action#setConfirmationButtonTexts(String, String)
+         */
+        public ActionBuilder<T> setConfirmationButtonTexts(String confirmText, String cancelText) {
+            configuration.setConfirmationButtonTexts(confirmText, cancelText);
+            return this;
+        }
+
+        /**
+         * Set the back end filter selecting the items the action is available for.
+         *
+         * @param availabilityFilter the filter, or {@code null} for none
+         * @return this builder, for method chaining
+         * @see ActionGrid.Action#setAvailabilityFilter(Serializable)
+         */
+        public ActionBuilder<T> setAvailabilityFilter(Serializable availabilityFilter) {
+            configuration.availabilityFilter = availabilityFilter;
+            return this;
+        }
+
+        /**
+         * Set the back end sort property ordering the items the action is available for first.
+         *
+         * @param availabilitySortProperty the sort property, or {@code null} for none
+         * @return this builder, for method chaining
+         * @see ActionGrid.Action#setAvailabilitySortProperty(String)
+         */
+        public ActionBuilder<T> setAvailabilitySortProperty(String availabilitySortProperty) {
+            configuration.availabilitySortProperty = availabilitySortProperty;
+            return this;
+        }
+
+        /**
+         * Set the provider determining the visibility of the action asynchronously.
+         *
+         * @param asyncVisibleProvider the function starting the evaluation, or {@code null} for always visible
+         * @return this builder, for method chaining
+         * @see ActionGrid.Action#setVisibleAsync(SerializableFunction)
+         */
+        public ActionBuilder<T> setVisibleAsync(SerializableFunction<T, CompletionStage<Boolean>> asyncVisibleProvider) {
+            configuration.setVisibleAsync(asyncVisibleProvider);
+            return this;
+        }
+
+        /**
+         * Set the provider determining the enablement of the action asynchronously.
+         *
+         * @param asyncEnabledProvider the function starting the evaluation, or {@code null} for always enabled
+         * @return this builder, for method chaining
+         * @see ActionGrid.Action#setEnabledAsync(SerializableFunction)
+         */
+        public ActionBuilder<T> setEnabledAsync(SerializableFunction<T, CompletionStage<Boolean>> asyncEnabledProvider) {
+            configuration.setEnabledAsync(asyncEnabledProvider);
+            return this;
+        }
+
+        /**
+         * Set the visibility rendered while an asynchronous evaluation is pending.
+         *
+         * @param pendingVisible the visibility while pending
+         * @return this builder, for method chaining
+         * @see ActionGrid.Action#setPendingVisible(boolean)
+         */
+        public ActionBuilder<T> setPendingVisible(boolean pendingVisible) {
+            configuration.pendingVisible = pendingVisible;
+            return this;
+        }
+
+        /**
+         * Set the enablement rendered while an asynchronous evaluation is pending.
+         *
+         * @param pendingEnabled the enablement while pending
+         * @return this builder, for method chaining
+         * @see ActionGrid.Action#setPendingEnabled(boolean)
+         */
+        public ActionBuilder<T> setPendingEnabled(boolean pendingEnabled) {
+            configuration.pendingEnabled = pendingEnabled;
+            return this;
+        }
+
+        /**
+         * Set the CSS class name rendered while an asynchronous evaluation is pending.
+         *
+         * @param pendingClassName the class name while pending, or {@code null} for none
+         * @return this builder, for method chaining
+         * @see ActionGrid.Action#setPendingClassName(String)
+         */
+        public ActionBuilder<T> setPendingClassName(String pendingClassName) {
+            configuration.setPendingClassName(pendingClassName);
+            return this;
+        }
+
+        /**
+         * Set how long to wait for an asynchronous result before using the fallback.
+         *
+         * @param asyncTimeout the timeout, not null
+         * @return this builder, for method chaining
+         * @see ActionGrid.Action#setAsyncTimeout(Duration)
+         */
+        public ActionBuilder<T> setAsyncTimeout(Duration asyncTimeout) {
+            configuration.setAsyncTimeout(asyncTimeout);
+            return this;
+        }
+
+        /**
+         * Set the result used when an asynchronous result times out or fails.
+         *
+         * @param asyncFallback the fallback result
+         * @return this builder, for method chaining
+         * @see ActionGrid.Action#setAsyncFallback(boolean)
+         */
+        public ActionBuilder<T> setAsyncFallback(boolean asyncFallback) {
+            configuration.asyncFallback = asyncFallback;
+            return this;
+        }
+
+        /**
+         * Add a consumer for handling click events on the action.
+         *
+         * @param clickHandler a consumer to handle clicks; non-null
+         * @return this builder, for method chaining
+         * @see ActionGrid.Action#addClickHandler(SerializableConsumer)
+         */
+        public ActionBuilder<T> addClickHandler(SerializableConsumer<T> clickHandler) {
+            configuration.addClickHandler(clickHandler);
+            return this;
+        }
+
+        /**
+         * Add a consumer for handling bulk click events on the action.
+         *
+         * @param bulkClickHandler a consumer to handle bulk clicks; non-null
+         * @return this builder, for method chaining
+         * @see ActionGrid.Action#addBulkClickHandler(SerializableConsumer)
+         */
+        public ActionBuilder<T> addBulkClickHandler(SerializableConsumer<Set<T>> bulkClickHandler) {
+            configuration.addBulkClickHandler(bulkClickHandler);
+            return this;
+        }
+
+        /**
+         * Set the filter returning the items of a bulk click that the action is visible and enabled for.
+         *
+         * @param bulkFilter the function returning the permitted items, or {@code null} to check each item
+         * @return this builder, for method chaining
+         * @see ActionGrid.Action#setBulkFilter(SerializableFunction)
+         */
+        public ActionBuilder<T> setBulkFilter(SerializableFunction<Set<T>, Set<T>> bulkFilter) {
+            configuration.bulkFilter = bulkFilter;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package org.vaadin.addons.joelpop.ui.component;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A columnar store of the {@link ActionGrid.ActionState action states} of all the items of a data set.
+ * <p>
+ * Rows are identified by the items' ids and columns by their actions.
+ * Visibility and enablement are kept in one bitset per action,
+ * and icon name, class name, aria-label and tooltip as indexes into a dictionary shared by all actions,
+ * so that the states can be read without allocating.
+ * <p>
+ * Distinct rows can be stored concurrently as long as each thread stores
+ * whole {@linkplain #ROW_ALIGNMENT aligned} blocks of rows; reading requires no concurrent stores.
+ */
+final class ActionStateStore implements Serializable {
+    /**
+     * Concurrent stores must cover blocks of rows that are multiples of this,
+     * so that they do not share words of the bitsets.
+     */
+    static final int ROW_ALIGNMENT = Long.SIZE;
+
+    private static final int NULL_INDEX = -1;
+
+    private final Object source;
+    private final List<?> columnKeys;
+    private final int rowCount;
+    private final Object[] ids;
+    private final int[] idRows;
+    private final int idMask;
+    private final long[][] visible;
+    private final long[][] enabled;
+    private final int[][] iconNames;
+    private final int[][] classNames;
+    private final int[][] ariaLabels;
+    private final int[][] tooltips;
+    private final Map<String, Integer> dictionaryIndexes;
+    private final List<String> dictionary;
+
+    /**
+     * Create an empty store for the given rows and columns.
+     *
+     * @param source the data set the rows are taken from, to tell whether the store is still current
+     * @param columnKeys the keys identifying the columns, compared by identity
+     * @param rowIds the ids of the rows, in row order; an id occurring more than once is found at its first row,
+     *               and its other rows are left for the caller to skip
+     */
+    ActionStateStore(Object source, List<?> columnKeys, List<?> rowIds) {
+        this.source = source;
+        this.columnKeys = List.copyOf(columnKeys);
+        rowCount = rowIds.size();
+
+        // open addressing index of the ids, at most half full
+        var capacity = Integer.highestOneBit(Math.max(1, rowCount) * 2 - 1) << 1;
+        ids = new Object[capacity];
+        idRows = new int[capacity];
+        idMask = capacity - 1;
+        for (int row = 0; row < rowCount; row++) {
+            var id = Objects.requireNonNull(rowIds.get(row), "row ids cannot be null.");
+            var slot = slotOf(id);
+            if (ids[slot] == null) {
+                ids[slot] = id;
+                idRows[slot] = row;
+            }
+        }
+
+        var columnCount = columnKeys.size();
+        var words = (rowCount + Long.SIZE - 1) / Long.SIZE;
+        visible = new long[columnCount][words];
+        enabled = new long[columnCount][words];
+        iconNames = new int[columnCount][rowCount];
+        classNames = new int[columnCount][rowCount];
+        ariaLabels = new int[columnCount][rowCount];
+        tooltips = new int[columnCount][rowCount];
+        dictionaryIndexes = new ConcurrentHashMap<>();
+        dictionary = new ArrayList<>();
+    }
+
+    Object getSource() {
+        return source;
+    }
+
+    int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Return the column of the given key.
+     *
+     * @return the column, or {@code -1} if the key has no column
+     */
+    int columnOf(Object columnKey) {
+        for (int column = 0; column < columnKeys.size(); column++) {
+            if (columnKeys.get(column) == columnKey) {
+                return column;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Return the row of the given id.
+     *
+     * @return the row, or {@code -1} if the id has no row
+     */
+    int rowOf(Object id) {
+        if (id == null) {
+            return -1;
+        }
+        var slot = slotOf(id);
+        return (ids[slot] != null) ? idRows[slot] : -1;
+    }
+
+    private int slotOf(Object id) {
+        var hash = id.hashCode();
+        var slot = (hash ^ (hash >>> 16)) & idMask;
+        while (ids[slot] != null && !ids[slot].equals(id)) {
+            slot = (slot + 1) & idMask;
+        }
+        return slot;
+    }
+
+    void store(int column, int row, ActionGrid.ActionState actionState) {
+        setBit(visible[column], row, actionState.visible());
+        setBit(enabled[column], row, actionState.enabled());
+        iconNames[column][row] = indexOf(actionState.iconName());
+        classNames[column][row] = indexOf(actionState.className());
+        ariaLabels[column][row] = indexOf(actionState.ariaLabel());
+        tooltips[column][row] = indexOf(actionState.tooltip());
+    }
+
+    String iconName(int column, int row) {
+        return valueOf(iconNames[column][row]);
+    }
+
+    String className(int column, int row) {
+        return valueOf(classNames[column][row]);
+    }
+
+    String ariaLabel(int column, int row) {
+        return valueOf(ariaLabels[column][row]);
+    }
+
+    String tooltip(int column, int row) {
+        return valueOf(tooltips[column][row]);
+    }
+
+    boolean visible(int column, int row) {
+        return getBit(visible[column], row);
+    }
+
+    boolean enabled(int column, int row) {
+        return getBit(enabled[column], row);
+    }
+
+    Object get(ActionProperty property, int column, int row) {
+        return switch (property) {
+            case ICON_NAME -> iconName(column, row);
+            case CLASS_NAME -> className(column, row);
+            case ARIA_LABEL -> ariaLabel(column, row);
+            case TOOLTIP -> tooltip(column, row);
+            case VISIBLE -> visible(column, row);
+            case ENABLED -> enabled(column, row);
+        };
+    }
+
+    /**
+     * Return the number of distinct strings in the dictionary.
+     *
+     * @return the dictionary's size
+     */
+    int getDictionarySize() {
+        return dictionaryIndexes.size();
+    }
+
+    /**
+     * Estimate the number of bytes retained by this store, without the ids of its rows.
+     *
+     * @param counted the strings counted so far, by identity, to which the dictionary's strings are added
+     * @return the estimated number of bytes
+     */
+    long estimateRetainedSize(Set<String> counted) {
+        var columnCount = columnKeys.size();
+        var words = (rowCount + Long.SIZE - 1) / Long.SIZE;
+        var size = MemoryEstimates.ACTION_STATE_STORE
+                + MemoryEstimates.array(ids.length, MemoryEstimates.REFERENCE)
+                + MemoryEstimates.array(idRows.length, Integer.BYTES)
+                // the bitsets and dictionary indexes, with their outer arrays
+                + 2 * (MemoryEstimates.array(columnCount, MemoryEstimates.REFERENCE)
+                        + columnCount * MemoryEstimates.array(words, Long.BYTES))
+                + 4 * (MemoryEstimates.array(columnCount, MemoryEstimates.REFERENCE)
+                        + columnCount * MemoryEstimates.array(rowCount, Integer.BYTES));
+        // each dictionary entry is a node of the concurrent map, a boxed index and a slot of the list
+        var dictionarySize = dictionary.size();
+        size += MemoryEstimates.hashMap(dictionarySize)
+                + dictionarySize * (MemoryEstimates.object(Integer.BYTES) + MemoryEstimates.REFERENCE);
+        for (var value : dictionary) {
+            size += MemoryEstimates.string(value, counted);
+        }
+        return size;
+    }
+
+    private static void setBit(long[] bits, int row, boolean value) {
+        if (value) {
+            bits[row / Long.SIZE] |= 1L << row;
+        }
+        else {
+            bits[row / Long.SIZE] &= ~(1L << row);
+        }
+    }
+
+    private static boolean getBit(long[] bits, int row) {
+        return (bits[row / Long.SIZE] & (1L << row)) != 0;
+    }
+
+    private int indexOf(String value) {
+        if (value == null) {
+            return NULL_INDEX;
+        }
+        return dictionaryIndexes.computeIfAbsent(value, v -> {
+            synchronized (dictionary) {
+                dictionary.add(v);
+                return dictionary.size() - 1;
+            }
+        });
+    }
+
+    private String valueOf(int index) {
+        return (index == NULL_INDEX) ? null : dictionary.get(index);
+    }
+}
@@ -0,0 +1,317 @@
+package org.vaadin.addons.joelpop.ui.component;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link ActionGridMetrics} kept in memory as histograms, for tests and dashboards to read.
+ * <p>
+ * Durations are recorded in nanoseconds.
+ */
+public class InMemoryActionGridMetrics implements ActionGridMetrics {
+    private final Map<String, Histogram[]> providerDurations;
+    private final Map<String, Histogram> clickDurations;
+    private final Map<String, LongAdder> clickFailures;
+    private final Map<String, Histogram[]> clickTraces;
+    private final LongAdder actionColumnRefreshes;
+    private final Histogram rowsGenerated;
+    private final LongAdder prefetchFailures;
+
+    /**
+     * Create empty metrics.
+     */
+    public InMemoryActionGridMetrics() {
+        providerDurations = new ConcurrentHashMap<>();
+        clickDurations = new ConcurrentHashMap<>();
+        clickFailures = new ConcurrentHashMap<>();
+        clickTraces = new ConcurrentHashMap<>();
+        actionColumnRefreshes = new LongAdder();
+        rowsGenerated = new Histogram();
+        prefetchFailures = new LongAdder();
+    }
+
+    @Override
+    public void providerEvaluated(String actionKey, ActionProperty property, long durationNanos) {
+        providerDurations.computeIfAbsent(actionKey, k -> newHistograms(ActionProperty.values().length))
+                [property.ordinal()].record(durationNanos);
+    }
+
+    @Override
+    public void clickHandled(String actionKey, long durationNanos) {
+        clickDurations.computeIfAbsent(actionKey, k -> new Histogram()).record(durationNanos);
+    }
+
+    @Override
+    public void clickHandlerFailed(String actionKey, RuntimeException exception) {
+        clickFailures.computeIfAbsent(actionKey, k -> new LongAdder()).increment();
+    }
+
+    @Override
+    public void clickTraced(String actionKey, long queueNanos, long handlerNanos, long endToEndNanos) {
+        var histograms = clickTraces.computeIfAbsent(actionKey, k -> newHistograms(3));
+        histograms[0].record(queueNanos);
+        histograms[1].record(handlerNanos);
+        histograms[2].record(endToEndNanos);
+    }
+
+    @Override
+    public void actionColumnRefreshed() {
+        actionColumnRefreshes.increment();
+    }
+
+    @Override
+    public void rowsGenerated(int rowCount) {
+        rowsGenerated.record(rowCount);
+    }
+
+    @Override
+    public void prefetchFailed(Throwable exception) {
+        prefetchFailures.increment();
+    }
+
+    /**
+     * Return the durations of evaluating a provider of an action.
+     *
+     * @param actionKey the key of the action
+     * @param property the property the provider computes
+     * @return the durations in nanoseconds, empty if none were recorded
+     */
+    public Histogram getProviderDurations(String actionKey, ActionProperty property) {
+        var histograms = providerDurations.get(actionKey);
+        return (histograms != null) ? histograms[property.ordinal()] : new Histogram();
+    }
+
+    /**
+     * Return the durations of handling clicks on an action.
+     *
+     * @param actionKey the key of the action
+     * @return the durations in nanoseconds, empty if none were recorded
+     */
+    public Histogram getClickDurations(String actionKey) {
+        return clickDurations.getOrDefault(actionKey, new Histogram());
+    }
+
+    /**
+     * Return the number of exceptions thrown by the click handlers of an action.
+     *
+     * @param actionKey the key of the action
+     * @return the number of exceptions
+     */
+    public long getClickFailures(String actionKey) {
+        var failures = clickFailures.get(actionKey);
+        return (failures != null) ? failures.sum() : 0;
+    }
+
+    /**
+     * Return the queue times of traced clicks on an action,
+     * from the click in the browser until its handling started on the server.
+     *
+     * @param actionKey the key of the action
+     * @return the queue times in nanoseconds, empty if none were recorded
+     */
+    public Histogram getClickQueueTimes(String actionKey) {
+        return clickTraceHistogram(actionKey, 0);
+    }
+
+    /**
+     * Return the handling times of traced clicks on an action.
+     *
+     * @param actionKey the key of the action
+     * @return the handling times in nanoseconds, empty if none were recorded
+     */
+    public Histogram getClickHandlerTimes(String actionKey) {
+        return clickTraceHistogram(actionKey, 1);
+    }
+
+    /**
+     * Return the end-to-end times of traced clicks on an action,
+     * from the click in the browser until its response was applied.
+     *
+     * @param actionKey the key of the action
+     * @return the end-to-end times in nanoseconds, empty if none were recorded
+     */
+    public Histogram getClickEndToEndTimes(String actionKey) {
+        return clickTraceHistogram(actionKey, 2);
+    }
+
+    private Histogram clickTraceHistogram(String actionKey, int index) {
+        var histograms = clickTraces.get(actionKey);
+        return (histograms != null) ? histograms[index] : new Histogram();
+    }
+
+    /**
+     * Return the number of rebuilds of the action column's renderer.
+     *
+     * @return the number of rebuilds
+     */
+    public long getActionColumnRefreshes() {
+        return actionColumnRefreshes.sum();
+    }
+
+    /**
+     * Return the numbers of rows generated per round-trip.
+     *
+     * @return the numbers of rows
+     */
+    public Histogram getRowsGenerated() {
+        return rowsGenerated;
+    }
+
+    /**
+     * Return the number of failures to prefetch rows in the background.
+     *
+     * @return the number of failures
+     */
+    public long getPrefetchFailures() {
+        return prefetchFailures.sum();
+    }
+
+    /**
+     * Discard everything recorded so far.
+     */
+    public void reset() {
+        providerDurations.clear();
+        clickDurations.clear();
+        clickFailures.clear();
+        clickTraces.clear();
+        actionColumnRefreshes.reset();
+        rowsGenerated.reset();
+        prefetchFailures.reset();
+    }
+
+    private static Histogram[] newHistograms(int count) {
+        var histograms = new Histogram[count];
+        Arrays.setAll(histograms, i -> new Histogram());
+        return histograms;
+    }
+
+
+    /**
+     * A thread-safe histogram of non-negative values.
+     * <p>
+     * Values are counted in buckets of 1/16th of each power of two,
+     * so percentiles are reported within 6.25% of the recorded values.
+     */
+    public static final class Histogram implements Serializable {
+        private static final int SUB_BUCKET_BITS = 4;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+        private final AtomicLongArray counts;
+        private final LongAdder count;
+        private final LongAdder sum;
+        private final AtomicLong max;
+
+        Histogram() {
+            counts = new AtomicLongArray(BUCKETS);
+            count = new LongAdder();
+            sum = new LongAdder();
+            // unlike a LongAccumulator, serializable without its accumulator function
+            max = new AtomicLong();
+        }
+
+        void record(long value) {
+            var recordedValue = Math.max(0, value);
+            counts.incrementAndGet(bucketOf(recordedValue));
+            count.increment();
+            sum.add(recordedValue);
+            max.accumulateAndGet(recordedValue, Math::max);
+        }
+
+        void reset() {
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                counts.set(bucket, 0);
+            }
+            count.reset();
+            sum.reset();
+            max.set(0);
+        }
+
+        /**
+         * Return the number of values recorded.
+         *
+         * @return the number of values
+         */
+        public long getCount() {
+            return count.sum();
+        }
+
+        /**
+         * Return the sum of the values recorded.
+         *
+         * @return the sum of the values
+         */
+        public long getSum() {
+            return sum.sum();
+        }
+
+        /**
+         * Return the largest value recorded.
+         *
+         * @return the largest value, or {@code 0} if none were recorded
+         */
+        public long getMax() {
+            return max.get();
+        }
+
+        /**
+         * Return the mean of the values recorded.
+         *
+         * @return the mean, or {@code 0} if none were recorded
+         */
+        public double getMean() {
+            var n = getCount();
+            return (n == 0) ? 0 : (double) getSum() / n;
+        }
+
+        /**
+         * Return the value below or at which the given percentage of the recorded values are.
+         * <p>
+         * Throws an {@link IllegalArgumentException} if the percentile is not between 0 and 100.
+         *
+         * @param percentile the percentile, between 0 and 100, e.g., {@code 99.9}
+         * @return the value at the percentile, or {@code 0} if none were recorded
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException("percentile must be between 0 and 100.");
+            }
+            var n = getCount();
+            if (n == 0) {
+                return 0;
+            }
+            var rank = Math.max(1, (long) Math.ceil((percentile / 100) * n));
+            var seen = 0L;
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                seen += counts.get(bucket);
+                if (seen >= rank) {
+                    return Math.min(highestValueOf(bucket), getMax());
+                }
+            }
+            return getMax();
+        }
+
+        private static int bucketOf(long value) {
+            if (value < SUB_BUCKETS) {
+                return (int) value;
+            }
+            var exponent = (Long.SIZE - 1) - Long.numberOfLeadingZeros(value);
+            var subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            return ((exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) + subBucket;
+        }
+
+        private static long highestValueOf(int bucket) {
+            if (bucket < SUB_BUCKETS) {
+                return bucket;
+            }
+            var shift = (bucket >>> SUB_BUCKET_BITS) - 1;
+            var lowestValue = (long) (SUB_BUCKETS + (bucket & (SUB_BUCKETS - 1))) << shift;
+            return lowestValue + (1L << shift) - 1;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.vaadin.addons.joelpop.ui.component;
+
+import java.lang.reflect.Modifier;
+import java.util.Set;
+
+/**
+ * Shallow sizes of common objects, for estimating retained sizes without walking the heap.
+ * <p>
+ * Sizes assume a 64-bit JVM with compressed references and class pointers, i.e., heaps below 32 GiB,
+ * and compact Latin-1 strings.
+ */
+final class MemoryEstimates {
+    static final int OBJECT_HEADER = 12;
+    static final int REFERENCE = 4;
+    static final int ARRAY_HEADER = 16;
+    static final int OBJECT_ALIGNMENT = 8;
+
+    // java.util.HashMap itself, and each of its nodes: hash, key, value and next
+    static final int HASH_MAP = 48;
+    static final int HASH_MAP_NODE = 32;
+
+    // a lambda capturing one or two values
+    static final int LAMBDA = 16;
+
+    // the shallow sizes of the classes estimated most often, derived from their fields,
+    // so that they follow the fields added or removed; ActionGridRetainedSizeTest checks them against their layouts
+    static final long ACTION = shallowSize(ActionGrid.Action.class);
+    static final long ACTION_CONFIGURATION = shallowSize(ActionConfiguration.class);
+    static final long TOGGLE_ACTION = shallowSize(ActionGrid.ToggleAction.class);
+    static final long ACTION_STATE = shallowSize(ActionGrid.ActionState.class);
+    static final long ACTION_STATE_STORE = shallowSize(ActionStateStore.class);
+
+    private static final float HASH_MAP_LOAD_FACTOR = 0.75f;
+
+    private MemoryEstimates() {
+    }
+
+    static long align(long size) {
+        return (size + OBJECT_ALIGNMENT - 1) & -OBJECT_ALIGNMENT;
+    }
+
+    static long object(int fieldBytes) {
+        return align(OBJECT_HEADER + fieldBytes);
+    }
+
+    static long array(int length, int elementSize) {
+        return align(ARRAY_HEADER + (long) length * elementSize);
+    }
+
+    /**
+     * Return the size of an instance of a class without what it references, from the sizes of its instance fields,
+     * including the inherited ones and the reference to the enclosing instance of an inner class.
+     */
+    static long shallowSize(Class<?> type) {
+        long fieldBytes = 0;
+        for (var declaringType = type; declaringType != null; declaringType = declaringType.getSuperclass()) {
+            for (var field : declaringType.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    fieldBytes += fieldSize(field.getType());
+                }
+            }
+        }
+        return align(OBJECT_HEADER + fieldBytes);
+    }
+
+    private static int fieldSize(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return Long.BYTES;
+        }
+        if (type == int.class || type == float.class) {
+            return Integer.BYTES;
+        }
+        if (type == short.class || type == char.class) {
+            return Short.BYTES;
+        }
+        return (type == boolean.class || type == byte.class) ? 1 : REFERENCE;
+    }
+
+    /**
+     * Return the size of a {@link java.util.HashMap}'s table and nodes, without its keys and values.
+     */
+    static long hashMap(int size) {
+        if (size == 0) {
+            return HASH_MAP;
+        }
+        var capacity = Integer.highestOneBit((int) Math.ceil(size / HASH_MAP_LOAD_FACTOR) - 1) << 1;
+        return HASH_MAP + array(Math.max(capacity, 16), REFERENCE) + (long) size * HASH_MAP_NODE;
+    }
+
+    /**
+     * Return the size of a string, or {@code 0} if it is {@code null} or already counted.
+     *
+     * @param counted the strings counted so far, by identity, to which the string is added
+     */
+    static long string(String string, Set<String> counted) {
+        if (string == null || !counted.add(string)) {
+            return 0;
+        }
+        var latin1 = string.chars().allMatch(c -> c <= 0xFF);
+        // value, hash, coder and hashIsZero
+        return object(REFERENCE + 4 + 2) + array(string.length(), latin1 ? 1 : 2);
+    }
+}
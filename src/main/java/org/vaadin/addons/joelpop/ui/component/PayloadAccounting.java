@@ -0,0 +1,192 @@
+package org.vaadin.addons.joelpop.ui.component;
+
+import elemental.json.Json;
+import elemental.json.JsonValue;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The size of the JSON an {@link ActionGrid}'s action column contributes to the data sent to the client,
+ * by action and {@link ActionProperty}.
+ * <p>
+ * Each property is counted as its UTF-8 encoded {@code "name":value,} entry in a row,
+ * with the property name namespaced the way {@link com.vaadin.flow.data.renderer.LitRenderer} sends it.
+ * The shared object holding the values of the {@link RowProperty row properties}
+ * used by client-evaluated conditions is counted separately.
+ *
+ * @see ActionGrid#setPayloadAccountingEnabled(boolean)
+ */
+public class PayloadAccounting implements Serializable {
+    // LitRenderer namespaces each property name with "lr_", a 16 character id and "_"
+    private static final int PROPERTY_NAMESPACE_LENGTH = 20;
+    // the quotes around the name, the colon and the separating comma
+    private static final int PROPERTY_SYNTAX_LENGTH = 4;
+
+    private final Map<String, long[]> actionBytes;
+    private long rowPropertiesBytes;
+    private long rangeBytes;
+    private long lastRangeBytes;
+    private long largestRangeBytes;
+    private long ranges;
+    private long rows;
+
+    PayloadAccounting() {
+        actionBytes = new HashMap<>();
+    }
+
+    void count(String actionKey, ActionProperty property, Object value) {
+        var bytes = entrySize(property.propertyName(actionKey), value);
+        actionBytes.computeIfAbsent(actionKey, k -> new long[ActionProperty.values().length])[property.ordinal()] += bytes;
+        rangeBytes += bytes;
+    }
+
+    void countRowProperties(String propertyName, JsonValue rowProperties) {
+        var bytes = entrySize(propertyName, rowProperties);
+        rowPropertiesBytes += bytes;
+        rangeBytes += bytes;
+    }
+
+    void rangeSent(int rowCount) {
+        ranges++;
+        rows += rowCount;
+        lastRangeBytes = rangeBytes;
+        largestRangeBytes = Math.max(largestRangeBytes, rangeBytes);
+        rangeBytes = 0;
+    }
+
+    private static int entrySize(String propertyName, Object value) {
+        var json = (value instanceof JsonValue jsonValue) ? jsonValue.toJson()
+                : (value instanceof String string) ? Json.create(string).toJson()
+                : String.valueOf(value);
+        return PROPERTY_NAMESPACE_LENGTH + propertyName.length() + PROPERTY_SYNTAX_LENGTH
+                + json.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    /**
+     * Return the total number of bytes contributed by the action column.
+     *
+     * @return the total number of bytes
+     */
+    public long getTotalBytes() {
+        return actionBytes.values().stream()
+                .mapToLong(bytes -> Arrays.stream(bytes).sum())
+                .sum() + rowPropertiesBytes;
+    }
+
+    /**
+     * Return the number of bytes contributed by an action.
+     *
+     * @param actionKey the key of the action
+     * @return the number of bytes
+     */
+    public long getBytes(String actionKey) {
+        var bytes = actionBytes.get(actionKey);
+        return (bytes != null) ? Arrays.stream(bytes).sum() : 0;
+    }
+
+    /**
+     * Return the number of bytes contributed by a property of an action.
+     *
+     * @param actionKey the key of the action
+     * @param property the property
+     * @return the number of bytes
+     */
+    public long getBytes(String actionKey, ActionProperty property) {
+        var bytes = actionBytes.get(actionKey);
+        return (bytes != null) ? bytes[property.ordinal()] : 0;
+    }
+
+    /**
+     * Return the number of bytes contributed by the row properties of client-evaluated conditions.
+     *
+     * @return the number of bytes
+     */
+    public long getRowPropertiesBytes() {
+        return rowPropertiesBytes;
+    }
+
+    /**
+     * Return the largest contributions of individual action properties, largest first.
+     *
+     * @param n the maximum number of contributions to return
+     * @return the largest contributions
+     */
+    public List<Contribution> getTopContributions(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n cannot be negative.");
+        }
+        return actionBytes.entrySet().stream()
+                .flatMap(entry -> Arrays.stream(ActionProperty.values())
+                        .map(property -> new Contribution(entry.getKey(), property, entry.getValue()[property.ordinal()])))
+                .filter(contribution -> contribution.bytes() > 0)
+                .sorted(Comparator.comparingLong(Contribution::bytes).reversed())
+                .limit(n)
+                .toList();
+    }
+
+    /**
+     * Return the number of data ranges sent to the client.
+     *
+     * @return the number of ranges
+     */
+    public long getRanges() {
+        return ranges;
+    }
+
+    /**
+     * Return the number of rows sent to the client.
+     *
+     * @return the number of rows
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * Return the number of bytes contributed to the last data range sent.
+     *
+     * @return the number of bytes
+     */
+    public long getLastRangeBytes() {
+        return lastRangeBytes;
+    }
+
+    /**
+     * Return the number of bytes contributed to the largest data range sent.
+     *
+     * @return the number of bytes
+     */
+    public long getLargestRangeBytes() {
+        return largestRangeBytes;
+    }
+
+    /**
+     * Discard everything counted so far.
+     */
+    public void reset() {
+        actionBytes.clear();
+        rowPropertiesBytes = 0;
+        rangeBytes = 0;
+        lastRangeBytes = 0;
+        largestRangeBytes = 0;
+        ranges = 0;
+        rows = 0;
+    }
+
+
+    /**
+     * The number of bytes contributed by a property of an action.
+     *
+     * @param actionKey the key of the action
+     * @param property the property
+     * @param bytes the number of bytes
+     */
+    public record Contribution(String actionKey, ActionProperty property, long bytes) implements Serializable {
+    }
+}
@@ -0,0 +1,111 @@
+package org.vaadin.addons.joelpop.ui.component;
+
+import elemental.json.Json;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * An {@link ActionAuditSink} appending records to local files as JSON lines, rolling over by size.
+ * <p>
+ * Records are appended to {@code <name>.jsonl} in the directory. Once that file reaches the maximum size,
+ * it is renamed to {@code <name>.1.jsonl}, the previous ones shifting to {@code <name>.2.jsonl} and so on,
+ * and the oldest beyond the maximum number of files are deleted.
+ */
+public final class RollingFileAuditSink implements ActionAuditSink {
+    private static final String EXTENSION = ".jsonl";
+
+    private final Path directory;
+    private final String name;
+    private final long maxFileBytes;
+    private final int maxFiles;
+    private BufferedWriter writer;
+    private long fileBytes;
+
+    /**
+     * Create a sink appending to {@code <name>.jsonl} in the directory.
+     * <p>
+     * Throws an {@link IllegalArgumentException} if the maximum size or number of files is not positive.
+     *
+     * @param directory the directory of the files, created if missing, not null
+     * @param name the name of the files, not null
+     * @param maxFileBytes the size a file rolls over at, in bytes
+     * @param maxFiles the number of rolled over files to keep
+     */
+    public RollingFileAuditSink(Path directory, String name, long maxFileBytes, int maxFiles) {
+        this.directory = Objects.requireNonNull(directory, "directory cannot be null.");
+        this.name = Objects.requireNonNull(name, "name cannot be null.");
+        if (maxFileBytes <= 0) {
+            throw new IllegalArgumentException("maxFileBytes must be positive.");
+        }
+        if (maxFiles <= 0) {
+            throw new IllegalArgumentException("maxFiles must be positive.");
+        }
+        this.maxFileBytes = maxFileBytes;
+        this.maxFiles = maxFiles;
+    }
+
+    @Override
+    public void write(List<ActionAuditRecord> records) throws IOException {
+        for (var auditRecord : records) {
+            if (writer == null || fileBytes >= maxFileBytes) {
+                rollOver();
+            }
+            var line = toJson(auditRecord) + '\n';
+            writer.write(line);
+            fileBytes += line.getBytes(StandardCharsets.UTF_8).length;
+        }
+        writer.flush();
+    }
+
+    private void rollOver() throws IOException {
+        var current = file(0);
+        if (writer != null) {
+            writer.close();
+            writer = null;
+            Files.deleteIfExists(file(maxFiles));
+            for (int index = maxFiles - 1; index >= 0; index--) {
+                if (Files.exists(file(index))) {
+                    Files.move(file(index), file(index + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+        Files.createDirectories(directory);
+        writer = Files.newBufferedWriter(current, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        fileBytes = Files.size(current);
+    }
+
+    /**
+     * Return the file of the given index, {@code 0} for the current one.
+     */
+    private Path file(int index) {
+        return directory.resolve((index == 0) ? name + EXTENSION : name + "." + index + EXTENSION);
+    }
+
+    private static String toJson(ActionAuditRecord auditRecord) {
+        var json = Json.createObject();
+        json.put("timestamp", auditRecord.timestamp().toString());
+        json.put("user", auditRecord.user());
+        json.put("action", auditRecord.actionKey());
+        json.put("item", auditRecord.itemId());
+        json.put("outcome", auditRecord.outcome().name());
+        json.put("durationNanos", auditRecord.durationNanos());
+        return json.toJson();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+}
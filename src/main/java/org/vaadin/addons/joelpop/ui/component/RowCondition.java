@@ -0,0 +1,126 @@
+package org.vaadin.addons.joelpop.ui.component;
+
+import com.vaadin.flow.function.SerializableFunction;
+import com.vaadin.flow.function.SerializablePredicate;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * A condition on the {@link RowProperty row properties} of an item
+ * that can be evaluated both on the server and in the browser.
+ * <p>
+ * Conditions are created from a row property, e.g., {@code RowProperty.of("editable", Item::isEditable).isTrue()},
+ * and combined with {@link #and(RowCondition)}, {@link #or(RowCondition)} and {@link #negate()}.
+ *
+ * @param <T> the type of the Grid row items
+ */
+public final class RowCondition<T> implements Serializable {
+    private final SerializablePredicate<T> predicate;
+    private final SerializableFunction<String, String> scriptProvider;
+    private final List<RowProperty<T>> properties;
+
+    RowCondition(SerializablePredicate<T> predicate,
+                 SerializableFunction<String, String> scriptProvider,
+                 List<RowProperty<T>> properties) {
+        this.predicate = predicate;
+        this.scriptProvider = scriptProvider;
+        this.properties = properties;
+    }
+
+    /**
+     * Evaluate this condition for the given item on the server.
+     *
+     * @param t the item to evaluate
+     * @return {@code true} if the condition holds, {@code false} otherwise
+     */
+    public boolean test(T t) {
+        return predicate.test(t);
+    }
+
+    /**
+     * Return a condition that holds when both this and the other condition hold.
+     *
+     * @param other the other condition, not null
+     * @return the combined condition
+     */
+    public RowCondition<T> and(RowCondition<T> other) {
+        Objects.requireNonNull(other, "other cannot be null.");
+        return new RowCondition<>(t -> test(t) && other.test(t),
+                row -> "(" + toJavaScript(row) + " && " + other.toJavaScript(row) + ")",
+                concat(properties, other.properties));
+    }
+
+    /**
+     * Return a condition that holds when this or the other condition holds.
+     *
+     * @param other the other condition, not null
+     * @return the combined condition
+     */
+    public RowCondition<T> or(RowCondition<T> other) {
+        Objects.requireNonNull(other, "other cannot be null.");
+        return new RowCondition<>(t -> test(t) || other.test(t),
+                row -> "(" + toJavaScript(row) + " || " + other.toJavaScript(row) + ")",
+                concat(properties, other.properties));
+    }
+
+    /**
+     * Return a condition that holds when this condition does not hold.
+     *
+     * @return the negated condition
+     */
+    public RowCondition<T> negate() {
+        return new RowCondition<>(t -> !test(t),
+                row -> "!" + toJavaScript(row),
+                properties);
+    }
+
+    /**
+     * Return the JavaScript expression evaluating this condition
+     * against the row properties held by the given object expression.
+     *
+     * @param row the JavaScript expression of the object holding the row properties
+     * @return the JavaScript expression of this condition
+     */
+    String toJavaScript(String row) {
+        return scriptProvider.apply(row);
+    }
+
+    /**
+     * Return the row properties this condition depends on.
+     *
+     * @return the row properties
+     */
+    List<RowProperty<T>> getProperties() {
+        return properties;
+    }
+
+    static String toJavaScriptLiteral(Object value) {
+        if (value == null || value instanceof Boolean) {
+            return String.valueOf(value);
+        }
+        else if (value instanceof Double doubleValue) {
+            return doubleValue.isNaN() || doubleValue.isInfinite() ? "NaN" : doubleValue.toString();
+        }
+        return toJavaScriptString(value.toString());
+    }
+
+    static String toJavaScriptString(String value) {
+        var literal = new StringBuilder("'");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '\'', '"', '\\', '`', '$', '<', '>' -> literal.append(String.format("\\u%04x", (int) c));
+                case '\n' -> literal.append("\\n");
+                case '\r' -> literal.append("\\r");
+                default -> literal.append(c);
+            }
+        }
+        return literal.append('\'').toString();
+    }
+
+    private static <T> List<RowProperty<T>> concat(List<RowProperty<T>> a, List<RowProperty<T>> b) {
+        return RowProperty.distinctByName(Stream.concat(a.stream(), b.stream()));
+    }
+}
@@ -0,0 +1,195 @@
+package org.vaadin.addons.joelpop.ui.component;
+
+import com.vaadin.flow.function.ValueProvider;
+import elemental.json.Json;
+import elemental.json.JsonValue;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * A named value of a row's item that is sent to the client,
+ * so that {@link RowCondition}s on it can be evaluated in the browser.
+ * <p>
+ * The values of all the row properties used by the actions of an {@link ActionGrid}
+ * are sent together in a single field of each row, by name.
+ * A name is therefore used by one value provider only; create the property once and reuse it
+ * rather than creating another one with the same name.
+ *
+ * @param <T> the type of the Grid row items
+ */
+public final class RowProperty<T> implements Serializable {
+    private static final Pattern NAME_PATTERN = Pattern.compile("[A-Za-z_$][A-Za-z0-9_$]*");
+
+    private final String name;
+    private final ValueProvider<T, ?> valueProvider;
+
+    private RowProperty(String name, ValueProvider<T, ?> valueProvider) {
+        this.name = name;
+        this.valueProvider = valueProvider;
+    }
+
+    /**
+     * Create a row property.
+     * <p>
+     * Throws an {@link IllegalArgumentException} if the name is {@code null} or not a valid JavaScript identifier.
+     * <p>
+     * The values provided should be booleans, numbers, strings or enums;
+     * other values are sent as their string representation.
+     *
+     * @param name the name of the property, not null
+     * @param valueProvider the function to compute the property's value, not null
+     * @return the row property
+     * @param <T> the type of the Grid row items
+     */
+    public static <T> RowProperty<T> of(String name, ValueProvider<T, ?> valueProvider) {
+        if (name == null || !NAME_PATTERN.matcher(name).matches()) {
+            throw new IllegalArgumentException("name must be a valid JavaScript identifier.");
+        }
+        Objects.requireNonNull(valueProvider, "valueProvider cannot be null.");
+        return new RowProperty<>(name, valueProvider);
+    }
+
+    /**
+     * Return the name of this property.
+     *
+     * @return the property's name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Return the value of this property for the given item,
+     * normalized the same way as it is sent to the client.
+     *
+     * @param t the item to evaluate
+     * @return the normalized value: a {@link Boolean}, {@link Double}, {@link String} or {@code null}
+     */
+    public Object getValue(T t) {
+        return normalize(valueProvider.apply(t));
+    }
+
+    /**
+     * Return the given row properties, each name once.
+     * <p>
+     * Throws an {@link IllegalArgumentException} if a name is used by properties with different value providers,
+     * as the browser would then evaluate one of them while the server checks clicks with the other.
+     */
+    static <T> List<RowProperty<T>> distinctByName(Stream<RowProperty<T>> rowProperties) {
+        var distinctProperties = new LinkedHashMap<String, RowProperty<T>>();
+        rowProperties.forEach(rowProperty -> distinctProperties.merge(rowProperty.name, rowProperty,
+                (registered, added) -> {
+                    if (!registered.equals(added)) {
+                        throw new IllegalArgumentException("Row property \"" + added.name
+                                + "\" is already used with another value provider.");
+                    }
+                    return registered;
+                }));
+        return List.copyOf(distinctProperties.values());
+    }
+
+    JsonValue toJson(T t) {
+        var value = getValue(t);
+        if (value == null) {
+            return Json.createNull();
+        }
+        else if (value instanceof Boolean booleanValue) {
+            return Json.create(booleanValue);
+        }
+        else if (value instanceof Double doubleValue) {
+            return Json.create(doubleValue);
+        }
+        return Json.create((String) value);
+    }
+
+    /**
+     * Return a condition that holds when this property is {@code true}.
+     *
+     * @return the condition
+     */
+    public RowCondition<T> isTrue() {
+        return isEqualTo(true);
+    }
+
+    /**
+     * Return a condition that holds when this property is {@code false}.
+     *
+     * @return the condition
+     */
+    public RowCondition<T> isFalse() {
+        return isEqualTo(false);
+    }
+
+    /**
+     * Return a condition that holds when this property is {@code null}.
+     *
+     * @return the condition
+     */
+    public RowCondition<T> isNull() {
+        return isEqualTo(null);
+    }
+
+    /**
+     * Return a condition that holds when this property is not {@code null}.
+     *
+     * @return the condition
+     */
+    public RowCondition<T> isNotNull() {
+        return isNull().negate();
+    }
+
+    /**
+     * Return a condition that holds when this property equals the given value.
+     * <p>
+     * Numbers are compared by their numeric value and enums by their name.
+     *
+     * @param value the value to compare with, a boolean, number, string, enum or {@code null}
+     * @return the condition
+     */
+    public RowCondition<T> isEqualTo(Object value) {
+        var expected = normalize(value);
+        var literal = RowCondition.toJavaScriptLiteral(expected);
+        return new RowCondition<>(t -> Objects.equals(getValue(t), expected),
+                row -> "(" + row + "." + name + " === " + literal + ")",
+                List.of(this));
+    }
+
+    /**
+     * Return a condition that holds when this property does not equal the given value.
+     *
+     * @param value the value to compare with, a boolean, number, string, enum or {@code null}
+     * @return the condition
+     */
+    public RowCondition<T> isNotEqualTo(Object value) {
+        return isEqualTo(value).negate();
+    }
+
+    private static Object normalize(Object value) {
+        if (value == null || value instanceof Boolean || value instanceof String) {
+            return value;
+        }
+        else if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        else if (value instanceof Enum<?> enumValue) {
+            return enumValue.name();
+        }
+        return value.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return (this == o) || ((o instanceof RowProperty<?> that)
+                && name.equals(that.name) && (valueProvider == that.valueProvider));
+    }
+
+    @Override
+    public int hashCode() {
+        return name.hashCode();
+    }
+}
@@ -0,0 +1,119 @@
+package org.vaadin.addons.joelpop.ui.component;
+
+import com.vaadin.flow.function.SerializableFunction;
+
+import java.io.Serializable;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The number of selected items each action of an {@link ActionGrid} is visible and enabled for,
+ * maintained incrementally as items are selected, deselected and refreshed.
+ * <p>
+ * Only the selected items some action is not permitted for are kept, with the actions they deny,
+ * so that selecting all the items of a large list only keeps the exceptions.
+ * The actions are checked as for a click, so an item whose asynchronous state is still pending is denied
+ * rather than awaited, and is evaluated again once its state is resolved.
+ */
+final class SelectionAvailability<T> implements Serializable {
+    private final Object source;
+    private final List<ActionGrid<T>.Action> actions;
+    private final SerializableFunction<T, Object> idProvider;
+    private final Map<Object, BitSet> deniedActions;
+    private final int[] deniedCounts;
+    private int selectedCount;
+
+    /**
+     * Create the availability of the actions over the selected items.
+     *
+     * @param source the data provider of the items
+     * @param actions the actions, whose order is kept
+     * @param idProvider provides the id identifying an item
+     * @param selectedItems the items selected so far
+     */
+    SelectionAvailability(Object source, List<ActionGrid<T>.Action> actions,
+                          SerializableFunction<T, Object> idProvider, Collection<T> selectedItems) {
+        this.source = source;
+        this.actions = List.copyOf(actions);
+        this.idProvider = idProvider;
+        deniedActions = new HashMap<>();
+        deniedCounts = new int[this.actions.size()];
+        selectedItems.forEach(this::select);
+    }
+
+    Object getSource() {
+        return source;
+    }
+
+    int getSelectedCount() {
+        return selectedCount;
+    }
+
+    /**
+     * Return the number of selected items the action is visible and enabled for.
+     *
+     * @return the number of permitted items, {@code 0} if the action is not tracked
+     */
+    int getPermittedCount(ActionGrid<T>.Action action) {
+        var index = actions.indexOf(action);
+        return (index >= 0) ? selectedCount - deniedCounts[index] : 0;
+    }
+
+    void select(T item) {
+        var denied = evaluateDeniedActions(item);
+        if (!denied.isEmpty()) {
+            deniedActions.put(idProvider.apply(item), denied);
+            count(denied, 1);
+        }
+        selectedCount++;
+    }
+
+    void deselect(T item) {
+        var denied = deniedActions.remove(idProvider.apply(item));
+        if (denied != null) {
+            count(denied, -1);
+        }
+        selectedCount--;
+    }
+
+    /**
+     * Evaluate the actions again for a selected item whose properties may have changed.
+     *
+     * @return {@code true} if the availability changed, {@code false} otherwise
+     */
+    boolean refresh(T item) {
+        var id = idProvider.apply(item);
+        var previouslyDenied = deniedActions.getOrDefault(id, new BitSet());
+        var denied = evaluateDeniedActions(item);
+        if (denied.equals(previouslyDenied)) {
+            return false;
+        }
+        count(previouslyDenied, -1);
+        count(denied, 1);
+        if (denied.isEmpty()) {
+            deniedActions.remove(id);
+        }
+        else {
+            deniedActions.put(id, denied);
+        }
+        return true;
+    }
+
+    private BitSet evaluateDeniedActions(T item) {
+        var denied = new BitSet();
+        for (int index = 0; index < actions.size(); index++) {
+            var action = actions.get(index);
+            if (!action.isPermittedOnClick(item)) {
+                denied.set(index);
+            }
+        }
+        return denied;
+    }
+
+    private void count(BitSet denied, int increment) {
+        denied.stream().forEach(index -> deniedCounts[index] += increment);
+    }
+}
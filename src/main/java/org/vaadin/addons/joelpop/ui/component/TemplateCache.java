@@ -0,0 +1,60 @@
+package org.vaadin.addons.joelpop.ui.component;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A bounded, concurrent cache of generated templates by the layout they are generated from,
+ * so that identical layouts share one canonical template instance.
+ * <p>
+ * When full, an arbitrary entry is evicted for each one added, as layouts rarely outnumber the bound.
+ *
+ * @param <K> the type of the layouts, which must implement {@code equals} and {@code hashCode}
+ */
+final class TemplateCache<K> {
+    private final int maximumSize;
+    private final ConcurrentHashMap<K, String> templates;
+
+    TemplateCache(int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be positive.");
+        }
+        this.maximumSize = maximumSize;
+        templates = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Return the template of the layout, generating it if it is not cached.
+     * <p>
+     * Concurrent misses for the same layout may each generate the template, but all return the one cached.
+     *
+     * @param layout the layout
+     * @param generator generates the template of a layout
+     * @return the canonical template of the layout
+     */
+    String get(K layout, Function<K, String> generator) {
+        var template = templates.get(layout);
+        if (template != null) {
+            return template;
+        }
+        template = Objects.requireNonNull(generator.apply(layout), "template cannot be null.");
+        if (templates.size() >= maximumSize) {
+            var iterator = templates.keySet().iterator();
+            if (iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+        var cachedTemplate = templates.putIfAbsent(layout, template);
+        return (cachedTemplate != null) ? cachedTemplate : template;
+    }
+
+    int size() {
+        return templates.size();
+    }
+
+    void clear() {
+        templates.clear();
+    }
+}
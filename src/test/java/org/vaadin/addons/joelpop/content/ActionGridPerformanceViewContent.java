@@ -0,0 +1,56 @@
+package org.vaadin.addons.joelpop.content;
+
+import com.vaadin.flow.component.Composite;
+import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.component.icon.VaadinIcon;
+import com.vaadin.flow.theme.lumo.LumoUtility;
+import org.vaadin.addons.joelpop.model.ToggleItem;
+import org.vaadin.addons.joelpop.ui.component.ActionGrid;
+
+import java.util.stream.IntStream;
+
+public class ActionGridPerformanceViewContent extends Composite<Div> {
+
+    public static final String VIEW_ID = "action-grid-performance-view";
+    public static final String PERFORMANCE_ACTION_GRID_ID = "performance-action-grid";
+
+    public static final String ACTION_KEY_PREFIX = "action";
+
+    private static final VaadinIcon[] ICONS = {
+            VaadinIcon.CHECK, VaadinIcon.CLOSE, VaadinIcon.EDIT, VaadinIcon.TRASH, VaadinIcon.EYE };
+
+    public ActionGridPerformanceViewContent() {
+        setId(VIEW_ID);
+        getContent().setHeight("600px");
+    }
+
+    protected void showActionGrid(int rowCount, int actionCount) {
+        getContent().removeAll();
+
+        var actionGrid = new ActionGrid<ToggleItem>();
+        actionGrid.setId(PERFORMANCE_ACTION_GRID_ID);
+        actionGrid.setHeightFull();
+
+        actionGrid.addColumn(ToggleItem::getName);
+        actionGrid.addColumn(ToggleItem::getInfo);
+
+        IntStream.range(0, actionCount).forEach(actionIndex -> actionGrid.addAction(ACTION_KEY_PREFIX + actionIndex)
+                .setIcon(item -> (item.isOn() ? ICONS[actionIndex % ICONS.length] : VaadinIcon.CIRCLE_THIN).create())
+                .setClassName(item -> item.isOn() ? LumoUtility.TextColor.SUCCESS : LumoUtility.TextColor.ERROR)
+                .setTooltip(item -> "Action %d of %s".formatted(actionIndex, item.getName()))
+                .setAccessibleName(item -> "Action %d.".formatted(actionIndex))
+                .setVisible(ToggleItem::isVisible)
+                .setEnabled(ToggleItem::isEnabled)
+                .addClickHandler(item -> {
+                    item.setOn(!item.isOn());
+                    actionGrid.getDataCommunicator().refresh(item);
+                }));
+
+        actionGrid.setItems(IntStream.range(0, rowCount)
+                .mapToObj(row -> new ToggleItem("Item " + row, "Row " + row,
+                        (row % 2) == 0, (row % 5) != 0, (row % 7) != 0))
+                .toList());
+
+        getContent().add(actionGrid);
+    }
+}
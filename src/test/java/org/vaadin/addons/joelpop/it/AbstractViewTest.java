@@ -56,9 +56,17 @@ public abstract class AbstractViewTest extends ParallelTest {
         } else {
             setDriver(TestBench.createDriver(new ChromeDriver(chromeOptions())));
         }
-        getDriver().get(getURL(route));
+        open(route);
     }
 
+    /**
+     * Navigate to the given route, e.g., to pass query parameters to the view.
+     *
+     * @param route the route, relative to the deployment
+     */
+    protected void open(String route) {
+        getDriver().get(getURL(route));
+    }
 
     protected ChromeOptions chromeOptions() {
         ChromeOptions options = new ChromeOptions();
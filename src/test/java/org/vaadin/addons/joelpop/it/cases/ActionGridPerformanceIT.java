@@ -0,0 +1,248 @@
+package org.vaadin.addons.joelpop.it.cases;
+
+import elemental.json.Json;
+import elemental.json.JsonObject;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ErrorCollector;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.vaadin.addons.joelpop.it.AbstractViewTest;
+import org.vaadin.addons.joelpop.it.element.component.ActionGridElement;
+import org.vaadin.addons.joelpop.it.element.view.performance.ActionGridPerformanceViewElement;
+import org.vaadin.addons.joelpop.it.ui.view.performance.ActionGridPerformanceView;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Scrolls through grids of 10k and 100k rows with 1, 5 and 20 actions in the browser,
+ * measuring DOM node counts, long tasks, frame times and server response sizes.
+ * <p>
+ * The measurements are written to {@code target/performance/action-grid-performance.json}
+ * and checked against the thresholds in {@code action-grid-performance-thresholds.properties}.
+ * Only the DOM node counts and response sizes are checked by default, as they do not depend on the machine;
+ * the long tasks and frame times are only reported unless {@code -Dperformance.checkTimings=true}.
+ */
+public class ActionGridPerformanceIT extends AbstractViewTest {
+    private static final int[] ROW_COUNTS = { 10_000, 100_000 };
+    private static final int[] ACTION_COUNTS = { 1, 5, 20 };
+
+    private static final int SCROLL_FRAMES = 300;
+    private static final Duration SCRIPT_TIMEOUT = Duration.ofMinutes(1);
+
+    private static final String THRESHOLDS_RESOURCE = "/action-grid-performance-thresholds.properties";
+    private static final String THRESHOLD_PROPERTY_PREFIX = "performance.";
+    private static final String CHECK_TIMINGS_PROPERTY = "performance.checkTimings";
+    private static final String REPORT_DIRECTORY_PROPERTY = "performance.reportDirectory";
+
+    private static final List<String> DETERMINISTIC_METRICS = List.of("maxDomNodes", "maxResponseBytes");
+    private static final List<String> TIMING_METRICS = List.of("longTaskMillis", "frameTimeP95Millis");
+    private static final String REPORT_FILE_NAME = "action-grid-performance.json";
+
+    // scrolls the grid from top to bottom, one step per animation frame, and calls back with the measurements
+    private static final String SCROLL_SCRIPT = """
+            const grid = arguments[0];
+            const frames = arguments[1];
+            const done = arguments[arguments.length - 1];
+            const scroller = grid.$.table;
+            const countDomNodes = () => document.getElementsByTagName('*').length
+                    + grid.shadowRoot.querySelectorAll('*').length;
+
+            const longTasks = [];
+            const observer = new PerformanceObserver(list => list.getEntries().forEach(entry => longTasks.push(entry.duration)));
+            observer.observe({ type: 'longtask' });
+            performance.setResourceTimingBufferSize(10000);
+            performance.clearResourceTimings();
+
+            const frameTimes = [];
+            let maxDomNodes = countDomNodes();
+            const step = (scroller.scrollHeight - scroller.clientHeight) / frames;
+            let frame = 0;
+            let last;
+            const tick = now => {
+                frameTimes.push(now - last);
+                last = now;
+                if (frame % 10 === 0) {
+                    maxDomNodes = Math.max(maxDomNodes, countDomNodes());
+                }
+                if (frame++ < frames) {
+                    scroller.scrollTop = frame * step;
+                    requestAnimationFrame(tick);
+                } else {
+                    // let the last requested rows arrive
+                    setTimeout(() => {
+                        observer.disconnect();
+                        const responseBytes = performance.getEntriesByType('resource')
+                                .filter(entry => entry.name.includes('v-r=uidl'))
+                                .map(entry => entry.transferSize || entry.encodedBodySize);
+                        done({ frameTimes, longTasks, maxDomNodes, responseBytes });
+                    }, 1000);
+                }
+            };
+            requestAnimationFrame(now => {
+                last = now;
+                requestAnimationFrame(tick);
+            });
+            """;
+
+    @Rule
+    public ErrorCollector errors = new ErrorCollector();
+
+    public ActionGridPerformanceIT() {
+        super(ActionGridPerformanceView.route(ROW_COUNTS[0], ACTION_COUNTS[0]),
+                By.id(ActionGridPerformanceView.VIEW_ID));
+    }
+
+    @Test
+    public void scrollingStaysWithinThresholds() {
+        var thresholds = loadThresholds();
+        var measurements = new ArrayList<Measurement>();
+
+        getDriver().manage().timeouts().scriptTimeout(SCRIPT_TIMEOUT);
+        for (var rowCount : ROW_COUNTS) {
+            for (var actionCount : ACTION_COUNTS) {
+                open(ActionGridPerformanceView.route(rowCount, actionCount));
+                measurements.add(measureScrolling(rowCount, actionCount, performanceActionGridElement()));
+            }
+        }
+
+        var checkTimings = Boolean.getBoolean(CHECK_TIMINGS_PROPERTY);
+        writeReport(measurements, thresholds, checkTimings);
+
+        for (var measurement : measurements) {
+            checkThreshold(measurement, "maxDomNodes", measurement.maxDomNodes(), thresholds);
+            checkThreshold(measurement, "maxResponseBytes", measurement.maxResponseBytes(), thresholds);
+            if (checkTimings) {
+                checkThreshold(measurement, "longTaskMillis", measurement.longTaskMillis(), thresholds);
+                checkThreshold(measurement, "frameTimeP95Millis", measurement.frameTimeP95Millis(), thresholds);
+            }
+        }
+    }
+
+    private Measurement measureScrolling(int rowCount, int actionCount, ActionGridElement actionGridElement) {
+        @SuppressWarnings("unchecked")
+        var result = (Map<String, Object>) ((JavascriptExecutor) getDriver())
+                .executeAsyncScript(SCROLL_SCRIPT, actionGridElement, SCROLL_FRAMES);
+
+        // the first frame time is measured from before the first step
+        var frameTimes = numbers(result.get("frameTimes")).stream().skip(1).sorted().toList();
+        var longTasks = numbers(result.get("longTasks"));
+        var responseBytes = numbers(result.get("responseBytes"));
+
+        return new Measurement(rowCount, actionCount,
+                ((Number) result.get("maxDomNodes")).longValue(),
+                longTasks.size(),
+                longTasks.stream().mapToDouble(Double::doubleValue).sum(),
+                percentile(frameTimes, 50),
+                percentile(frameTimes, 95),
+                frameTimes.isEmpty() ? 0 : frameTimes.get(frameTimes.size() - 1),
+                responseBytes.size(),
+                (long) responseBytes.stream().mapToDouble(Double::doubleValue).sum(),
+                (long) responseBytes.stream().mapToDouble(Double::doubleValue).max().orElse(0));
+    }
+
+    private void checkThreshold(Measurement measurement, String metric, double value, Properties thresholds) {
+        var threshold = threshold(thresholds, metric, measurement.actionCount());
+        if (value > threshold) {
+            errors.addError(new AssertionError("%s with %d rows and %d actions is %.1f, above its threshold of %.1f."
+                    .formatted(metric, measurement.rowCount(), measurement.actionCount(), value, threshold)));
+        }
+    }
+
+    private static double threshold(Properties thresholds, String metric, int actionCount) {
+        var key = metric + "." + actionCount;
+        return Double.parseDouble(System.getProperty(THRESHOLD_PROPERTY_PREFIX + key, thresholds.getProperty(key)));
+    }
+
+    private static Properties loadThresholds() {
+        var thresholds = new Properties();
+        try (InputStream inputStream = ActionGridPerformanceIT.class.getResourceAsStream(THRESHOLDS_RESOURCE)) {
+            thresholds.load(inputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return thresholds;
+    }
+
+    private static void writeReport(List<Measurement> measurements, Properties thresholds, boolean checkTimings) {
+        var checkedMetrics = new ArrayList<>(DETERMINISTIC_METRICS);
+        if (checkTimings) {
+            checkedMetrics.addAll(TIMING_METRICS);
+        }
+        var results = Json.createArray();
+        for (var measurement : measurements) {
+            var result = measurement.toJson();
+            var resultThresholds = Json.createObject();
+            for (var metric : checkedMetrics) {
+                resultThresholds.put(metric, threshold(thresholds, metric, measurement.actionCount()));
+            }
+            result.put("thresholds", resultThresholds);
+            results.set(results.length(), result);
+        }
+        var report = Json.createObject();
+        report.put("scrollFrames", SCROLL_FRAMES);
+        report.put("timingsChecked", checkTimings);
+        report.put("results", results);
+
+        var reportDirectory = Path.of(System.getProperty(REPORT_DIRECTORY_PROPERTY, "target/performance"));
+        try {
+            Files.createDirectories(reportDirectory);
+            Files.writeString(reportDirectory.resolve(REPORT_FILE_NAME), report.toJson());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<Double> numbers(Object values) {
+        return (values instanceof List<?> list)
+                ? list.stream().map(value -> ((Number) value).doubleValue()).toList()
+                : List.of();
+    }
+
+    private static double percentile(List<Double> sortedValues, double percentile) {
+        if (sortedValues.isEmpty()) {
+            return 0;
+        }
+        var index = (int) Math.ceil((percentile / 100) * sortedValues.size()) - 1;
+        return sortedValues.get(Math.max(0, index));
+    }
+
+    private ActionGridElement performanceActionGridElement() {
+        return $(ActionGridPerformanceViewElement.class)
+                .onPage()
+                .id(ActionGridPerformanceView.VIEW_ID)
+                .performanceActionGridElement();
+    }
+
+
+    private record Measurement(int rowCount, int actionCount,
+                               long maxDomNodes, int longTaskCount, double longTaskMillis,
+                               double frameTimeP50Millis, double frameTimeP95Millis, double frameTimeMaxMillis,
+                               int responseCount, long totalResponseBytes, long maxResponseBytes) {
+
+        JsonObject toJson() {
+            var json = Json.createObject();
+            json.put("rows", rowCount);
+            json.put("actions", actionCount);
+            json.put("maxDomNodes", maxDomNodes);
+            json.put("longTaskCount", longTaskCount);
+            json.put("longTaskMillis", longTaskMillis);
+            json.put("frameTimeP50Millis", frameTimeP50Millis);
+            json.put("frameTimeP95Millis", frameTimeP95Millis);
+            json.put("frameTimeMaxMillis", frameTimeMaxMillis);
+            json.put("responseCount", responseCount);
+            json.put("totalResponseBytes", totalResponseBytes);
+            json.put("maxResponseBytes", maxResponseBytes);
+            return json;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.vaadin.addons.joelpop.it.element.view.performance;
+
+import com.vaadin.flow.component.html.testbench.DivElement;
+import com.vaadin.testbench.annotations.Attribute;
+import org.vaadin.addons.joelpop.it.element.component.ActionGridElement;
+import org.vaadin.addons.joelpop.it.ui.view.performance.ActionGridPerformanceView;
+
+/**
+ * The page model object for ActionGridPerformanceView.
+ */
+@Attribute(name = "id", value = ActionGridPerformanceView.VIEW_ID)
+public class ActionGridPerformanceViewElement extends DivElement {
+
+    /**
+     * Find the performanceActionGrid element.
+     *
+     * @return the performanceActionGrid element
+     */
+    public ActionGridElement performanceActionGridElement() {
+        return $(ActionGridElement.class)
+                .id(ActionGridPerformanceView.PERFORMANCE_ACTION_GRID_ID);
+    }
+}
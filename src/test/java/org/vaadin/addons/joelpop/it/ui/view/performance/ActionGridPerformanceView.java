@@ -0,0 +1,38 @@
+package org.vaadin.addons.joelpop.it.ui.view.performance;
+
+import com.vaadin.flow.router.BeforeEnterEvent;
+import com.vaadin.flow.router.BeforeEnterObserver;
+import com.vaadin.flow.router.Route;
+import org.vaadin.addons.joelpop.content.ActionGridPerformanceViewContent;
+
+/**
+ * Shows a grid sized by the {@value #ROWS_PARAMETER} and {@value #ACTIONS_PARAMETER} query parameters,
+ * e.g., {@code performance?rows=100000&actions=20}.
+ */
+@Route(ActionGridPerformanceView.ROUTE)
+public class ActionGridPerformanceView extends ActionGridPerformanceViewContent implements BeforeEnterObserver {
+
+    public static final String ROUTE = "performance";
+    public static final String ROWS_PARAMETER = "rows";
+    public static final String ACTIONS_PARAMETER = "actions";
+
+    private static final int DEFAULT_ROW_COUNT = 10_000;
+    private static final int DEFAULT_ACTION_COUNT = 1;
+
+    @Override
+    public void beforeEnter(BeforeEnterEvent event) {
+        var parameters = event.getLocation().getQueryParameters();
+        var rowCount = parameters.getSingleParameter(ROWS_PARAMETER)
+                .map(Integer::parseInt)
+                .orElse(DEFAULT_ROW_COUNT);
+        var actionCount = parameters.getSingleParameter(ACTIONS_PARAMETER)
+                .map(Integer::parseInt)
+                .orElse(DEFAULT_ACTION_COUNT);
+
+        showActionGrid(rowCount, actionCount);
+    }
+
+    public static String route(int rowCount, int actionCount) {
+        return "%s?%s=%d&%s=%d".formatted(ROUTE, ROWS_PARAMETER, rowCount, ACTIONS_PARAMETER, actionCount);
+    }
+}
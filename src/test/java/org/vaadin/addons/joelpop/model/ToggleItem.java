@@ -1,6 +1,8 @@
 package org.vaadin.addons.joelpop.model;
 
-public class ToggleItem {
+import java.io.Serializable;
+
+public class ToggleItem implements Serializable {
     private String name;
     private String info;
     private boolean on;
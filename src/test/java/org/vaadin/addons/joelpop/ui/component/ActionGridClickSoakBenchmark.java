@@ -0,0 +1,252 @@
+package org.vaadin.addons.joelpop.ui.component;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.internal.CurrentInstance;
+import com.vaadin.flow.server.VaadinService;
+import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.testbench.unit.UIUnit4Test;
+import com.vaadin.testbench.unit.ViewPackages;
+import elemental.json.Json;
+import org.junit.Test;
+import org.vaadin.addons.joelpop.model.ToggleItem;
+import org.vaadin.addons.joelpop.unit.tester.ActionGridTester;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Soak test of the click throughput of one node: hundreds of simulated sessions, each with its own UI and grid,
+ * receive clicks at a fixed rate from a pool of request threads, as a servlet container would deliver them.
+ * <p>
+ * Clicks go through {@link ActionGridTester#clickActionForRow(int, String)} while holding the session lock,
+ * and their handlers toggle the item, spin for a configurable time and refresh the item.
+ * Clicks are scheduled regardless of how many are still being handled, and their latency is measured
+ * from when they were scheduled, so that a stalled node shows up in the latency instead of slowing the rate.
+ * <p>
+ * Reports the throughput, the latency and session lock wait percentiles, the handler durations
+ * and the heap growth, to {@code target/performance/action-grid-click-soak.json},
+ * as the baseline to compare concurrency changes in {@link ActionGrid} against.
+ * <p>
+ * Not part of the regular test run; run it with
+ * {@code mvn test -Dtest=ActionGridClickSoakBenchmark}, optionally setting
+ * {@code -Dsoak.sessions}, {@code -Dsoak.clicksPerSecond}, {@code -Dsoak.durationSeconds},
+ * {@code -Dsoak.handlerMicros} and {@code -Dsoak.requestThreads}.
+ */
+@ViewPackages(packages = { "org.vaadin.addons.joelpop.unit.view" })
+public class ActionGridClickSoakBenchmark extends UIUnit4Test {
+    private static final String TOGGLE_ACTION_KEY = "toggle";
+    private static final int ROW_COUNT = 100;
+    private static final int WARMUP_CLICKS = 10_000;
+
+    private static final int SESSIONS = Integer.getInteger("soak.sessions", 200);
+    private static final int CLICKS_PER_SECOND = Integer.getInteger("soak.clicksPerSecond", 2_000);
+    private static final int DURATION_SECONDS = Integer.getInteger("soak.durationSeconds", 30);
+    private static final int HANDLER_MICROS = Integer.getInteger("soak.handlerMicros", 200);
+    private static final int REQUEST_THREADS = Integer.getInteger("soak.requestThreads", 64);
+
+    private static final String REPORT_DIRECTORY_PROPERTY = "performance.reportDirectory";
+    private static final String REPORT_FILE_NAME = "action-grid-click-soak.json";
+
+    @Test
+    public void soak() throws InterruptedException {
+        var metrics = new InMemoryActionGridMetrics();
+        var heapBeforeSessions = usedHeapAfterGc();
+        var service = VaadinService.getCurrent();
+        var sessions = IntStream.range(0, SESSIONS)
+                .mapToObj(i -> new SimulatedSession(service, metrics))
+                .toList();
+        var heapBeforeClicks = usedHeapAfterGc();
+
+        // warm up as fast as possible, then measure at the configured rate
+        clickRandomly(sessions, WARMUP_CLICKS, 0, new InMemoryActionGridMetrics.Histogram(),
+                new InMemoryActionGridMetrics.Histogram());
+        metrics.reset();
+
+        var clickCount = (long) CLICKS_PER_SECOND * DURATION_SECONDS;
+        var latencies = new InMemoryActionGridMetrics.Histogram();
+        var lockWaits = new InMemoryActionGridMetrics.Histogram();
+        var elapsedNanos = clickRandomly(sessions, clickCount,
+                TimeUnit.SECONDS.toNanos(1) / CLICKS_PER_SECOND, latencies, lockWaits);
+        var heapAfterClicks = usedHeapAfterGc();
+        Reference.reachabilityFence(sessions);
+
+        var result = new Result(clickCount, elapsedNanos, latencies, lockWaits,
+                metrics.getClickDurations(TOGGLE_ACTION_KEY),
+                (heapBeforeClicks - heapBeforeSessions) / SESSIONS, heapAfterClicks - heapBeforeClicks);
+        writeReport(result);
+
+        assertEquals(clickCount, metrics.getClickDurations(TOGGLE_ACTION_KEY).getCount());
+        assertEquals(0, metrics.getClickFailures(TOGGLE_ACTION_KEY));
+    }
+
+    /**
+     * Click random rows of random sessions from the request threads, one click every interval.
+     *
+     * @return the nanoseconds elapsed until all clicks were handled
+     */
+    private static long clickRandomly(List<SimulatedSession> sessions, long clickCount, long intervalNanos,
+                                      InMemoryActionGridMetrics.Histogram latencies,
+                                      InMemoryActionGridMetrics.Histogram lockWaits) throws InterruptedException {
+        var requestThreads = Executors.newFixedThreadPool(REQUEST_THREADS);
+        var start = System.nanoTime();
+        for (long click = 0; click < clickCount; click++) {
+            var scheduled = start + (click * intervalNanos);
+            LockSupport.parkNanos(scheduled - System.nanoTime());
+            var random = ThreadLocalRandom.current();
+            var session = sessions.get(random.nextInt(sessions.size()));
+            var row = random.nextInt(ROW_COUNT);
+            requestThreads.execute(() -> {
+                session.click(row, lockWaits);
+                latencies.record(System.nanoTime() - scheduled);
+            });
+        }
+        requestThreads.shutdown();
+        assertTrue("clicks still being handled a minute after the last was scheduled.",
+                requestThreads.awaitTermination(1, TimeUnit.MINUTES));
+        return System.nanoTime() - start;
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static void spin(long nanos) {
+        var end = System.nanoTime() + nanos;
+        while (System.nanoTime() < end) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void writeReport(Result result) {
+        var report = Json.createObject();
+        report.put("sessions", SESSIONS);
+        report.put("clicksPerSecond", CLICKS_PER_SECOND);
+        report.put("durationSeconds", DURATION_SECONDS);
+        report.put("handlerMicros", HANDLER_MICROS);
+        report.put("requestThreads", REQUEST_THREADS);
+        report.put("clicks", result.clickCount());
+        report.put("throughput", result.throughput());
+        report.put("latencyP50Millis", millis(result.latencies().getValueAtPercentile(50)));
+        report.put("latencyP99Millis", millis(result.latencies().getValueAtPercentile(99)));
+        report.put("latencyP999Millis", millis(result.latencies().getValueAtPercentile(99.9)));
+        report.put("latencyMaxMillis", millis(result.latencies().getMax()));
+        report.put("lockWaitP50Millis", millis(result.lockWaits().getValueAtPercentile(50)));
+        report.put("lockWaitP99Millis", millis(result.lockWaits().getValueAtPercentile(99)));
+        report.put("lockWaitMaxMillis", millis(result.lockWaits().getMax()));
+        report.put("handlerP99Millis", millis(result.handlerDurations().getValueAtPercentile(99)));
+        report.put("sessionBytes", result.sessionBytes());
+        report.put("heapGrowthBytes", result.heapGrowthBytes());
+
+        var reportDirectory = Path.of(System.getProperty(REPORT_DIRECTORY_PROPERTY, "target/performance"));
+        try {
+            Files.createDirectories(reportDirectory);
+            Files.writeString(reportDirectory.resolve(REPORT_FILE_NAME), report.toJson());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+
+    /**
+     * A session with its own lock, UI and grid, clicked from any request thread.
+     */
+    private static final class SimulatedSession {
+        private final VaadinSession session;
+        private final UI ui;
+        private final ActionGridTester<ActionGrid<ToggleItem>, ToggleItem> tester;
+
+        SimulatedSession(VaadinService service, ActionGridMetrics metrics) {
+            session = new SimulatedVaadinSession(service);
+            ui = new UI();
+            var actionGrid = new ActionGrid<ToggleItem>();
+            actionGrid.setMetrics(metrics);
+            actionGrid.addColumn(ToggleItem::getName);
+            actionGrid.addAction(TOGGLE_ACTION_KEY)
+                    .setTooltip(item -> item.isOn() ? "On" : "Off")
+                    .setVisible(ToggleItem::isVisible)
+                    .setEnabled(ToggleItem::isEnabled)
+                    .addClickHandler(item -> {
+                        item.setOn(!item.isOn());
+                        spin(TimeUnit.MICROSECONDS.toNanos(HANDLER_MICROS));
+                        actionGrid.getDataProvider().refreshItem(item);
+                    });
+            actionGrid.setItems(IntStream.range(0, ROW_COUNT)
+                    .mapToObj(row -> new ToggleItem("Item " + row, "", false, true, true))
+                    .toList());
+            tester = new ActionGridTester<>(actionGrid);
+            withLock(() -> {
+                ui.getInternals().setSession(session);
+                ui.add(actionGrid);
+            });
+        }
+
+        void click(int row, InMemoryActionGridMetrics.Histogram lockWaits) {
+            var lockStart = System.nanoTime();
+            withLock(() -> {
+                lockWaits.record(System.nanoTime() - lockStart);
+                tester.clickActionForRow(row, TOGGLE_ACTION_KEY);
+            });
+        }
+
+        private void withLock(Runnable runnable) {
+            session.lock();
+            var previousInstances = CurrentInstance.setCurrent(ui);
+            try {
+                runnable.run();
+            }
+            finally {
+                session.unlock();
+                CurrentInstance.restoreInstances(previousInstances);
+            }
+        }
+    }
+
+    /**
+     * A session locked by a lock of its own, rather than one kept in an HTTP session.
+     */
+    private static final class SimulatedVaadinSession extends VaadinSession {
+        private final ReentrantLock lock;
+
+        SimulatedVaadinSession(VaadinService service) {
+            super(service);
+            lock = new ReentrantLock();
+        }
+
+        @Override
+        public Lock getLockInstance() {
+            return lock;
+        }
+    }
+
+
+    private record Result(long clickCount, long elapsedNanos,
+                          InMemoryActionGridMetrics.Histogram latencies,
+                          InMemoryActionGridMetrics.Histogram lockWaits,
+                          InMemoryActionGridMetrics.Histogram handlerDurations,
+                          long sessionBytes, long heapGrowthBytes) {
+
+        double throughput() {
+            return clickCount / (elapsedNanos / 1_000_000_000.0);
+        }
+    }
+}
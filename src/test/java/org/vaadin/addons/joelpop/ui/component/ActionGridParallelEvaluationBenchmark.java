@@ -0,0 +1,97 @@
+package org.vaadin.addons.joelpop.ui.component;
+
+import elemental.json.Json;
+import org.junit.Assume;
+import org.junit.Test;
+import org.vaadin.addons.joelpop.model.ToggleItem;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Benchmark of evaluating the action states of a fetched page sequentially vs. in parallel.
+ * <p>
+ * Reports the durations to {@code target/performance/action-grid-parallel-evaluation.json}.
+ * <p>
+ * Not part of the regular test run; run it with
+ * {@code mvn test -Dtest=ActionGridParallelEvaluationBenchmark}.
+ */
+public class ActionGridParallelEvaluationBenchmark {
+    private static final int PAGE_SIZE = 100;
+    private static final long PROVIDER_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final int ROUNDS = 10;
+
+    private static final String REPORT_DIRECTORY_PROPERTY = "performance.reportDirectory";
+    private static final String REPORT_FILE_NAME = "action-grid-parallel-evaluation.json";
+
+    @Test
+    public void evaluatePage() {
+        var actionGrid = new ActionGrid<ToggleItem>();
+        actionGrid.addAction("expensive")
+                .setEnabled(item -> {
+                    spin(PROVIDER_NANOS);
+                    return item.isEnabled();
+                });
+        var actions = actionGrid.getActions();
+        var items = IntStream.range(0, PAGE_SIZE)
+                .mapToObj(i -> new ToggleItem("Item " + i, "", false, true, (i % 2) == 0))
+                .toList();
+
+        // warm up
+        evaluateSequentially(actions, items);
+        actionGrid.evaluateActionStates(actions, items);
+
+        var sequentialNanos = bestOf(() -> evaluateSequentially(actions, items));
+        var parallelNanos = bestOf(() -> actionGrid.evaluateActionStates(actions, items));
+
+        writeReport(sequentialNanos, parallelNanos);
+
+        Assume.assumeTrue(Runtime.getRuntime().availableProcessors() >= 4);
+        assertTrue(parallelNanos < sequentialNanos / 2);
+    }
+
+    private static void evaluateSequentially(List<ActionGrid<ToggleItem>.Action> actions, List<ToggleItem> items) {
+        items.forEach(item -> actions.forEach(action -> action.evaluateStateFor(item)));
+    }
+
+    private static long bestOf(Runnable evaluation) {
+        var best = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++) {
+            var start = System.nanoTime();
+            evaluation.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    private static void writeReport(long sequentialNanos, long parallelNanos) {
+        var report = Json.createObject();
+        report.put("rows", PAGE_SIZE);
+        report.put("providerMillis", TimeUnit.NANOSECONDS.toMillis(PROVIDER_NANOS));
+        report.put("processors", Runtime.getRuntime().availableProcessors());
+        report.put("sequentialMillis", TimeUnit.NANOSECONDS.toMillis(sequentialNanos));
+        report.put("parallelMillis", TimeUnit.NANOSECONDS.toMillis(parallelNanos));
+
+        var reportDirectory = Path.of(System.getProperty(REPORT_DIRECTORY_PROPERTY, "target/performance"));
+        try {
+            Files.createDirectories(reportDirectory);
+            Files.writeString(reportDirectory.resolve(REPORT_FILE_NAME), report.toJson());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void spin(long nanos) {
+        var end = System.nanoTime() + nanos;
+        while (System.nanoTime() < end) {
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package org.vaadin.addons.joelpop.ui.component;
+
+import com.vaadin.flow.component.icon.VaadinIcon;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.openjdk.jol.info.ClassLayout;
+import org.openjdk.jol.info.GraphLayout;
+import org.vaadin.addons.joelpop.model.ToggleItem;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Measures the heap retained by an {@link ActionGrid} with JOL,
+ * keeping its footprint from growing across releases.
+ * <p>
+ * When a change shrinks the footprint, lower the budgets to keep it there.
+ */
+public class ActionGridRetainedSizeTest {
+    private static final int ACTION_COUNT = 10;
+    private static final int ROW_COUNT = 10_000;
+
+    private static final long EMPTY_GRID_BUDGET = 64 * 1024;
+    private static final long ACTION_BUDGET = 8 * 1024;
+    private static final long LOADED_ROW_BUDGET = 32 * ACTION_COUNT;
+
+    // how far the estimate may be off the measured retained size
+    private static final double ESTIMATE_TOLERANCE = 0.25;
+
+    private static String magicFieldOffset;
+
+    @BeforeClass
+    public static void enableHiddenClassLayouts() {
+        // lambdas are hidden classes, whose field offsets JOL cannot otherwise read
+        magicFieldOffset = System.setProperty("jol.magicFieldOffset", "true");
+    }
+
+    @AfterClass
+    public static void restoreHiddenClassLayouts() {
+        if (magicFieldOffset == null) {
+            System.clearProperty("jol.magicFieldOffset");
+        } else {
+            System.setProperty("jol.magicFieldOffset", magicFieldOffset);
+        }
+    }
+
+    @Test
+    public void emptyGridStaysWithinBudget() {
+        var retainedSize = retainedSize(new ActionGrid<ToggleItem>(), List.of());
+
+        assertWithinBudget("an empty grid", retainedSize, EMPTY_GRID_BUDGET);
+    }
+
+    @Test
+    public void eachActionStaysWithinBudget() {
+        var actionlessSize = retainedSize(actionGrid(0), List.of());
+        var retainedSize = retainedSize(actionGrid(ACTION_COUNT), List.of());
+
+        assertWithinBudget("each action", (retainedSize - actionlessSize) / ACTION_COUNT, ACTION_BUDGET);
+    }
+
+    @Test
+    public void eachLoadedRowStaysWithinBudget() {
+        var items = items();
+        var actionGrid = actionGrid(ACTION_COUNT);
+        actionGrid.setItems(items);
+        actionGrid.setActionStateStoreEnabled(true);
+        var unloadedSize = retainedSize(actionGrid, items);
+
+        assertNotNull(actionGrid.actionStateStore());
+        var loadedSize = retainedSize(actionGrid, items);
+
+        assertWithinBudget("each loaded row", (loadedSize - unloadedSize) / ROW_COUNT, LOADED_ROW_BUDGET);
+    }
+
+    @Test
+    public void estimateIsCloseToRetainedSize() {
+        var items = items();
+        var actionGrid = actionGrid(ACTION_COUNT);
+        actionGrid.setItems(items);
+        actionGrid.setActionStateStoreEnabled(true);
+        assertNotNull(actionGrid.actionStateStore());
+
+        assertEstimateIsClose(new ActionGrid<>(), List.of());
+        assertEstimateIsClose(actionGrid(ACTION_COUNT), List.of());
+        assertEstimateIsClose(actionGrid, items);
+    }
+
+    @Test
+    public void shallowSizesMatchLayouts() {
+        assertShallowSize(ActionGrid.Action.class, MemoryEstimates.ACTION);
+        assertShallowSize(ActionConfiguration.class, MemoryEstimates.ACTION_CONFIGURATION);
+        assertShallowSize(ActionGrid.ToggleAction.class, MemoryEstimates.TOGGLE_ACTION);
+        assertShallowSize(ActionGrid.ActionState.class, MemoryEstimates.ACTION_STATE);
+        assertShallowSize(ActionStateStore.class, MemoryEstimates.ACTION_STATE_STORE);
+    }
+
+    private static ActionGrid<ToggleItem> actionGrid(int actionCount) {
+        var actionGrid = new ActionGrid<ToggleItem>();
+        actionGrid.addColumn(ToggleItem::getName);
+        IntStream.range(0, actionCount).forEach(actionIndex -> actionGrid.addAction("action" + actionIndex)
+                .setIcon(item -> item.isOn() ? VaadinIcon.CHECK.create() : VaadinIcon.CLOSE.create())
+                .setClassName(item -> item.isOn() ? "on" : "off")
+                .setTooltip(item -> item.isOn() ? "On" : "Off")
+                .setAccessibleName("Toggle item state.")
+                .setVisible(ToggleItem::isVisible)
+                .setEnabled(ToggleItem::isEnabled)
+                .addClickHandler(item -> item.setOn(!item.isOn())));
+        return actionGrid;
+    }
+
+    private static List<ToggleItem> items() {
+        return IntStream.range(0, ROW_COUNT)
+                .mapToObj(row -> new ToggleItem("Item " + row, "", (row % 2) == 0, (row % 3) != 0, (row % 5) != 0))
+                .toList();
+    }
+
+    /**
+     * Return the size of the grid's object graph without the items, which are retained by whoever provides them.
+     */
+    private static long retainedSize(ActionGrid<ToggleItem> actionGrid, List<ToggleItem> items) {
+        return GraphLayout.parseInstance(actionGrid)
+                .subtract(GraphLayout.parseInstance(items))
+                .totalSize();
+    }
+
+    private static void assertWithinBudget(String measured, long retainedSize, long budget) {
+        assertTrue("%s retains %,d bytes, over its budget of %,d bytes.".formatted(measured, retainedSize, budget),
+                retainedSize <= budget);
+    }
+
+    private static void assertShallowSize(Class<?> type, long shallowSize) {
+        assertEquals("the shallow size of " + type.getSimpleName(), ClassLayout.parseClass(type).instanceSize(), shallowSize);
+    }
+
+    private static void assertEstimateIsClose(ActionGrid<ToggleItem> actionGrid, List<ToggleItem> items) {
+        var retainedSize = retainedSize(actionGrid, items);
+        var estimate = actionGrid.estimateRetainedSize();
+
+        assertTrue("the estimate of %,d bytes is not within %.0f%% of the retained %,d bytes."
+                        .formatted(estimate, ESTIMATE_TOLERANCE * 100, retainedSize),
+                Math.abs(estimate - retainedSize) <= retainedSize * ESTIMATE_TOLERANCE);
+    }
+}
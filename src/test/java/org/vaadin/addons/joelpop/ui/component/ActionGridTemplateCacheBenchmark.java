@@ -0,0 +1,122 @@
+package org.vaadin.addons.joelpop.ui.component;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.icon.VaadinIcon;
+import elemental.json.Json;
+import org.junit.Test;
+import org.vaadin.addons.joelpop.model.ToggleItem;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Benchmark of building 1,000 identical grids, as when many users open the same view,
+ * with each grid generating its action column's templates vs. sharing them through the template cache.
+ * <p>
+ * Reports the CPU time and allocations to {@code target/performance/action-grid-template-cache.json}.
+ * <p>
+ * Not part of the regular test run; run it with
+ * {@code mvn test -Dtest=ActionGridTemplateCacheBenchmark}.
+ */
+public class ActionGridTemplateCacheBenchmark {
+    private static final int GRID_COUNT = 1_000;
+    private static final int ACTION_COUNT = 10;
+    private static final int ROUNDS = 5;
+
+    private static final String REPORT_DIRECTORY_PROPERTY = "performance.reportDirectory";
+    private static final String REPORT_FILE_NAME = "action-grid-template-cache.json";
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    public void buildIdenticalGrids() {
+        // warm up
+        buildGrids(false);
+        buildGrids(true);
+
+        var uncached = bestOf(() -> buildGrids(false));
+        var cached = bestOf(() -> buildGrids(true));
+
+        writeReport(uncached, cached);
+
+        assertTrue(cached.allocatedBytes() < uncached.allocatedBytes());
+
+        // one template, whatever the number of grids
+        ActionGrid.TEMPLATE_CACHE.clear();
+        buildGrids(true);
+        assertEquals(1, ActionGrid.TEMPLATE_CACHE.size());
+    }
+
+    private static void buildGrids(boolean cached) {
+        for (int i = 0; i < GRID_COUNT; i++) {
+            if (!cached) {
+                ActionGrid.TEMPLATE_CACHE.clear();
+            }
+            buildGrid();
+        }
+    }
+
+    /**
+     * Build a grid the way a view does, configuring its actions and then attaching it,
+     * which builds the action column.
+     */
+    private static ActionGrid<ToggleItem> buildGrid() {
+        var actionGrid = new ActionGrid<ToggleItem>();
+        actionGrid.addColumn(ToggleItem::getName);
+        for (int i = 0; i < ACTION_COUNT; i++) {
+            actionGrid.addAction("action" + i)
+                    .setIcon(item -> item.isOn() ? VaadinIcon.CHECK.create() : VaadinIcon.CLOSE.create())
+                    .setClassName(item -> item.isOn() ? "on" : "off")
+                    .setTooltip(item -> item.isOn() ? "On" : "Off")
+                    .setAccessibleName("Toggle item state.")
+                    .setVisible(ToggleItem::isVisible)
+                    .setEnabled(ToggleItem::isEnabled)
+                    .addClickHandler(item -> item.setOn(!item.isOn()));
+        }
+        new UI().add(actionGrid);
+        return actionGrid;
+    }
+
+    private static Measurement bestOf(Runnable building) {
+        var best = new Measurement(Long.MAX_VALUE, Long.MAX_VALUE);
+        var threadId = Thread.currentThread().getId();
+        for (int i = 0; i < ROUNDS; i++) {
+            var startCpuNanos = THREADS.getCurrentThreadCpuTime();
+            var startAllocatedBytes = THREADS.getThreadAllocatedBytes(threadId);
+            building.run();
+            best = new Measurement(Math.min(best.cpuNanos(), THREADS.getCurrentThreadCpuTime() - startCpuNanos),
+                    Math.min(best.allocatedBytes(), THREADS.getThreadAllocatedBytes(threadId) - startAllocatedBytes));
+        }
+        return best;
+    }
+
+    private static void writeReport(Measurement uncached, Measurement cached) {
+        var report = Json.createObject();
+        report.put("grids", GRID_COUNT);
+        report.put("actions", ACTION_COUNT);
+        report.put("uncachedCpuMillis", TimeUnit.NANOSECONDS.toMillis(uncached.cpuNanos()));
+        report.put("uncachedAllocatedBytes", uncached.allocatedBytes());
+        report.put("cachedCpuMillis", TimeUnit.NANOSECONDS.toMillis(cached.cpuNanos()));
+        report.put("cachedAllocatedBytes", cached.allocatedBytes());
+
+        var reportDirectory = Path.of(System.getProperty(REPORT_DIRECTORY_PROPERTY, "target/performance"));
+        try {
+            Files.createDirectories(reportDirectory);
+            Files.writeString(reportDirectory.resolve(REPORT_FILE_NAME), report.toJson());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+
+    private record Measurement(long cpuNanos, long allocatedBytes) {
+    }
+}
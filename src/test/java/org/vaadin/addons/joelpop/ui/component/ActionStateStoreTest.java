@@ -0,0 +1,96 @@
+package org.vaadin.addons.joelpop.ui.component;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ActionStateStoreTest {
+    private static final int ROWS = 1000;
+    private static final int MILLION_ROWS = 1_000_000;
+    private static final int MILLION_ROW_COLUMNS = 3;
+    // the id index and, per column, the dictionary indexes and bitsets
+    private static final long MILLION_ROW_BUDGET = 64L * 1024 * 1024;
+
+    @Test
+    public void storeAndRead() {
+        var columnKeys = List.of(new Object(), new Object());
+        var ids = IntStream.range(0, ROWS).mapToObj(i -> "id" + i).toList();
+        var store = new ActionStateStore("source", columnKeys, ids);
+
+        for (int row = 0; row < ROWS; row++) {
+            store.store(0, row, new ActionGrid.ActionState("vaadin:edit", (row % 2 == 0) ? "even" : "odd",
+                    "Edit", null, row % 3 == 0, row % 5 == 0));
+            store.store(1, row, new ActionGrid.ActionState("", "", "Delete " + row, "Delete", true, false));
+        }
+
+        assertEquals("source", store.getSource());
+        assertEquals(ROWS, store.getRowCount());
+        assertEquals(1, store.columnOf(columnKeys.get(1)));
+        assertEquals(-1, store.columnOf(new Object()));
+        assertEquals(-1, store.rowOf("unknown"));
+
+        for (int i = 0; i < ROWS; i++) {
+            var row = store.rowOf("id" + i);
+            assertEquals(i, row);
+            assertEquals("vaadin:edit", store.iconName(0, row));
+            assertEquals((i % 2 == 0) ? "even" : "odd", store.className(0, row));
+            assertNull(store.tooltip(0, row));
+            assertEquals(i % 3 == 0, store.visible(0, row));
+            assertEquals(i % 5 == 0, store.enabled(0, row));
+            assertEquals("Delete " + i, store.ariaLabel(1, row));
+            assertTrue(store.visible(1, row));
+            assertFalse(store.enabled(1, row));
+        }
+
+        // strings are kept once however often they are stored
+        assertEquals(6 + ROWS, store.getDictionarySize());
+    }
+
+    @Test
+    public void storeOverwrites() {
+        var columnKey = new Object();
+        var store = new ActionStateStore("source", List.of(columnKey), List.of("a", "b"));
+
+        store.store(0, 1, new ActionGrid.ActionState("", "on", "", "", true, true));
+        store.store(0, 1, new ActionGrid.ActionState("", "off", "", "", false, true));
+
+        assertEquals("off", store.className(0, 1));
+        assertFalse(store.visible(0, 1));
+        assertTrue(store.enabled(0, 1));
+        assertFalse(store.visible(0, 0));
+    }
+
+    @Test
+    public void duplicateIdsAreFoundAtTheirFirstRow() {
+        var store = new ActionStateStore("source", List.of(new Object()), List.of("a", "b", "a"));
+
+        assertEquals(0, store.rowOf("a"));
+        assertEquals(1, store.rowOf("b"));
+    }
+
+    @Test
+    public void millionRowsStayWithinBudget() {
+        var columnKeys = IntStream.range(0, MILLION_ROW_COLUMNS).mapToObj(column -> new Object()).toList();
+        var ids = IntStream.range(0, MILLION_ROWS).boxed().toList();
+        var store = new ActionStateStore("source", columnKeys, ids);
+        for (int row = 0; row < MILLION_ROWS; row++) {
+            for (int column = 0; column < MILLION_ROW_COLUMNS; column++) {
+                store.store(column, row, new ActionGrid.ActionState("vaadin:edit", (row % 2 == 0) ? "even" : "odd",
+                        "Edit", "Edit the row", row % 3 == 0, row % 5 == 0));
+            }
+        }
+
+        var retainedSize = store.estimateRetainedSize(Collections.newSetFromMap(new IdentityHashMap<>()));
+        assertTrue("a million rows of %d actions retain %,d bytes, over their budget of %,d bytes."
+                        .formatted(MILLION_ROW_COLUMNS, retainedSize, MILLION_ROW_BUDGET),
+                retainedSize <= MILLION_ROW_BUDGET);
+    }
+}
@@ -0,0 +1,43 @@
+package org.vaadin.addons.joelpop.ui.component;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+public class PayloadAccountingTest {
+
+    @Test
+    public void countPerActionAndProperty() {
+        var payloadAccounting = new PayloadAccounting();
+
+        // "lr_0123456789abcdef_editTooltip":"Edit this item",
+        payloadAccounting.count("edit", ActionProperty.TOOLTIP, "Edit this item");
+        // "lr_0123456789abcdef_editVisible":true,
+        payloadAccounting.count("edit", ActionProperty.VISIBLE, true);
+        // "lr_0123456789abcdef_deleteClassName":null,
+        payloadAccounting.count("delete", ActionProperty.CLASS_NAME, null);
+        payloadAccounting.rangeSent(1);
+
+        var tooltipBytes = 20 + "editTooltip".length() + 4 + "\"Edit this item\"".length();
+        var visibleBytes = 20 + "editVisible".length() + 4 + "true".length();
+        var classNameBytes = 20 + "deleteClassName".length() + 4 + "null".length();
+        assertEquals(tooltipBytes, payloadAccounting.getBytes("edit", ActionProperty.TOOLTIP));
+        assertEquals(tooltipBytes + visibleBytes, payloadAccounting.getBytes("edit"));
+        assertEquals(0, payloadAccounting.getBytes("view"));
+        assertEquals(tooltipBytes + visibleBytes + classNameBytes, payloadAccounting.getTotalBytes());
+        assertEquals(payloadAccounting.getTotalBytes(), payloadAccounting.getLastRangeBytes());
+        assertEquals(1, payloadAccounting.getRanges());
+        assertEquals(1, payloadAccounting.getRows());
+
+        var top = payloadAccounting.getTopContributions(2);
+        assertEquals(2, top.size());
+        assertEquals(new PayloadAccounting.Contribution("edit", ActionProperty.TOOLTIP, tooltipBytes), top.get(0));
+        assertEquals("delete", top.get(1).actionKey());
+        assertThrows(IllegalArgumentException.class, () -> payloadAccounting.getTopContributions(-1));
+
+        payloadAccounting.reset();
+        assertEquals(0, payloadAccounting.getTotalBytes());
+        assertEquals(0, payloadAccounting.getTopContributions(10).size());
+    }
+}
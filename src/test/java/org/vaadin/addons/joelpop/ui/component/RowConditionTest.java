@@ -0,0 +1,39 @@
+package org.vaadin.addons.joelpop.ui.component;
+
+import org.junit.Test;
+import org.vaadin.addons.joelpop.model.ToggleItem;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+public class RowConditionTest {
+
+    @Test
+    public void toJavaScript() {
+        var on = RowProperty.of("on", ToggleItem::isOn);
+        var visible = RowProperty.of("visible", ToggleItem::isVisible);
+        var name = RowProperty.of("name", ToggleItem::getName);
+
+        assertEquals("((row.on === true) && !(row.visible === false))",
+                on.isTrue().and(visible.isFalse().negate()).toJavaScript("row"));
+        assertEquals("((row.on === null) || (row.name === 'It\\u0027s \\u003cb\\u003e'))",
+                on.isNull().or(name.isEqualTo("It's <b>")).toJavaScript("row"));
+        assertEquals(List.of(on, visible), on.isTrue().and(visible.isTrue()).and(on.isFalse()).getProperties());
+    }
+
+    @Test
+    public void nameIsUsedByOneValueProviderOnly() {
+        var on = RowProperty.of("on", ToggleItem::isOn);
+        var otherOn = RowProperty.of("on", ToggleItem::isEnabled);
+
+        assertEquals(List.of(on), on.isTrue().or(on.isNull()).getProperties());
+        assertThrows(IllegalArgumentException.class, () -> on.isTrue().and(otherOn.isTrue()));
+
+        var actionGrid = new ActionGrid<ToggleItem>();
+        actionGrid.addAction("toggle").setVisibleWhen(on.isTrue());
+        actionGrid.addAction("reset").setEnabledWhen(on.isFalse());
+        assertThrows(IllegalArgumentException.class, () -> actionGrid.addAction("delete").setEnabledWhen(otherOn.isTrue()));
+    }
+}
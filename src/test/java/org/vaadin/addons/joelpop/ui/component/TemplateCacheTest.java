@@ -0,0 +1,41 @@
+package org.vaadin.addons.joelpop.ui.component;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+public class TemplateCacheTest {
+
+    @Test
+    public void identicalLayoutsShareOneTemplate() {
+        var cache = new TemplateCache<String>(4);
+        var generations = new AtomicInteger();
+
+        var template = cache.get("layout", layout -> {
+            generations.incrementAndGet();
+            return new String("<" + layout + ">");
+        });
+
+        assertSame(template, cache.get(new String("layout"), layout -> {
+            generations.incrementAndGet();
+            return new String("<" + layout + ">");
+        }));
+        assertEquals(1, generations.get());
+    }
+
+    @Test
+    public void cacheIsBounded() {
+        var cache = new TemplateCache<Integer>(4);
+
+        for (int layout = 0; layout < 10; layout++) {
+            assertEquals("<" + layout + ">", cache.get(layout, l -> "<" + l + ">"));
+        }
+
+        assertEquals(4, cache.size());
+        assertThrows(IllegalArgumentException.class, () -> new TemplateCache<Integer>(0));
+    }
+}
@@ -0,0 +1,187 @@
+package org.vaadin.addons.joelpop.unit.cases;
+
+import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.testbench.unit.UIUnit4Test;
+import com.vaadin.testbench.unit.ViewPackages;
+import org.junit.Test;
+import org.vaadin.addons.joelpop.model.ToggleItem;
+import org.vaadin.addons.joelpop.ui.component.ActionAuditRecord;
+import org.vaadin.addons.joelpop.ui.component.ActionAuditTrail;
+import org.vaadin.addons.joelpop.ui.component.ActionGrid;
+import org.vaadin.addons.joelpop.ui.component.RollingFileAuditSink;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@ViewPackages(packages = { "org.vaadin.addons.joelpop.unit.view" })
+public class ActionAuditTrailTest extends UIUnit4Test {
+
+    @Test
+    public void clicksAreRecordedInBatches() throws IOException {
+        var batches = new CopyOnWriteArrayList<List<ActionAuditRecord>>();
+        var enabledItem = new ToggleItem("Off/Visible/Enabled", "", false, true, true);
+        var disabledItem = new ToggleItem("Off/Visible/Disabled", "", false, true, false);
+        var actionGrid = new ActionGrid<ToggleItem>();
+        actionGrid.setItems(List.of(enabledItem, disabledItem));
+        var action = actionGrid.addAction("toggle")
+                .setEnabled(ToggleItem::isEnabled)
+                .addClickHandler(item -> item.setOn(!item.isOn()));
+
+        try (var auditTrail = ActionAuditTrail.builder(batches::add)
+                .withBatchSize(2)
+                .withFlushInterval(Duration.ofMinutes(1))
+                .withUserProvider(() -> "alice")
+                .build()) {
+            actionGrid.setAuditTrail(auditTrail);
+            action.onClickFor(enabledItem);
+            action.onClickFor(disabledItem);
+            action.onClickFor(enabledItem);
+        }
+
+        // a full batch without waiting for the flush interval, then the rest on close
+        assertEquals(List.of(2, 1), batches.stream().map(List::size).toList());
+        var records = batches.stream().flatMap(List::stream).toList();
+        assertEquals(List.of(ActionAuditRecord.Outcome.HANDLED, ActionAuditRecord.Outcome.REJECTED,
+                ActionAuditRecord.Outcome.HANDLED), records.stream().map(ActionAuditRecord::outcome).toList());
+        assertEquals(String.valueOf(enabledItem), records.get(0).itemId());
+        assertEquals("alice", records.get(0).user());
+        assertEquals("toggle", records.get(0).actionKey());
+    }
+
+    @Test
+    public void overflowingRecordsAreDropped() throws IOException, InterruptedException {
+        var writing = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var auditTrail = ActionAuditTrail.builder(records -> {
+                    writing.countDown();
+                    try {
+                        release.await();
+                    }
+                    catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                })
+                .withCapacity(2)
+                .withBatchSize(1)
+                .withOverflowPolicy(ActionAuditTrail.OverflowPolicy.DROP_NEWEST)
+                .build();
+
+        // the writer blocks on the first record, then the buffer fills up
+        assertTrue(auditTrail.record(auditRecord()));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        assertTrue(auditTrail.record(auditRecord()));
+        assertTrue(auditTrail.record(auditRecord()));
+        assertFalse(auditTrail.record(auditRecord()));
+        assertEquals(2, auditTrail.getQueueDepth());
+        assertEquals(1, auditTrail.getDroppedRecords());
+
+        release.countDown();
+        auditTrail.close();
+        assertEquals(3, auditTrail.getWrittenRecords());
+        assertEquals(0, auditTrail.getQueueDepth());
+    }
+
+    @Test
+    public void oldestRecordsAreReplacedWithoutLosingCount() throws IOException, InterruptedException {
+        var writing = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var writtenItemIds = new CopyOnWriteArrayList<String>();
+        var auditTrail = ActionAuditTrail.builder(records -> {
+                    writing.countDown();
+                    try {
+                        release.await();
+                    }
+                    catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    records.forEach(auditRecord -> writtenItemIds.add(auditRecord.itemId()));
+                })
+                .withCapacity(2)
+                .withBatchSize(1)
+                .withOverflowPolicy(ActionAuditTrail.OverflowPolicy.DROP_OLDEST)
+                .build();
+
+        // the writer blocks on the first record, then each record beyond the capacity replaces the oldest
+        assertTrue(auditTrail.record(auditRecord("0")));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        IntStream.rangeClosed(1, 5).forEach(i -> assertTrue(auditTrail.record(auditRecord(String.valueOf(i)))));
+        assertEquals(2, auditTrail.getQueueDepth());
+        assertEquals(3, auditTrail.getDroppedRecords());
+
+        release.countDown();
+        auditTrail.close();
+        assertEquals(List.of("0", "4", "5"), writtenItemIds);
+        assertEquals(0, auditTrail.getQueueDepth());
+    }
+
+    @Test
+    public void blockingIsRefusedWhileTheSessionIsLocked() throws Exception {
+        var writing = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var auditTrail = ActionAuditTrail.builder(records -> {
+                    writing.countDown();
+                    try {
+                        release.await();
+                    }
+                    catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                })
+                .withCapacity(1)
+                .withBatchSize(1)
+                .withOverflowPolicy(ActionAuditTrail.OverflowPolicy.BLOCK)
+                .build();
+        assertTrue(auditTrail.record(auditRecord()));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        assertTrue(auditTrail.record(auditRecord()));
+
+        // the test thread stands in for a request thread, so the record is dropped rather than stalling the session
+        assertTrue(VaadinSession.getCurrent().hasLock());
+        assertFalse(auditTrail.record(auditRecord()));
+        assertEquals(1, auditTrail.getDroppedRecords());
+
+        // other threads wait for the writer to make room
+        var backgroundRecord = CompletableFuture.supplyAsync(() -> auditTrail.record(auditRecord()));
+        release.countDown();
+        assertTrue(backgroundRecord.get(5, TimeUnit.SECONDS));
+        auditTrail.close();
+        assertEquals(3, auditTrail.getWrittenRecords());
+        assertEquals(1, auditTrail.getDroppedRecords());
+    }
+
+    @Test
+    public void rollingFileSinkRollsOverBySize() throws IOException {
+        var directory = Files.createTempDirectory("action-audit");
+        var sink = new RollingFileAuditSink(directory, "audit", 1, 2);
+        for (int i = 0; i < 4; i++) {
+            sink.write(List.of(auditRecord()));
+        }
+        sink.close();
+
+        assertTrue(Files.exists(directory.resolve("audit.jsonl")));
+        assertTrue(Files.exists(directory.resolve("audit.1.jsonl")));
+        assertTrue(Files.exists(directory.resolve("audit.2.jsonl")));
+        assertFalse(Files.exists(directory.resolve("audit.3.jsonl")));
+        assertEquals(1, Files.readAllLines(directory.resolve("audit.jsonl")).size());
+    }
+
+    private static ActionAuditRecord auditRecord() {
+        return auditRecord("42");
+    }
+
+    private static ActionAuditRecord auditRecord(String itemId) {
+        return new ActionAuditRecord(Instant.now(), "alice", "delete", itemId, ActionAuditRecord.Outcome.HANDLED, 1_000);
+    }
+}
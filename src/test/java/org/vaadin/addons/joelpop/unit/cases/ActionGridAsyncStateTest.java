@@ -0,0 +1,145 @@
+package org.vaadin.addons.joelpop.unit.cases;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.testbench.unit.UIUnit4Test;
+import com.vaadin.testbench.unit.ViewPackages;
+import org.junit.Before;
+import org.junit.Test;
+import org.vaadin.addons.joelpop.model.ToggleItem;
+import org.vaadin.addons.joelpop.ui.component.ActionGrid;
+import org.vaadin.addons.joelpop.unit.tester.ActionGridTester;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@ViewPackages(packages = { "org.vaadin.addons.joelpop.unit.view" })
+public class ActionGridAsyncStateTest extends UIUnit4Test {
+    private static final String TOGGLE_ACTION_KEY = "toggle";
+
+    private final Map<ToggleItem, CompletableFuture<Boolean>> enabledResults = new ConcurrentHashMap<>();
+    private List<ToggleItem> items;
+    private ActionGridTester<ActionGrid<ToggleItem>, ToggleItem> toggleActionGrid;
+
+    @Before
+    public void createGrid() {
+        items = IntStream.range(0, 3)
+                .mapToObj(i -> new ToggleItem("Item " + i, "", false, true, true))
+                .toList();
+        var actionGrid = new ActionGrid<ToggleItem>();
+        actionGrid.setItems(items);
+        actionGrid.addAction(TOGGLE_ACTION_KEY)
+                .setEnabledAsync(item -> enabledResults.computeIfAbsent(item, i -> new CompletableFuture<>()))
+                .setPendingEnabled(false)
+                .setPendingClassName("pending")
+                .setAsyncTimeout(Duration.ofSeconds(30))
+                .addClickHandler(item -> item.setOn(!item.isOn()));
+        UI.getCurrent().add(actionGrid);
+        toggleActionGrid = new ActionGridTester<>(actionGrid);
+        // the test thread stands in for a request thread
+        assertTrue(VaadinSession.getCurrent().hasLock());
+    }
+
+    @Test
+    public void pendingStateIsRenderedUntilResolved() {
+        assertFalse(toggleActionGrid.isActionEnabledForRow(0, TOGGLE_ACTION_KEY));
+        assertEquals("pending", toggleActionGrid.getActionClassNameForRow(0, TOGGLE_ACTION_KEY));
+        assertTrue(toggleActionGrid.isActionVisibleForRow(0, TOGGLE_ACTION_KEY));
+
+        enabledResults.get(items.get(0)).complete(true);
+        runPendingAccessTasks();
+
+        assertTrue(toggleActionGrid.isActionEnabledForRow(0, TOGGLE_ACTION_KEY));
+        assertEquals("", toggleActionGrid.getActionClassNameForRow(0, TOGGLE_ACTION_KEY));
+    }
+
+    @Test
+    public void resolvedStatesAreDeliveredInOneBatch() {
+        IntStream.range(0, items.size()).forEach(row -> toggleActionGrid.isActionEnabledForRow(row, TOGGLE_ACTION_KEY));
+        var pendingAccessQueue = VaadinSession.getCurrent().getPendingAccessQueue();
+        var pendingAccesses = pendingAccessQueue.size();
+
+        items.forEach(item -> enabledResults.get(item).complete(item != items.get(1)));
+        assertEquals(pendingAccesses + 1, pendingAccessQueue.size());
+        runPendingAccessTasks();
+
+        assertTrue(toggleActionGrid.isActionEnabledForRow(0, TOGGLE_ACTION_KEY));
+        assertFalse(toggleActionGrid.isActionEnabledForRow(1, TOGGLE_ACTION_KEY));
+        assertTrue(toggleActionGrid.isActionEnabledForRow(2, TOGGLE_ACTION_KEY));
+    }
+
+    @Test
+    public void clickOnPendingRowIsRejectedWithoutBlocking() {
+        var item = items.get(0);
+        var start = System.nanoTime();
+        toggleActionGrid.clickActionForRow(0, TOGGLE_ACTION_KEY);
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        assertFalse(item.isOn());
+
+        // the rejected click started the evaluation, so the next click is permitted once it is delivered
+        enabledResults.get(item).complete(true);
+        runPendingAccessTasks();
+        toggleActionGrid.clickActionForRow(0, TOGGLE_ACTION_KEY);
+        assertTrue(item.isOn());
+    }
+
+    @Test
+    public void bulkClickRejectsPendingItemsWithoutBlocking() {
+        var bulkClickedItems = new ArrayList<Set<ToggleItem>>();
+        var action = toggleActionGrid.getComponent().getActionByKey(TOGGLE_ACTION_KEY)
+                .addBulkClickHandler(bulkClickedItems::add);
+        // resolved as enabled while rendered, the others are never resolved
+        toggleActionGrid.isActionEnabledForRow(0, TOGGLE_ACTION_KEY);
+        enabledResults.get(items.get(0)).complete(true);
+        runPendingAccessTasks();
+
+        var start = System.nanoTime();
+        action.onBulkClickFor(new LinkedHashSet<>(items));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+
+        assertEquals(List.of(Set.of(items.get(0))), bulkClickedItems);
+    }
+
+    @Test
+    public void selectionAvailabilityCountsPendingItemsAsDeniedUntilResolved() {
+        var actionGrid = toggleActionGrid.getComponent();
+        actionGrid.setSelectionMode(Grid.SelectionMode.MULTI);
+        var availabilityChanges = new AtomicInteger();
+        actionGrid.addSelectionAvailabilityListener(event -> availabilityChanges.incrementAndGet());
+
+        var start = System.nanoTime();
+        actionGrid.select(items.get(0));
+        actionGrid.select(items.get(1));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        assertEquals(0, actionGrid.getPermittedSelectionCount(TOGGLE_ACTION_KEY));
+        assertFalse(actionGrid.isEnabledForSelection(TOGGLE_ACTION_KEY));
+
+        var changesBeforeResolution = availabilityChanges.get();
+        enabledResults.get(items.get(0)).complete(true);
+        enabledResults.get(items.get(1)).complete(true);
+        runPendingAccessTasks();
+
+        assertEquals(2, actionGrid.getPermittedSelectionCount(TOGGLE_ACTION_KEY));
+        assertTrue(actionGrid.isEnabledForSelection(TOGGLE_ACTION_KEY));
+        assertTrue(availabilityChanges.get() > changesBeforeResolution);
+    }
+
+    private static void runPendingAccessTasks() {
+        var session = VaadinSession.getCurrent();
+        session.getService().runPendingAccessTasks(session);
+    }
+}
@@ -0,0 +1,64 @@
+package org.vaadin.addons.joelpop.unit.cases;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.testbench.unit.UIUnit4Test;
+import com.vaadin.testbench.unit.ViewPackages;
+import org.junit.Test;
+import org.vaadin.addons.joelpop.model.ToggleItem;
+import org.vaadin.addons.joelpop.ui.component.ActionGrid;
+import org.vaadin.addons.joelpop.ui.component.InMemoryActionGridMetrics;
+import org.vaadin.addons.joelpop.unit.tester.ActionGridTester;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@ViewPackages(packages = { "org.vaadin.addons.joelpop.unit.view" })
+public class ActionGridClickTracingTest extends UIUnit4Test {
+    private static final String TOGGLE_ACTION_KEY = "toggle";
+
+    @Test
+    public void tracedClickIsReportedOnceApplied() {
+        var item = new ToggleItem("Off/Visible/Enabled", "", false, true, true);
+        var metrics = new InMemoryActionGridMetrics();
+        var toggleActionGrid = createTracedGrid(item, metrics);
+
+        toggleActionGrid.clickActionForRow(0, TOGGLE_ACTION_KEY, System.currentTimeMillis() - 20, "click-1");
+
+        assertTrue(item.isOn());
+        assertEquals(0, metrics.getClickEndToEndTimes(TOGGLE_ACTION_KEY).getCount());
+
+        toggleActionGrid.reportClickLatency("click-1", 50.0);
+        // reported only once
+        toggleActionGrid.reportClickLatency("click-1", 50.0);
+
+        assertEquals(1, metrics.getClickEndToEndTimes(TOGGLE_ACTION_KEY).getCount());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(50), metrics.getClickEndToEndTimes(TOGGLE_ACTION_KEY).getMax());
+        assertTrue(metrics.getClickQueueTimes(TOGGLE_ACTION_KEY).getMax() >= TimeUnit.MILLISECONDS.toNanos(20));
+        assertEquals(1, metrics.getClickHandlerTimes(TOGGLE_ACTION_KEY).getCount());
+    }
+
+    @Test
+    public void unknownCorrelationIdIsIgnored() {
+        var metrics = new InMemoryActionGridMetrics();
+        var toggleActionGrid = createTracedGrid(new ToggleItem("Off/Visible/Enabled", "", false, true, true), metrics);
+
+        toggleActionGrid.reportClickLatency("unknown", 50.0);
+
+        assertEquals(0, metrics.getClickEndToEndTimes(TOGGLE_ACTION_KEY).getCount());
+    }
+
+    private static ActionGridTester<ActionGrid<ToggleItem>, ToggleItem> createTracedGrid(ToggleItem item,
+                                                                                        InMemoryActionGridMetrics metrics) {
+        var actionGrid = new ActionGrid<ToggleItem>();
+        actionGrid.setItems(List.of(item));
+        actionGrid.setMetrics(metrics);
+        actionGrid.setClickTracingEnabled(true);
+        actionGrid.addAction(TOGGLE_ACTION_KEY)
+                .addClickHandler(toggled -> toggled.setOn(!toggled.isOn()));
+        UI.getCurrent().add(actionGrid);
+        return new ActionGridTester<>(actionGrid);
+    }
+}
@@ -0,0 +1,55 @@
+package org.vaadin.addons.joelpop.unit.cases;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.testbench.unit.UIUnit4Test;
+import com.vaadin.testbench.unit.ViewPackages;
+import org.junit.Test;
+import org.vaadin.addons.joelpop.model.ToggleItem;
+import org.vaadin.addons.joelpop.ui.component.ActionGrid;
+import org.vaadin.addons.joelpop.ui.component.RowProperty;
+import org.vaadin.addons.joelpop.unit.tester.ActionGridTester;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@ViewPackages(packages = { "org.vaadin.addons.joelpop.unit.view" })
+public class ActionGridClientClickTest extends UIUnit4Test {
+
+    @Test
+    public void clientClickRegistersNoClickFunction() {
+        var actionGrid = new ActionGrid<ToggleItem>();
+        actionGrid.addAction("copy")
+                .setClientClick("navigator.clipboard.writeText(row.name)",
+                        List.of(RowProperty.of("name", ToggleItem::getName)));
+        actionGrid.addAction("edit");
+        var tester = attach(actionGrid);
+
+        assertEquals(List.of("editClick"), tester.getActionColumnFunctionNames());
+        assertTrue(tester.getActionColumnPropertyNames().contains("actionRow"));
+        assertTrue(tester.getActionColumnTemplate().contains("""
+                @click=${(event) => { const row = item.actionRow ?? {};
+                navigator.clipboard.writeText(row.name)
+                }}"""));
+        assertTrue(tester.getActionColumnTemplate().contains("@click=${editClick}"));
+    }
+
+    @Test
+    public void trailingLineCommentDoesNotEndTheClickHandler() {
+        var actionGrid = new ActionGrid<ToggleItem>();
+        actionGrid.addAction("open")
+                .setClientClick("window.open('/help') // opens in a new tab");
+
+        // the comment ends with its line, before the closing brace
+        assertTrue(attach(actionGrid).getActionColumnTemplate().contains("""
+                window.open('/help') // opens in a new tab
+                }}"""));
+    }
+
+    private static ActionGridTester<ActionGrid<ToggleItem>, ToggleItem> attach(ActionGrid<ToggleItem> actionGrid) {
+        // the action column is only built while attached
+        UI.getCurrent().add(actionGrid);
+        return new ActionGridTester<>(actionGrid);
+    }
+}
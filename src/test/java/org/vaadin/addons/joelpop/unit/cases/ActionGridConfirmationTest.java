@@ -0,0 +1,70 @@
+package org.vaadin.addons.joelpop.unit.cases;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.testbench.unit.UIUnit4Test;
+import com.vaadin.testbench.unit.ViewPackages;
+import org.junit.Test;
+import org.vaadin.addons.joelpop.model.ToggleItem;
+import org.vaadin.addons.joelpop.ui.component.ActionGrid;
+import org.vaadin.addons.joelpop.unit.tester.ActionGridTester;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@ViewPackages(packages = { "org.vaadin.addons.joelpop.unit.view" })
+public class ActionGridConfirmationTest extends UIUnit4Test {
+    private static final String ARCHIVE_ACTION_KEY = "archive";
+
+    @Test
+    public void confirmationMessageIsFetchedForKnownPermittedItems() {
+        var actionGrid = new ActionGrid<ToggleItem>();
+        actionGrid.setItems(List.of(new ToggleItem("On", "", true, true, true),
+                new ToggleItem("Off", "", false, true, true),
+                new ToggleItem("Disabled", "", true, true, false)));
+        actionGrid.addAction(ARCHIVE_ACTION_KEY)
+                .setEnabled(ToggleItem::isEnabled)
+                .setConfirmation(item -> item.isOn() ? "Archive " + item.getName() + "?" : null);
+        var tester = attach(actionGrid);
+
+        assertEquals("Archive On?", tester.getActionConfirmationForRow(0, ARCHIVE_ACTION_KEY));
+        // confirmed without asking
+        assertEquals("", tester.getActionConfirmationForRow(1, ARCHIVE_ACTION_KEY));
+        // rejected anyway once clicked
+        assertEquals("", tester.getActionConfirmationForRow(2, ARCHIVE_ACTION_KEY));
+        assertEquals("", tester.getActionConfirmationForRow(0, "unknown"));
+    }
+
+    @Test
+    public void clickIsBoundOnlyOnceConfirmed() {
+        var actionGrid = new ActionGrid<ToggleItem>();
+        actionGrid.addAction(ARCHIVE_ACTION_KEY)
+                .setConfirmation(item -> "Archive " + item.getName() + "?")
+                .setConfirmationButtonTexts("Archive", "Keep");
+        actionGrid.addAction("delete")
+                .setConfirmation("Delete the item?");
+
+        var template = attach(actionGrid).getActionColumnTemplate();
+        assertTrue(template.contains("@click=${(event) => window.__actionGridConfirm(event.target, "
+                + "event.target.closest('vaadin-grid').$server.actionConfirmation('archive', item.key), 'Archive', 'Keep')"
+                + ".then((confirmed) => confirmed && (archiveClick)(event))}"));
+        assertTrue(template.contains("@click=${(event) => window.__actionGridConfirm(event.target, "
+                + "'Delete the item?', 'Confirm', 'Cancel')"
+                + ".then((confirmed) => confirmed && (deleteClick)(event))}"));
+
+        // each click function is only referenced behind the confirmation, so a declined one never reaches the server
+        assertEquals(1, occurrences(template, "archiveClick"));
+        assertEquals(1, occurrences(template, "deleteClick"));
+    }
+
+    private static ActionGridTester<ActionGrid<ToggleItem>, ToggleItem> attach(ActionGrid<ToggleItem> actionGrid) {
+        // the action column is only built while attached
+        UI.getCurrent().add(actionGrid);
+        return new ActionGridTester<>(actionGrid);
+    }
+
+    private static int occurrences(String template, String text) {
+        return template.split(text, -1).length - 1;
+    }
+}
@@ -0,0 +1,78 @@
+package org.vaadin.addons.joelpop.unit.cases;
+
+import com.vaadin.flow.router.RouteConfiguration;
+import com.vaadin.testbench.unit.UIUnit4Test;
+import com.vaadin.testbench.unit.ViewPackages;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+import org.vaadin.addons.joelpop.model.ToggleItem;
+import org.vaadin.addons.joelpop.ui.component.ActionGrid;
+import org.vaadin.addons.joelpop.unit.tester.ActionGridTester;
+import org.vaadin.addons.joelpop.unit.view.ActionGridView;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.vaadin.addons.joelpop.content.ActionGridViewContent.TOGGLE_ACTION_GRID_ID;
+import static org.vaadin.addons.joelpop.unit.view.ActionGridView.TOGGLE_ACTION_KEY;
+
+@ViewPackages(packages = { "org.vaadin.addons.joelpop.unit.view" })
+public class ActionGridFlightRecorderTest extends UIUnit4Test {
+
+    @Test
+    public void recordSession() throws IOException {
+        List<RecordedEvent> events;
+        try (var recording = new Recording()) {
+            recording.enable("ActionGrid.RendererRebuild");
+            recording.enable("ActionGrid.ProviderEvaluation").withThreshold(Duration.ZERO);
+            recording.enable("ActionGrid.Click");
+            recording.enable("ActionGrid.ColumnReorder");
+            recording.start();
+
+            RouteConfiguration.forApplicationScope()
+                    .setAnnotatedRoute(ActionGridView.class);
+            var actionGridViewTester = test(navigate(ActionGridView.class));
+            @SuppressWarnings("unchecked")
+            ActionGridTester<ActionGrid<ToggleItem>, ToggleItem> toggleActionGrid = test(ActionGridTester.class,
+                    actionGridViewTester.find(ActionGrid.class).id(TOGGLE_ACTION_GRID_ID));
+            toggleActionGrid.isActionEnabledForRow(3, TOGGLE_ACTION_KEY);
+            toggleActionGrid.clickActionForRow(3, TOGGLE_ACTION_KEY);
+            toggleActionGrid.clickActionForRow(0, TOGGLE_ACTION_KEY);
+
+            recording.stop();
+            var file = Files.createTempFile("action-grid", ".jfr");
+            try {
+                recording.dump(file);
+                events = RecordingFile.readAllEvents(file);
+            }
+            finally {
+                Files.deleteIfExists(file);
+            }
+        }
+
+        assertTrue(events.stream().anyMatch(event -> isEvent(event, "ActionGrid.RendererRebuild")
+                && event.getInt("actionCount") == 2 && event.getInt("templateLength") > 0));
+        assertTrue(events.stream().anyMatch(event -> isEvent(event, "ActionGrid.ProviderEvaluation")
+                && TOGGLE_ACTION_KEY.equals(event.getString("actionKey"))
+                && "ENABLED".equals(event.getString("property"))));
+        assertTrue(events.stream().anyMatch(event -> isEvent(event, "ActionGrid.ColumnReorder")
+                && "END".equals(event.getString("actionColumnPosition"))));
+
+        var clicks = events.stream().filter(event -> isEvent(event, "ActionGrid.Click")).toList();
+        assertEquals(2, clicks.size());
+        assertTrue(clicks.stream().allMatch(event -> TOGGLE_ACTION_KEY.equals(event.getString("actionKey"))
+                && event.getInt("handlerCount") == 1));
+        assertTrue(clicks.stream().anyMatch(event -> "HANDLED".equals(event.getString("outcome"))));
+        assertTrue(clicks.stream().anyMatch(event -> "REJECTED".equals(event.getString("outcome"))));
+    }
+
+    private static boolean isEvent(RecordedEvent event, String name) {
+        return event.getEventType().getName().equals(name);
+    }
+}
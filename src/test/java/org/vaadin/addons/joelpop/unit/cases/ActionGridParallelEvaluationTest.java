@@ -0,0 +1,100 @@
+package org.vaadin.addons.joelpop.unit.cases;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.testbench.unit.UIUnit4Test;
+import com.vaadin.testbench.unit.ViewPackages;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.vaadin.addons.joelpop.model.ToggleItem;
+import org.vaadin.addons.joelpop.ui.component.ActionGrid;
+import org.vaadin.addons.joelpop.ui.component.ActionProperty;
+import org.vaadin.addons.joelpop.ui.component.InMemoryActionGridMetrics;
+import org.vaadin.addons.joelpop.unit.tester.ActionGridTester;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+
+@ViewPackages(packages = { "org.vaadin.addons.joelpop.unit.view" })
+public class ActionGridParallelEvaluationTest extends UIUnit4Test {
+    private static final String EDIT_ACTION_KEY = "edit";
+    private static final int ROW_COUNT = 120;
+
+    private final ExecutorService evaluationExecutor = Executors.newFixedThreadPool(4);
+    private List<ToggleItem> items;
+
+    @Before
+    public void createItems() {
+        items = IntStream.range(0, ROW_COUNT)
+                .mapToObj(i -> new ToggleItem("Item " + i, "", (i % 2) == 0, (i % 3) != 0, (i % 5) != 0))
+                .toList();
+    }
+
+    @After
+    public void shutDownExecutor() {
+        evaluationExecutor.shutdownNow();
+    }
+
+    @Test
+    public void parallelEvaluationMatchesSequentialEvaluation() {
+        var sequentialGrid = createGrid(false);
+        var parallelGrid = createGrid(true);
+        sequentialGrid.getDataCommunicator().setViewportRange(0, ROW_COUNT);
+        parallelGrid.getDataCommunicator().setViewportRange(0, ROW_COUNT);
+        roundTrip();
+
+        // the parallel grid evaluated each row once, before generating it
+        var parallelMetrics = (InMemoryActionGridMetrics) parallelGrid.getMetrics();
+        assertEquals(ROW_COUNT, parallelMetrics.getProviderDurations(EDIT_ACTION_KEY, ActionProperty.CLASS_NAME).getCount());
+
+        var sequentialTester = new ActionGridTester<>(sequentialGrid);
+        var parallelTester = new ActionGridTester<>(parallelGrid);
+        for (int row = 0; row < ROW_COUNT; row++) {
+            assertEquals(items.get(row).getName(), renderedValues(sequentialTester, row), renderedValues(parallelTester, row));
+        }
+        // the values rendered by the parallel grid are the states evaluated in parallel
+        assertEquals(ROW_COUNT, parallelMetrics.getProviderDurations(EDIT_ACTION_KEY, ActionProperty.CLASS_NAME).getCount());
+    }
+
+    @Test
+    public void parallelEvaluationSendsEachRowOnce() {
+        var parallelGrid = createGrid(true);
+        var metrics = (InMemoryActionGridMetrics) parallelGrid.getMetrics();
+        parallelGrid.getDataCommunicator().setViewportRange(0, ROW_COUNT);
+        roundTrip();
+        assertEquals(ROW_COUNT, metrics.getRowsGenerated().getSum());
+
+        // no refresh is left to send the rows a second time
+        roundTrip();
+        assertEquals(ROW_COUNT, metrics.getRowsGenerated().getSum());
+    }
+
+    private static List<Object> renderedValues(ActionGridTester<ActionGrid<ToggleItem>, ToggleItem> tester, int row) {
+        return List.of(tester.getActionIconNameForRow(row, EDIT_ACTION_KEY),
+                tester.getActionClassNameForRow(row, EDIT_ACTION_KEY),
+                tester.getActionAccessibleNameForRow(row, EDIT_ACTION_KEY),
+                tester.getActionTooltipForRow(row, EDIT_ACTION_KEY),
+                tester.isActionVisibleForRow(row, EDIT_ACTION_KEY),
+                tester.isActionEnabledForRow(row, EDIT_ACTION_KEY));
+    }
+
+    private ActionGrid<ToggleItem> createGrid(boolean parallelEvaluation) {
+        var actionGrid = new ActionGrid<ToggleItem>();
+        actionGrid.setItems(items);
+        actionGrid.setMetrics(new InMemoryActionGridMetrics());
+        actionGrid.setParallelEvaluationExecutor(evaluationExecutor);
+        actionGrid.setParallelEvaluation(parallelEvaluation);
+        actionGrid.addAction(EDIT_ACTION_KEY)
+                .setClassName(item -> item.isOn() ? "on" : "off")
+                .setAccessibleName(item -> "Edit " + item.getName())
+                .setTooltip(item -> item.getInfo() + item.getName())
+                .setVisible(ToggleItem::isVisible)
+                .setEnabled(ToggleItem::isEnabled);
+        UI.getCurrent().add(actionGrid);
+        return actionGrid;
+    }
+}
@@ -0,0 +1,155 @@
+package org.vaadin.addons.joelpop.unit.cases;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.data.provider.AbstractBackEndDataProvider;
+import com.vaadin.flow.data.provider.Query;
+import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.testbench.unit.UIUnit4Test;
+import com.vaadin.testbench.unit.ViewPackages;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.vaadin.addons.joelpop.model.ToggleItem;
+import org.vaadin.addons.joelpop.ui.component.ActionGrid;
+import org.vaadin.addons.joelpop.ui.component.ActionProperty;
+import org.vaadin.addons.joelpop.ui.component.InMemoryActionGridMetrics;
+import org.vaadin.addons.joelpop.unit.tester.ActionGridTester;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+@ViewPackages(packages = { "org.vaadin.addons.joelpop.unit.view" })
+public class ActionGridPrefetchTest extends UIUnit4Test {
+    private static final String EDIT_ACTION_KEY = "edit";
+    private static final int ROW_COUNT = 300;
+    private static final int PAGE_SIZE = 50;
+
+    private final ExecutorService evaluationExecutor = Executors.newSingleThreadExecutor();
+    private final List<Query<ToggleItem, Void>> fetches = new CopyOnWriteArrayList<>();
+    private final List<Boolean> lockedEvaluations = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean failNextFetch = new AtomicBoolean();
+    private List<ToggleItem> items;
+    private ActionGrid<ToggleItem> actionGrid;
+    private ActionGridTester<ActionGrid<ToggleItem>, ToggleItem> tester;
+    private InMemoryActionGridMetrics metrics;
+
+    @Before
+    public void createGrid() {
+        items = IntStream.range(0, ROW_COUNT)
+                .mapToObj(i -> new ToggleItem("Item " + i, "", (i % 2) == 0, true, true))
+                .toList();
+        var session = VaadinSession.getCurrent();
+        metrics = new InMemoryActionGridMetrics();
+        actionGrid = new ActionGrid<>();
+        actionGrid.setItems(new AbstractBackEndDataProvider<ToggleItem, Void>() {
+            @Override
+            protected Stream<ToggleItem> fetchFromBackEnd(Query<ToggleItem, Void> query) {
+                fetches.add(query);
+                if (failNextFetch.getAndSet(false)) {
+                    throw new IllegalStateException("backend unavailable");
+                }
+                return items.stream().skip(query.getOffset()).limit(query.getLimit());
+            }
+
+            @Override
+            protected int sizeInBackEnd(Query<ToggleItem, Void> query) {
+                return ROW_COUNT;
+            }
+        });
+        actionGrid.setMetrics(metrics);
+        actionGrid.setParallelEvaluationExecutor(evaluationExecutor);
+        actionGrid.setPrefetchPages(2);
+        actionGrid.addAction(EDIT_ACTION_KEY)
+                .setClassName(item -> {
+                    lockedEvaluations.add(session.hasLock());
+                    return item.isOn() ? "on" : "off";
+                });
+        UI.getCurrent().add(actionGrid);
+        tester = new ActionGridTester<>(actionGrid);
+        roundTrip();
+        fetches.clear();
+    }
+
+    @After
+    public void shutDownExecutor() {
+        evaluationExecutor.shutdownNow();
+    }
+
+    @Test
+    public void followingPagesArePrefetchedWithOneQueryOffTheLock() throws Exception {
+        tester.scrollToRows(10, 40);
+        awaitEvaluation();
+        roundTrip();
+
+        assertEquals(1, fetches.size());
+        assertEquals(PAGE_SIZE, fetches.get(0).getOffset());
+        assertEquals(2 * PAGE_SIZE, fetches.get(0).getLimit());
+        assertEquals(2 * PAGE_SIZE, lockedEvaluations.size());
+        assertFalse(lockedEvaluations.contains(true));
+    }
+
+    @Test
+    public void prefetchedStatesAreUsedWhenRowsAreFetched() throws Exception {
+        tester.scrollToRows(10, 40);
+        awaitEvaluation();
+        roundTrip();
+        var evaluations = metrics.getProviderDurations(EDIT_ACTION_KEY, ActionProperty.CLASS_NAME).getCount();
+
+        actionGrid.getDataCommunicator().setViewportRange(PAGE_SIZE, 2 * PAGE_SIZE);
+        roundTrip();
+        for (int i = PAGE_SIZE; i < 3 * PAGE_SIZE; i++) {
+            assertEquals(items.get(i).isOn() ? "on" : "off", tester.getActionClassNameForRow(i, EDIT_ACTION_KEY));
+        }
+
+        // no row was evaluated again
+        assertEquals(2 * PAGE_SIZE, evaluations);
+        assertEquals(evaluations, metrics.getProviderDurations(EDIT_ACTION_KEY, ActionProperty.CLASS_NAME).getCount());
+    }
+
+    @Test
+    public void prefetchFailuresAreReported() throws Exception {
+        failNextFetch.set(true);
+        tester.scrollToRows(10, 40);
+        awaitEvaluation();
+        roundTrip();
+        assertEquals(1, metrics.getPrefetchFailures());
+
+        // the rows are then evaluated as usual
+        actionGrid.getDataCommunicator().setViewportRange(PAGE_SIZE, PAGE_SIZE);
+        roundTrip();
+        assertEquals(items.get(PAGE_SIZE).isOn() ? "on" : "off", tester.getActionClassNameForRow(PAGE_SIZE, EDIT_ACTION_KEY));
+    }
+
+    @Test
+    public void rangesOutsideTheRowsAreIgnored() throws Exception {
+        tester.scrollToRows(-PAGE_SIZE, 40);
+        tester.scrollToRows(ROW_COUNT, ROW_COUNT + 40);
+        tester.scrollToRows(40, 10);
+        tester.scrollToRows(Integer.MAX_VALUE - 1, Integer.MAX_VALUE);
+        awaitEvaluation();
+        assertEquals(0, fetches.size());
+
+        // the last rows are prefetched up to the end only
+        tester.scrollToRows(200, Integer.MAX_VALUE);
+        tester.scrollToRows(210, 240);
+        awaitEvaluation();
+        roundTrip();
+        assertEquals(1, fetches.size());
+        assertEquals(5 * PAGE_SIZE, fetches.get(0).getOffset());
+        assertEquals(ROW_COUNT - (5 * PAGE_SIZE), fetches.get(0).getLimit());
+    }
+
+    private void awaitEvaluation() throws ExecutionException, InterruptedException {
+        // the executor runs one task at a time, so the prefetch is over once this one runs
+        evaluationExecutor.submit(() -> { }).get();
+    }
+}
@@ -2,23 +2,66 @@ package org.vaadin.addons.joelpop.unit.cases;
 
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.Text;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.component.icon.Icon;
+import com.vaadin.flow.component.icon.VaadinIcon;
+import com.vaadin.flow.data.provider.AbstractBackEndDataProvider;
+import com.vaadin.flow.data.provider.DataChangeEvent;
+import com.vaadin.flow.data.provider.DataProviderListener;
+import com.vaadin.flow.data.provider.Query;
+import com.vaadin.flow.data.provider.QuerySortOrder;
+import com.vaadin.flow.data.provider.SortDirection;
 import com.vaadin.flow.data.renderer.LitRenderer;
 import com.vaadin.flow.data.renderer.Renderer;
 import com.vaadin.flow.function.ValueProvider;
+import com.vaadin.flow.shared.Registration;
 import org.junit.Test;
 import org.vaadin.addons.joelpop.model.ToggleItem;
+import org.vaadin.addons.joelpop.ui.component.ActionAvailabilityFilter;
+import org.vaadin.addons.joelpop.ui.component.ActionExecution;
 import org.vaadin.addons.joelpop.ui.component.ActionGrid;
+import org.vaadin.addons.joelpop.ui.component.ActionGridMetrics;
+import org.vaadin.addons.joelpop.ui.component.ActionProperty;
+import org.vaadin.addons.joelpop.ui.component.ActionSet;
+import org.vaadin.addons.joelpop.ui.component.InMemoryActionGridMetrics;
+import org.vaadin.addons.joelpop.ui.component.RowProperty;
 import org.vaadin.addons.joelpop.unit.view.ActionGridView;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class ActionGridTest {
 
@@ -346,4 +389,790 @@ public class ActionGridTest {
         assertTrue(actionGrid.isActionColumnFrozenToBeginning());
         assertFalse(actionGrid.isActionColumnFrozenToEnd());
     }
+
+    // client-evaluated conditions
+
+    @Test
+    public void rowConditionEvaluation() {
+        var on = RowProperty.of("on", ToggleItem::isOn);
+        var visible = RowProperty.of("visible", ToggleItem::isVisible);
+        var name = RowProperty.of("name", ToggleItem::getName);
+
+        var onItem = new ToggleItem("On/Visible/Enabled", "", true, true, true);
+        var offItem = new ToggleItem("Off/Invisible/Enabled", "", false, false, true);
+
+        assertTrue(on.isTrue().test(onItem));
+        assertFalse(on.isTrue().test(offItem));
+        assertTrue(on.isFalse().test(offItem));
+        assertTrue(on.isTrue().and(visible.isTrue()).test(onItem));
+        assertFalse(on.isTrue().and(visible.isTrue()).test(offItem));
+        assertTrue(on.isTrue().or(visible.isFalse()).test(offItem));
+        assertTrue(name.isEqualTo("On/Visible/Enabled").test(onItem));
+        assertTrue(name.isNotEqualTo("On/Visible/Enabled").test(offItem));
+        assertTrue(name.isNotNull().test(onItem));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> RowProperty.of("not-an-identifier", ToggleItem::isOn));
+    }
+
+    @Test
+    public void clientEvaluatedConditionsAreCheckedOnClick() {
+        var actionGrid = new ActionGrid<ToggleItem>();
+        var visible = RowProperty.of("visible", ToggleItem::isVisible);
+        var enabled = RowProperty.of("enabled", ToggleItem::isEnabled);
+
+        var toggleAction = actionGrid.addAction(ActionGridView.TOGGLE_ACTION_KEY)
+                .setVisibleWhen(visible.isTrue())
+                .setEnabledWhen(enabled.isTrue())
+                .addClickHandler(item -> item.setOn(!item.isOn()));
+        assertNotNull(toggleAction.getVisibleCondition());
+
+        var enabledItem = new ToggleItem("Off/Visible/Enabled", "", false, true, true);
+        toggleAction.onClickFor(enabledItem);
+        assertTrue(enabledItem.isOn());
+
+        var disabledItem = new ToggleItem("Off/Visible/Disabled", "", false, true, false);
+        toggleAction.onClickFor(disabledItem);
+        assertFalse(disabledItem.isOn());
+
+        toggleAction.setEnabled(true);
+        assertNull(toggleAction.getEnabledCondition());
+    }
+
+    @Test
+    public void clientClickIsKeptByActionSets() {
+        var name = RowProperty.of("name", ToggleItem::getName);
+        var actionSet = ActionSet.<ToggleItem>builder()
+                .withAction("copy", action -> action
+                        .setClientClick("navigator.clipboard.writeText(row.name)", List.of(name)))
+                .build();
+        var actionGrid = new ActionGrid<ToggleItem>();
+        actionGrid.setActionSet(actionSet);
+
+        var copyAction = actionGrid.getActionByKey("copy");
+        assertEquals("navigator.clipboard.writeText(row.name)", copyAction.getClientClick());
+        copyAction.setClientClick(null);
+        assertNull(copyAction.getClientClick());
+        assertThrows(IllegalArgumentException.class, () -> copyAction.setClientClick("alert(`copied`)"));
+    }
+
+    @Test
+    public void confirmationIsStaticOrPerItem() {
+        var item = new ToggleItem("Off/Visible/Enabled", "", false, true, true);
+        var actionSet = ActionSet.<ToggleItem>builder()
+                .withAction("delete", action -> action
+                        .setConfirmation("Delete the item?")
+                        .setConfirmationButtonTexts("Delete", "Keep"))
+                .withAction("archive", action -> action
+                        .setConfirmation(toggleItem -> "Archive " + toggleItem.getName() + "?"))
+                .build();
+        var actionGrid = new ActionGrid<ToggleItem>();
+        actionGrid.setActionSet(actionSet);
+
+        assertEquals("Delete the item?", actionGrid.getActionByKey("delete").confirmationFor(item));
+        assertEquals("Archive Off/Visible/Enabled?", actionGrid.getActionByKey("archive").confirmationFor(item));
+        actionGrid.getActionByKey("delete").setConfirmation((String) null);
+        assertNull(actionGrid.getActionByKey("delete").confirmationFor(item));
+        assertThrows(NullPointerException.class,
+                () -> actionGrid.getActionByKey("archive").setConfirmationButtonTexts(null, "Keep"));
+    }
+
+    // metrics
+
+    @Test
+    public void metricsAreReported() {
+        var actionGrid = new ActionGrid<ToggleItem>();
+        var metrics = new InMemoryActionGridMetrics();
+        actionGrid.setMetrics(metrics);
+        assertEquals(metrics, actionGrid.getMetrics());
+
+        var toggleAction = actionGrid.addAction(ActionGridView.TOGGLE_ACTION_KEY)
+                .setVisible(ToggleItem::isVisible)
+                .setEnabled(ToggleItem::isEnabled)
+                .addClickHandler(item -> {
+                    throw new IllegalStateException("failed");
+                });
+        // the action column is only rebuilt while attached
+        new UI().add(actionGrid);
+        var refreshes = metrics.getActionColumnRefreshes();
+        toggleAction.setTooltip("Toggle");
+        assertEquals(refreshes + 1, metrics.getActionColumnRefreshes());
+
+        var item = new ToggleItem("Off/Visible/Enabled", "", false, true, true);
+        toggleAction.iconNameFor(item);
+        toggleAction.tooltipFor(item);
+        assertThrows(IllegalStateException.class, () -> toggleAction.onClickFor(item));
+
+        assertEquals(1, metrics.getProviderDurations(ActionGridView.TOGGLE_ACTION_KEY, ActionProperty.ICON_NAME).getCount());
+        assertEquals(1, metrics.getProviderDurations(ActionGridView.TOGGLE_ACTION_KEY, ActionProperty.TOOLTIP).getCount());
+        assertEquals(1, metrics.getProviderDurations(ActionGridView.TOGGLE_ACTION_KEY, ActionProperty.VISIBLE).getCount());
+        assertEquals(1, metrics.getProviderDurations(ActionGridView.TOGGLE_ACTION_KEY, ActionProperty.ENABLED).getCount());
+        assertEquals(1, metrics.getClickDurations(ActionGridView.TOGGLE_ACTION_KEY).getCount());
+        assertEquals(1, metrics.getClickFailures(ActionGridView.TOGGLE_ACTION_KEY));
+        assertEquals(0, metrics.getClickDurations(ActionGridView.NOOP_ACTION_KEY).getCount());
+
+        actionGrid.setMetrics(null);
+        assertEquals(ActionGridMetrics.NO_OP, actionGrid.getMetrics());
+    }
+
+    @Test
+    public void histogramPercentiles() {
+        var metrics = new InMemoryActionGridMetrics();
+        for (int i = 1; i <= 1000; i++) {
+            metrics.clickHandled(ActionGridView.TOGGLE_ACTION_KEY, i * 1000L);
+        }
+        var histogram = metrics.getClickDurations(ActionGridView.TOGGLE_ACTION_KEY);
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1_000_000, histogram.getMax());
+        assertEquals(500_500, histogram.getMean(), 0.001);
+        assertEquals(500_000, histogram.getValueAtPercentile(50), 500_000 / 16.0);
+        assertEquals(990_000, histogram.getValueAtPercentile(99), 990_000 / 16.0);
+        assertEquals(1_000_000, histogram.getValueAtPercentile(100));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(101));
+
+        metrics.reset();
+        assertEquals(0, metrics.getClickDurations(ActionGridView.TOGGLE_ACTION_KEY).getValueAtPercentile(50));
+    }
+
+    // evaluation
+
+    @Test
+    public void prefetchPages() {
+        var actionGrid = new ActionGrid<ToggleItem>();
+        assertEquals(0, actionGrid.getPrefetchPages());
+
+        actionGrid.setPrefetchPages(2);
+        assertEquals(2, actionGrid.getPrefetchPages());
+
+        actionGrid.setPrefetchPages(0);
+        assertEquals(0, actionGrid.getPrefetchPages());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> actionGrid.setPrefetchPages(-1));
+    }
+
+    // asynchronous state
+
+    @Test
+    public void asyncEnabledIsAwaitedOnClick() {
+        var actionGrid = new ActionGrid<ToggleItem>();
+
+        var toggleAction = actionGrid.addAction(ActionGridView.TOGGLE_ACTION_KEY)
+                .setEnabledAsync(item -> CompletableFuture.supplyAsync(item::isEnabled))
+                .addClickHandler(item -> item.setOn(!item.isOn()));
+
+        var enabledItem = new ToggleItem("Off/Visible/Enabled", "", false, true, true);
+        toggleAction.onClickFor(enabledItem);
+        assertTrue(enabledItem.isOn());
+
+        var disabledItem = new ToggleItem("Off/Visible/Disabled", "", false, true, false);
+        toggleAction.onClickFor(disabledItem);
+        assertFalse(disabledItem.isOn());
+    }
+
+    @Test
+    public void asyncTimeoutUsesFallback() {
+        var actionGrid = new ActionGrid<ToggleItem>();
+
+        var toggleAction = actionGrid.addAction(ActionGridView.TOGGLE_ACTION_KEY)
+                .setVisibleAsync(item -> new CompletableFuture<>())
+                .setAsyncTimeout(Duration.ofMillis(10));
+
+        var item = new ToggleItem("Off/Visible/Enabled", "", false, true, true);
+        assertFalse(toggleAction.isVisibleFor(item));
+
+        toggleAction.setAsyncFallback(true);
+        assertTrue(toggleAction.isVisibleFor(item));
+
+        toggleAction.setVisibleAsync(i -> CompletableFuture.failedFuture(new IllegalStateException()));
+        assertTrue(toggleAction.isVisibleFor(item));
+
+        toggleAction.setVisible(false);
+        assertFalse(toggleAction.isVisibleFor(item));
+    }
+
+    // bulk clicks
+
+    @Test
+    public void bulkClickHandlesPermittedItemsOnce() {
+        var actionGrid = new ActionGrid<ToggleItem>();
+        var bulkClicks = new ArrayList<Set<ToggleItem>>();
+        var toggleAction = actionGrid.addAction(ActionGridView.TOGGLE_ACTION_KEY)
+                .setVisible(ToggleItem::isVisible)
+                .setEnabledAsync(item -> CompletableFuture.supplyAsync(item::isEnabled))
+                .addBulkClickHandler(bulkClicks::add);
+
+        var enabledItem = new ToggleItem("Off/Visible/Enabled", "", false, true, true);
+        var disabledItem = new ToggleItem("Off/Visible/Disabled", "", false, true, false);
+        var hiddenItem = new ToggleItem("Off/Hidden/Enabled", "", false, false, true);
+        toggleAction.onBulkClickFor(new LinkedHashSet<>(List.of(enabledItem, disabledItem, hiddenItem)));
+        assertEquals(List.of(Set.of(enabledItem)), bulkClicks);
+
+        // not invoked when no items are permitted
+        toggleAction.onBulkClickFor(Set.of(disabledItem, hiddenItem));
+        assertEquals(1, bulkClicks.size());
+
+        // the bulk filter replaces the checks, but cannot add items
+        var otherItem = new ToggleItem("Off/Visible/Enabled", "", false, true, true);
+        toggleAction.setBulkFilter(items -> Set.of(disabledItem, otherItem));
+        toggleAction.onBulkClickFor(Set.of(enabledItem, disabledItem));
+        assertEquals(List.of(Set.of(enabledItem), Set.of(disabledItem)), bulkClicks);
+
+        assertThrows(NullPointerException.class, () -> toggleAction.onBulkClickFor(null));
+        assertThrows(NullPointerException.class, () -> toggleAction.addBulkClickHandler(null));
+    }
+
+    @Test
+    public void applyToAllHandlesPermittedItemsInChunks() throws Exception {
+        var actionGrid = new ActionGrid<ToggleItem>();
+        actionGrid.setItems(IntStream.range(0, 250)
+                .mapToObj(i -> new ToggleItem("Item " + i, "", false, true, (i % 5) != 0))
+                .toList());
+        var toggleAction = actionGrid.addAction(ActionGridView.TOGGLE_ACTION_KEY)
+                .setEnabled(ToggleItem::isEnabled);
+
+        var chunkSizes = new CopyOnWriteArrayList<Integer>();
+        var execution = toggleAction.applyToAll(100, chunk -> chunkSizes.add(chunk.size()));
+        execution.getCompletion().toCompletableFuture().get(10, TimeUnit.SECONDS);
+        assertEquals(List.of(80, 80, 40), chunkSizes);
+        assertEquals(250, execution.getProcessedItems());
+        assertEquals(200, execution.getPermittedItems());
+        assertEquals(3, execution.getChunks());
+
+        // cancelled once the chunk being handled is done
+        var proceed = new CountDownLatch(1);
+        var cancelledExecution = toggleAction.applyToAll(10, chunk -> {
+            try {
+                proceed.await();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        cancelledExecution.cancel();
+        proceed.countDown();
+        var completionException = assertThrows(CompletionException.class,
+                () -> cancelledExecution.getCompletion().toCompletableFuture().join());
+        assertTrue(completionException.getCause() instanceof CancellationException);
+        assertTrue(cancelledExecution.isCancelled());
+        assertTrue(cancelledExecution.getChunks() <= 1);
+
+        assertThrows(IllegalArgumentException.class, () -> toggleAction.applyToAll(0, chunk -> { }));
+    }
+
+    @Test
+    public void applyToAllUsesTheQueryCapturedWhenStarted() throws Exception {
+        var items = IntStream.range(0, 50)
+                .mapToObj(i -> new ToggleItem("Item " + i, "", (i % 2) == 0, true, true))
+                .toList();
+        var actionGrid = new ActionGrid<ToggleItem>();
+        var filterSetter = actionGrid.getDataCommunicator().setDataProvider(
+                new AbstractBackEndDataProvider<ToggleItem, Boolean>() {
+                    @Override
+                    protected Stream<ToggleItem> fetchFromBackEnd(Query<ToggleItem, Boolean> query) {
+                        return matchingItems(query).skip(query.getOffset()).limit(query.getLimit());
+                    }
+
+                    @Override
+                    protected int sizeInBackEnd(Query<ToggleItem, Boolean> query) {
+                        return (int) matchingItems(query).count();
+                    }
+
+                    private Stream<ToggleItem> matchingItems(Query<ToggleItem, Boolean> query) {
+                        return items.stream()
+                                .filter(item -> query.getFilter().map(on -> item.isOn() == on).orElse(true));
+                    }
+                }, true);
+        var toggleAction = actionGrid.addAction(ActionGridView.TOGGLE_ACTION_KEY);
+
+        // the filter changed on the UI thread while the execution runs is not picked up
+        var started = new CountDownLatch(1);
+        var proceed = new CountDownLatch(1);
+        var handledItems = new CopyOnWriteArrayList<ToggleItem>();
+        var threadNames = new CopyOnWriteArrayList<String>();
+        var execution = toggleAction.applyToAll(10, chunk -> {
+            threadNames.add(Thread.currentThread().getName());
+            started.countDown();
+            try {
+                proceed.await();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            handledItems.addAll(chunk);
+        });
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        filterSetter.accept(null);
+        proceed.countDown();
+        execution.getCompletion().toCompletableFuture().get(10, TimeUnit.SECONDS);
+        assertEquals(items.stream().filter(ToggleItem::isOn).toList(), handledItems);
+
+        // run on the dedicated pool by default, or on the given executor
+        assertTrue(threadNames.stream().allMatch(name -> name.startsWith("action-grid-execution-")));
+        var executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "custom-execution"));
+        try {
+            threadNames.clear();
+            toggleAction.applyToAll(100, chunk -> threadNames.add(Thread.currentThread().getName()), null, executor)
+                    .getCompletion().toCompletableFuture().get(10, TimeUnit.SECONDS);
+            assertEquals(List.of("custom-execution"), threadNames);
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void applyToAllFailsWhenTheExecutorRejectsIt() {
+        var actionGrid = new ActionGrid<ToggleItem>();
+        actionGrid.setItems(List.of(new ToggleItem("Off/Visible/Enabled", "", false, true, true)));
+        var toggleAction = actionGrid.addAction(ActionGridView.TOGGLE_ACTION_KEY);
+
+        var progress = new CopyOnWriteArrayList<ActionExecution>();
+        var execution = toggleAction.applyToAll(10, chunk -> fail("rejected executions handle no chunk"),
+                progress::add, runnable -> {
+                    throw new RejectedExecutionException("saturated");
+                });
+        assertTrue(execution.isDone());
+        var completionException = assertThrows(CompletionException.class,
+                () -> execution.getCompletion().toCompletableFuture().join());
+        assertTrue(completionException.getCause() instanceof RejectedExecutionException);
+        assertEquals(0, execution.getChunks());
+        assertEquals(List.of(execution), progress);
+    }
+
+    // selection availability
+
+    @Test
+    public void selectionAvailabilityIsMaintainedIncrementally() {
+        var enabledItem = new ToggleItem("Off/Visible/Enabled", "", false, true, true);
+        var otherEnabledItem = new ToggleItem("On/Visible/Enabled", "", true, true, true);
+        var disabledItem = new ToggleItem("Off/Visible/Disabled", "", false, true, false);
+        var actionGrid = new ActionGrid<ToggleItem>();
+        actionGrid.setSelectionMode(Grid.SelectionMode.MULTI);
+        actionGrid.setItems(List.of(enabledItem, otherEnabledItem, disabledItem));
+        var evaluations = new AtomicInteger();
+        actionGrid.addAction(ActionGridView.TOGGLE_ACTION_KEY)
+                .setEnabled(item -> {
+                    evaluations.incrementAndGet();
+                    return item.isEnabled();
+                });
+        var events = new AtomicInteger();
+        actionGrid.addSelectionAvailabilityListener(event -> events.incrementAndGet());
+        assertFalse(actionGrid.isEnabledForSelection(ActionGridView.TOGGLE_ACTION_KEY));
+
+        actionGrid.select(enabledItem);
+        actionGrid.select(otherEnabledItem);
+        assertTrue(actionGrid.isEnabledForSelection(ActionGridView.TOGGLE_ACTION_KEY));
+        actionGrid.select(disabledItem);
+        assertFalse(actionGrid.isEnabledForSelection(ActionGridView.TOGGLE_ACTION_KEY));
+        assertEquals(2, actionGrid.getPermittedSelectionCount(ActionGridView.TOGGLE_ACTION_KEY));
+        // each selected item is evaluated once
+        assertEquals(3, evaluations.get());
+
+        disabledItem.setEnabled(true);
+        actionGrid.getDataProvider().refreshItem(disabledItem);
+        assertTrue(actionGrid.isEnabledForSelection(ActionGridView.TOGGLE_ACTION_KEY));
+
+        actionGrid.deselect(enabledItem);
+        assertEquals(2, actionGrid.getPermittedSelectionCount(ActionGridView.TOGGLE_ACTION_KEY));
+        assertEquals(4, evaluations.get());
+        assertEquals(5, events.get());
+
+        assertThrows(IllegalArgumentException.class, () -> actionGrid.isEnabledForSelection("unknown"));
+    }
+
+    // toggle actions
+
+    @Test
+    public void toggleActionAppliesPermittedTogglesAndRollsBackOthers() {
+        var enabledItem = new ToggleItem("Off/Visible/Enabled", "", false, true, true);
+        var disabledItem = new ToggleItem("Off/Visible/Disabled", "", false, true, false);
+        var actionGrid = new ActionGrid<ToggleItem>();
+        actionGrid.setItems(List.of(enabledItem, disabledItem));
+        var toggles = new ArrayList<Boolean>();
+        var toggleAction = actionGrid.addToggleAction(ActionGridView.TOGGLE_ACTION_KEY, ToggleItem::isOn)
+                .setIcons(VaadinIcon.CHECK.create(), VaadinIcon.CLOSE.create())
+                .addToggleHandler((item, on) -> {
+                    toggles.add(on);
+                    item.setOn(on);
+                });
+        toggleAction.setEnabled(ToggleItem::isEnabled);
+        var refreshedItems = new ArrayList<ToggleItem>();
+        actionGrid.getDataProvider().addDataProviderListener(event -> {
+            if (event instanceof DataChangeEvent.DataRefreshEvent<ToggleItem> refreshEvent) {
+                refreshedItems.add(refreshEvent.getItem());
+            }
+        });
+
+        assertTrue(toggleAction.onToggleFor(enabledItem, true));
+        assertTrue(enabledItem.isOn());
+        assertEquals(VaadinIcon.CHECK.create().getIcon(), toggleAction.iconNameFor(enabledItem));
+        // already on, e.g., toggled from another session
+        assertFalse(toggleAction.onToggleFor(enabledItem, true));
+        // rejected, as browser state can be tampered with, and rolled back
+        assertFalse(toggleAction.onToggleFor(disabledItem, true));
+        assertFalse(disabledItem.isOn());
+        assertEquals(List.of(disabledItem), refreshedItems);
+
+        toggleAction.onClickFor(enabledItem);
+        assertFalse(enabledItem.isOn());
+        assertEquals(List.of(true, false), toggles);
+    }
+
+    // typed actions
+
+    @Test
+    public void typedActionsSkipOtherRowTypes() {
+        var evaluations = new AtomicInteger();
+        var clicks = new CopyOnWriteArrayList<Object>();
+        var actionGrid = new ActionGrid<Object>();
+        var upperAction = actionGrid.addAction("upper", String.class)
+                .setVisible(item -> evaluations.incrementAndGet() > 0 && !((String) item).isEmpty())
+                .addClickHandler(clicks::add)
+                .addBulkClickHandler(clicks::addAll);
+        assertThrows(NullPointerException.class, () -> actionGrid.addAction("lower", null));
+        assertEquals(String.class, upperAction.getRowType());
+        assertNull(actionGrid.addAction("any").getRowType());
+        // the action column is only rebuilt while attached
+        new UI().add(actionGrid);
+
+        assertTrue(upperAction.appliesTo("text"));
+        assertFalse(upperAction.appliesTo(42));
+        assertFalse(upperAction.isVisibleFor(42));
+        assertFalse(upperAction.isEnabledFor(42));
+        assertEquals(0, evaluations.get());
+        assertTrue(upperAction.isVisibleFor("text"));
+        assertEquals(1, evaluations.get());
+
+        upperAction.onClickFor(42);
+        upperAction.onClickFor("text");
+        upperAction.onBulkClickFor(new LinkedHashSet<>(List.of(7, "more")));
+        assertEquals(List.of("text", "more"), clicks);
+
+        var actionSet = ActionSet.<Object>builder()
+                .withAction("upper", String.class, action -> action.setVisible(true))
+                .build();
+        actionGrid.setActionSet(actionSet);
+        assertEquals(String.class, actionGrid.getActionByKey("upper").getRowType());
+        assertFalse(actionGrid.getActionByKey("upper").isVisibleFor(42));
+    }
+
+    // availability queries
+
+    @Test
+    public void availabilityIsComposedIntoBackEndQueries() {
+        var items = List.of(new ToggleItem("Off/Visible/Enabled", "", false, true, true),
+                new ToggleItem("On/Visible/Disabled", "", true, true, false));
+        var queries = new CopyOnWriteArrayList<Query<ToggleItem, ActionAvailabilityFilter>>();
+        var clicks = new AtomicInteger();
+        var actionGrid = new ActionGrid<ToggleItem>();
+        var toggleAction = actionGrid.addAction(ActionGridView.TOGGLE_ACTION_KEY)
+                .setEnabled(ToggleItem::isEnabled)
+                .addClickHandler(item -> clicks.incrementAndGet())
+                .setAvailabilityFilter("enabled")
+                .setAvailabilitySortProperty("disabled");
+        actionGrid.addAction("info");
+
+        assertThrows(IllegalStateException.class, () -> actionGrid.showOnlyAvailable(ActionGridView.TOGGLE_ACTION_KEY));
+        actionGrid.setItemsWithAvailability(new AbstractBackEndDataProvider<>() {
+            @Override
+            protected Stream<ToggleItem> fetchFromBackEnd(Query<ToggleItem, ActionAvailabilityFilter> query) {
+                queries.add(query);
+                return items.stream();
+            }
+
+            @Override
+            protected int sizeInBackEnd(Query<ToggleItem, ActionAvailabilityFilter> query) {
+                queries.add(query);
+                return items.size();
+            }
+        });
+        assertThrows(IllegalArgumentException.class, () -> actionGrid.showOnlyAvailable("info"));
+        assertThrows(IllegalArgumentException.class, () -> actionGrid.sortByAvailability("info"));
+
+        actionGrid.getDataProvider().fetch(new Query<>());
+        assertTrue(queries.get(queries.size() - 1).getFilter().isEmpty());
+
+        actionGrid.showOnlyAvailable(ActionGridView.TOGGLE_ACTION_KEY);
+        actionGrid.sortByAvailability(ActionGridView.TOGGLE_ACTION_KEY);
+        actionGrid.getDataProvider().fetch(new Query<>(0, 50,
+                List.of(new QuerySortOrder("name", SortDirection.DESCENDING)), null, null));
+        var query = queries.get(queries.size() - 1);
+        var filter = query.getFilter().orElseThrow();
+        assertEquals(List.of(ActionGridView.TOGGLE_ACTION_KEY), filter.getActionKeys());
+        assertEquals(List.of("enabled"), filter.getFilters());
+        assertEquals(List.of("disabled", "name"),
+                query.getSortOrders().stream().map(QuerySortOrder::getSorted).toList());
+        assertEquals(SortDirection.ASCENDING, query.getSortOrders().get(0).getDirection());
+
+        // the back end's rows are still checked in memory on click
+        toggleAction.onClickFor(items.get(1));
+        assertEquals(0, clicks.get());
+
+        actionGrid.showOnlyAvailable();
+        actionGrid.sortByAvailability(null);
+        actionGrid.getDataProvider().fetch(new Query<>());
+        assertTrue(queries.get(queries.size() - 1).getFilter().isEmpty());
+        assertTrue(queries.get(queries.size() - 1).getSortOrders().isEmpty());
+    }
+
+    @Test
+    public void backEndIsReleasedWhenItemsAreSetOtherwise() {
+        var listeners = new AtomicInteger();
+        var actionGrid = new ActionGrid<ToggleItem>();
+        actionGrid.setItemsWithAvailability(new AbstractBackEndDataProvider<>() {
+            @Override
+            protected Stream<ToggleItem> fetchFromBackEnd(Query<ToggleItem, ActionAvailabilityFilter> query) {
+                return Stream.empty();
+            }
+
+            @Override
+            protected int sizeInBackEnd(Query<ToggleItem, ActionAvailabilityFilter> query) {
+                return 0;
+            }
+
+            @Override
+            public Registration addDataProviderListener(DataProviderListener<ToggleItem> listener) {
+                var registration = super.addDataProviderListener(listener);
+                listeners.incrementAndGet();
+                return () -> {
+                    registration.remove();
+                    listeners.decrementAndGet();
+                };
+            }
+        });
+        assertEquals(1, listeners.get());
+
+        actionGrid.setItems(List.of(new ToggleItem("Off/Visible/Enabled", "", false, true, true)));
+        assertEquals(0, listeners.get());
+        assertThrows(IllegalStateException.class, () -> actionGrid.showOnlyAvailable());
+    }
+
+    // action sets
+
+    @Test
+    public void actionSetIsSharedByGrids() {
+        var builder = ActionSet.<ToggleItem>builder()
+                .withAction(ActionGridView.TOGGLE_ACTION_KEY, action -> action
+                        .setTooltip(item -> item.isOn() ? "On" : "Off")
+                        .setEnabled(ToggleItem::isEnabled)
+                        .addClickHandler(item -> item.setOn(!item.isOn())))
+                .withAction(ActionGridView.NOOP_ACTION_KEY, action -> action
+                        .setIcon(item -> VaadinIcon.EYE.create()));
+        var actionSet = builder.build();
+        builder.withAction("other", action -> action.setTooltip("Other"));
+        assertEquals(List.of(ActionGridView.TOGGLE_ACTION_KEY, ActionGridView.NOOP_ACTION_KEY), actionSet.getActionKeys());
+
+        var actionGrid = new ActionGrid<ToggleItem>();
+        actionGrid.addAction("replaced");
+        actionGrid.setActionSet(actionSet);
+        var otherActionGrid = new ActionGrid<ToggleItem>();
+        otherActionGrid.setActionSet(actionSet);
+        assertEquals(actionSet, actionGrid.getActionSet());
+        assertEquals(actionSet.getActionKeys(), actionGrid.getActions().stream().map(ActionGrid.Action::getKey).toList());
+        assertNotSame(actionGrid.getActionByKey(ActionGridView.TOGGLE_ACTION_KEY),
+                otherActionGrid.getActionByKey(ActionGridView.TOGGLE_ACTION_KEY));
+
+        var item = new ToggleItem("Off/Visible/Enabled", "", false, true, true);
+        var toggleAction = actionGrid.getActionByKey(ActionGridView.TOGGLE_ACTION_KEY);
+        assertEquals("Off", toggleAction.tooltipFor(item));
+        assertTrue(toggleAction.isEnabledFor(item));
+
+        // changes to one grid's actions do not affect the set or the other grids
+        toggleAction.addClickHandler(clickedItem -> clickedItem.setOn(!clickedItem.isOn()));
+        toggleAction.onClickFor(item);
+        assertFalse(item.isOn());
+        otherActionGrid.getActionByKey(ActionGridView.TOGGLE_ACTION_KEY).onClickFor(item);
+        assertTrue(item.isOn());
+        toggleAction.setTooltip("Toggle");
+        assertEquals("Toggle", toggleAction.tooltipFor(item));
+        assertEquals("On", otherActionGrid.getActionByKey(ActionGridView.TOGGLE_ACTION_KEY).tooltipFor(item));
+
+        assertThrows(NullPointerException.class, () -> actionGrid.setActionSet(null));
+    }
+
+    @Test
+    public void actionSetIsBuiltFromPlainValuesOnAnyThread() throws Exception {
+        // built without a session or UI, as in a static initializer
+        var executor = Executors.newSingleThreadExecutor();
+        ActionSet<ToggleItem> actionSet;
+        try {
+            actionSet = executor.submit(() -> ActionSet.<ToggleItem>builder()
+                    .withAction(ActionGridView.TOGGLE_ACTION_KEY, action -> action
+                            .setIconName(item -> item.isOn() ? "vaadin:check" : "vaadin:close"))
+                    .withAction(ActionGridView.NOOP_ACTION_KEY, action -> action
+                            .setIcon(item -> VaadinIcon.EYE.create()))
+                    .build()).get();
+        }
+        finally {
+            executor.shutdown();
+        }
+
+        var actionGrid = new ActionGrid<ToggleItem>();
+        actionGrid.setActionSet(actionSet);
+        var item = new ToggleItem("On/Visible/Enabled", "", true, true, true);
+        assertEquals("vaadin:check", actionGrid.getActionByKey(ActionGridView.TOGGLE_ACTION_KEY).iconNameFor(item));
+        assertEquals("vaadin:eye", actionGrid.getActionByKey(ActionGridView.NOOP_ACTION_KEY).iconNameFor(item));
+
+        assertThrows(IllegalArgumentException.class, () -> ActionSet.<ToggleItem>builder()
+                .withAction("copy", action -> { })
+                .withAction("copy", action -> { }));
+        assertThrows(IllegalArgumentException.class, () -> ActionSet.<ToggleItem>builder()
+                .withAction(null, action -> { }));
+    }
+
+    @Test
+    public void staticIconIsReturnedAsSet() {
+        var actionGrid = new ActionGrid<ToggleItem>();
+        var icon = VaadinIcon.EYE.create();
+        var action = actionGrid.addAction("view").setIcon(icon);
+        var item = new ToggleItem("Off/Visible/Enabled", "", false, true, true);
+
+        assertEquals("vaadin:eye", action.iconNameFor(item));
+        assertSame(icon, action.iconFor(item));
+        assertNull(action.setIcon((Icon) null).iconFor(item));
+
+        // icons set by name are created when needed
+        action.setIconName("vaadin:edit");
+        assertEquals("vaadin:edit", action.iconFor(item).getIcon());
+        assertNotSame(action.iconFor(item), action.iconFor(item));
+    }
+
+    // lifecycle
+
+    @Test
+    public void actionColumnIsBuiltOnlyWhileAttached() {
+        var actionGrid = new ActionGrid<ToggleItem>();
+        var metrics = new InMemoryActionGridMetrics();
+        actionGrid.setMetrics(metrics);
+        actionGrid.addAction(ActionGridView.TOGGLE_ACTION_KEY)
+                .setTooltip(item -> item.isOn() ? "On" : "Off")
+                .setVisible(ToggleItem::isVisible)
+                .setEnabled(ToggleItem::isEnabled);
+        actionGrid.addAction(ActionGridView.NOOP_ACTION_KEY);
+        assertEquals(0, metrics.getActionColumnRefreshes());
+
+        var ui = new UI();
+        ui.add(actionGrid);
+        assertEquals(1, metrics.getActionColumnRefreshes());
+        var attachedSize = actionGrid.estimateRetainedSize();
+
+        ui.remove(actionGrid);
+        actionGrid.getActionByKey(ActionGridView.NOOP_ACTION_KEY).setTooltip("No-op");
+        assertEquals(1, metrics.getActionColumnRefreshes());
+        assertTrue(actionGrid.estimateRetainedSize() < attachedSize);
+
+        ui.add(actionGrid);
+        assertEquals(2, metrics.getActionColumnRefreshes());
+    }
+
+    // serialization
+
+    @Test
+    public void actionsSurviveSerialization() {
+        var actionGrid = new ActionGrid<ToggleItem>();
+        actionGrid.addColumn(ToggleItem::getName);
+        actionGrid.addAction(ActionGridView.TOGGLE_ACTION_KEY)
+                .setIcon(item -> item.isOn() ? VaadinIcon.CHECK.create() : VaadinIcon.CLOSE.create())
+                .setTooltip(item -> item.isOn() ? "On" : "Off")
+                .setEnabled(ToggleItem::isEnabled)
+                .addClickHandler(item -> item.setOn(!item.isOn()));
+        actionGrid.addAction(ActionGridView.NOOP_ACTION_KEY);
+        actionGrid.setItems(List.of(new ToggleItem("Off/Visible/Enabled", "", false, true, true)));
+
+        var restoredActionGrid = roundTrip(actionGrid);
+
+        assertEquals(List.of(ActionGridView.TOGGLE_ACTION_KEY, ActionGridView.NOOP_ACTION_KEY),
+                restoredActionGrid.getActions().stream().map(ActionGrid.Action::getKey).toList());
+        assertEquals(ActionGridMetrics.NO_OP, restoredActionGrid.getMetrics());
+
+        var item = new ToggleItem("Off/Visible/Enabled", "", false, true, true);
+        var toggleAction = restoredActionGrid.getActionByKey(ActionGridView.TOGGLE_ACTION_KEY);
+        assertEquals("vaadin:close", toggleAction.iconNameFor(item));
+        assertEquals("Off", toggleAction.tooltipFor(item));
+        toggleAction.onClickFor(item);
+        assertTrue(item.isOn());
+
+        restoredActionGrid.removeAction(toggleAction);
+        assertEquals(1, restoredActionGrid.getActions().size());
+    }
+
+    @Test
+    public void metricsSurviveSerialization() {
+        var actionGrid = new ActionGrid<ToggleItem>();
+        var metrics = new InMemoryActionGridMetrics();
+        actionGrid.setMetrics(metrics);
+        var toggleAction = actionGrid.addAction(ActionGridView.TOGGLE_ACTION_KEY)
+                .setTooltip(item -> item.isOn() ? "On" : "Off");
+        var item = new ToggleItem("Off/Visible/Enabled", "", false, true, true);
+        toggleAction.tooltipFor(item);
+        metrics.rowsGenerated(3);
+
+        var restoredActionGrid = roundTrip(actionGrid);
+
+        var restoredMetrics = (InMemoryActionGridMetrics) restoredActionGrid.getMetrics();
+        assertEquals(1, restoredMetrics.getProviderDurations(ActionGridView.TOGGLE_ACTION_KEY, ActionProperty.TOOLTIP).getCount());
+        assertEquals(3, restoredMetrics.getRowsGenerated().getMax());
+
+        // the restored metrics keep recording
+        restoredMetrics.rowsGenerated(5);
+        restoredActionGrid.getActionByKey(ActionGridView.TOGGLE_ACTION_KEY).tooltipFor(item);
+        assertEquals(5, restoredMetrics.getRowsGenerated().getMax());
+        assertEquals(2, restoredMetrics.getProviderDurations(ActionGridView.TOGGLE_ACTION_KEY, ActionProperty.TOOLTIP).getCount());
+    }
+
+    @Test
+    public void serializedSizeOfActionsStaysWithinBudget() {
+        // lower when a change shrinks it, to keep replication bandwidth from growing across releases
+        var actionBudget = 2 * 1024;
+        var actionCount = 10;
+
+        var actionlessSize = serializedSize(actionGridWithActions(0));
+        var actionSize = (serializedSize(actionGridWithActions(actionCount)) - actionlessSize) / actionCount;
+
+        assertTrue("each action serializes to %,d bytes, over its budget of %,d bytes.".formatted(actionSize, actionBudget),
+                actionSize <= actionBudget);
+    }
+
+    private static ActionGrid<ToggleItem> actionGridWithActions(int actionCount) {
+        var actionGrid = new ActionGrid<ToggleItem>();
+        actionGrid.addColumn(ToggleItem::getName);
+        for (int i = 0; i < actionCount; i++) {
+            actionGrid.addAction("action" + i)
+                    .setIcon(item -> item.isOn() ? VaadinIcon.CHECK.create() : VaadinIcon.CLOSE.create())
+                    .setClassName(item -> item.isOn() ? "on" : "off")
+                    .setTooltip(item -> item.isOn() ? "On" : "Off")
+                    .setAccessibleName("Toggle item state.")
+                    .setVisible(ToggleItem::isVisible)
+                    .setEnabled(ToggleItem::isEnabled)
+                    .addClickHandler(item -> item.setOn(!item.isOn()));
+        }
+        return actionGrid;
+    }
+
+    private static byte[] serialize(Object object) {
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static int serializedSize(Object object) {
+        return serialize(object).length;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T roundTrip(T object) {
+        try (var in = new ObjectInputStream(new ByteArrayInputStream(serialize(object)))) {
+            return (T) in.readObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -0,0 +1,57 @@
+package org.vaadin.addons.joelpop.unit.cases;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.testbench.unit.UIUnit4Test;
+import com.vaadin.testbench.unit.ViewPackages;
+import elemental.json.JsonObject;
+import org.junit.Test;
+import org.vaadin.addons.joelpop.ui.component.ActionGrid;
+import org.vaadin.addons.joelpop.unit.tester.ActionGridTester;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@ViewPackages(packages = { "org.vaadin.addons.joelpop.unit.view" })
+public class ActionGridTypedActionTest extends UIUnit4Test {
+    private static final String UPPER_ACTION_KEY = "upper";
+
+    @Test
+    public void otherRowTypesGetNullState() {
+        var actionGrid = new ActionGrid<Object>();
+        actionGrid.setItems(List.of(42, "text", ""));
+        actionGrid.addAction(UPPER_ACTION_KEY, String.class)
+                .setVisible(item -> !((String) item).isEmpty())
+                .setTooltip(item -> "Upper " + item);
+        var tester = attach(actionGrid);
+
+        // the other row types neither evaluate nor send the action's properties
+        assertEquals("null", tester.getTypedActionStateForRow(0, UPPER_ACTION_KEY).toJson());
+
+        var state = (JsonObject) tester.getTypedActionStateForRow(1, UPPER_ACTION_KEY);
+        assertTrue(state.getBoolean("Visible"));
+        assertEquals("Upper text", state.getString("Tooltip"));
+
+        var emptyState = (JsonObject) tester.getTypedActionStateForRow(2, UPPER_ACTION_KEY);
+        assertFalse(emptyState.getBoolean("Visible"));
+    }
+
+    @Test
+    public void nullStateHidesAndEmptiesTheButton() {
+        var actionGrid = new ActionGrid<Object>();
+        actionGrid.addAction(UPPER_ACTION_KEY, String.class);
+
+        var template = attach(actionGrid).getActionColumnTemplate();
+        assertTrue(template.contains("(item.upperState?.Visible ?? false)"));
+        assertTrue(template.contains("(item.upperState?.Enabled ?? false)"));
+        assertTrue(template.contains("(item.upperState?.Tooltip ?? '')"));
+    }
+
+    private static ActionGridTester<ActionGrid<Object>, Object> attach(ActionGrid<Object> actionGrid) {
+        // the action column is only built while attached
+        UI.getCurrent().add(actionGrid);
+        return new ActionGridTester<>(actionGrid);
+    }
+}
@@ -1,15 +1,28 @@
 package org.vaadin.addons.joelpop.unit.tester;
 
+import com.vaadin.flow.component.ClientCallable;
 import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.component.grid.GridTester;
 import com.vaadin.flow.data.renderer.LitRenderer;
 import com.vaadin.testbench.unit.LitRendererTestUtil;
 import com.vaadin.testbench.unit.TesterWrappers;
 import elemental.json.Json;
+import elemental.json.JsonObject;
+import elemental.json.JsonType;
+import elemental.json.JsonValue;
 import org.vaadin.addons.joelpop.ui.component.ActionGrid;
+import org.vaadin.addons.joelpop.ui.component.ActionProperty;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
 
 public class ActionGridTester<T extends ActionGrid<Y>, Y> extends GridTester<T, Y>
         implements TesterWrappers {
+    // the names the action column's template uses for the row properties and the typed actions' states
+    private static final String ROW_PROPERTIES_PROPERTY = "actionRow";
+    private static final String TYPED_ACTION_STATE_SUFFIX = "State";
 
     /**
      * Wrap action grid for testing.
@@ -21,35 +34,162 @@ public class ActionGridTester<T extends ActionGrid<Y>, Y> extends GridTester<T,
     }
 
     public String getActionIconNameForRow(int rowIndex, String actionKey) {
-        return getActionPropertyValueForRow(rowIndex, actionKey, "IconName", String.class);
+        return getActionPropertyValueForRow(rowIndex, actionKey, ActionProperty.ICON_NAME, String.class);
     }
 
     public String getActionClassNameForRow(int rowIndex, String actionKey) {
-        return getActionPropertyValueForRow(rowIndex, actionKey, "ClassName", String.class);
+        return getActionPropertyValueForRow(rowIndex, actionKey, ActionProperty.CLASS_NAME, String.class);
     }
 
     public String getActionAccessibleNameForRow(int rowIndex, String actionKey) {
-        return getActionPropertyValueForRow(rowIndex, actionKey, "AriaLabel", String.class);
+        return getActionPropertyValueForRow(rowIndex, actionKey, ActionProperty.ARIA_LABEL, String.class);
     }
 
     public String getActionTooltipForRow(int rowIndex, String actionKey) {
-        return getActionPropertyValueForRow(rowIndex, actionKey, "Tooltip", String.class);
+        return getActionPropertyValueForRow(rowIndex, actionKey, ActionProperty.TOOLTIP, String.class);
     }
 
     public boolean isActionVisibleForRow(int rowIndex, String actionKey) {
-        return getActionPropertyValueForRow(rowIndex, actionKey, "Visible", Boolean.class);
+        return getActionPropertyValueForRow(rowIndex, actionKey, ActionProperty.VISIBLE, Boolean.class);
     }
 
     public boolean isActionEnabledForRow(int rowIndex, String actionKey) {
-        return getActionPropertyValueForRow(rowIndex, actionKey, "Enabled", Boolean.class);
+        return getActionPropertyValueForRow(rowIndex, actionKey, ActionProperty.ENABLED, Boolean.class);
     }
 
     public void clickActionForRow(int rowIndex, String actionKey) {
         LitRendererTestUtil.invokeFunction(getActionColumnRenderer(), this::getField, this::getRow, rowIndex, actionKey + "Click", Json.createArray());
     }
 
-    private <V> V getActionPropertyValueForRow(int rowIndex, String actionKey, String propertyName, Class<V> valueType) {
-        return LitRendererTestUtil.getPropertyValue(getActionColumnRenderer(), this::getField, this::getRow, rowIndex, actionKey + propertyName, valueType);
+    /**
+     * Click an action for a row the way the browser does while click tracing is enabled.
+     *
+     * @param clickTimeMillis the time of the click in the browser, in milliseconds since the epoch
+     * @param correlationId the id the browser reports the click's latency with
+     */
+    public void clickActionForRow(int rowIndex, String actionKey, long clickTimeMillis, String correlationId) {
+        var args = Json.createArray();
+        args.set(0, clickTimeMillis);
+        args.set(1, correlationId);
+        LitRendererTestUtil.invokeFunction(getActionColumnRenderer(), this::getField, this::getRow, rowIndex, actionKey + "Click", args);
+    }
+
+    /**
+     * Report the latency of a traced click, as the browser does once the click's response was applied.
+     */
+    public void reportClickLatency(String correlationId, double endToEndMillis) {
+        invokeClientCallable("reportClickLatency", correlationId, endToEndMillis);
+    }
+
+    /**
+     * Return the confirmation message the browser fetches from the server before asking to confirm a click.
+     *
+     * @return the message, or an empty string if no confirmation is needed
+     */
+    public String getActionConfirmationForRow(int rowIndex, String actionKey) {
+        var itemKey = getComponent().getDataCommunicator().getKeyMapper().key(getRow(rowIndex));
+        return (String) invokeClientCallable("actionConfirmation", actionKey, itemKey);
+    }
+
+    /**
+     * Report the rows shown by the browser once scrolling pauses.
+     */
+    public void scrollToRows(int firstIndex, int lastIndex) {
+        invokeClientCallable("prefetchAroundViewport", firstIndex, lastIndex);
+    }
+
+    /**
+     * Return the state a typed action sends for a row, a JSON null for the rows of other types.
+     */
+    public JsonValue getTypedActionStateForRow(int rowIndex, String actionKey) {
+        if (getAction(actionKey).getRowType() == null) {
+            throw new IllegalArgumentException("Action with key \"" + actionKey + "\" is not typed.");
+        }
+        return getActionPropertyValueForRow(rowIndex, actionKey + TYPED_ACTION_STATE_SUFFIX, JsonValue.class);
+    }
+
+    public String getActionColumnTemplate() {
+        return getActionColumnRenderer().getTemplateExpression();
+    }
+
+    public List<String> getActionColumnFunctionNames() {
+        return LitRendererTestUtil.getFunctionNames(getActionColumnRenderer());
+    }
+
+    public Set<String> getActionColumnPropertyNames() {
+        return getActionColumnRenderer().getValueProviders().keySet();
+    }
+
+    private ActionGrid<Y>.Action getAction(String actionKey) {
+        var action = getComponent().getActionByKey(actionKey);
+        if (action == null) {
+            throw new IllegalArgumentException("Action with key \"" + actionKey + "\" not found.");
+        }
+        return action;
+    }
+
+    private <V> V getActionPropertyValueForRow(int rowIndex, String actionKey, ActionProperty property, Class<V> valueType) {
+        var action = getAction(actionKey);
+        if (action.getRowType() != null) {
+            var state = getActionPropertyValueForRow(rowIndex, actionKey + TYPED_ACTION_STATE_SUFFIX, JsonValue.class);
+            // the state is null for the other row types, hiding and disabling the button
+            if (state == null || state.getType() == JsonType.NULL) {
+                return valueType.cast((valueType == Boolean.class) ? Boolean.FALSE : "");
+            }
+            var stateObject = (JsonObject) state;
+            if (stateObject.hasKey(property.getSuffix())) {
+                return valueType.cast((valueType == Boolean.class)
+                        ? (Object) stateObject.getBoolean(property.getSuffix())
+                        : stateObject.getString(property.getSuffix()));
+            }
+        }
+        else if (getActionColumnRenderer().getValueProviders().containsKey(property.propertyName(actionKey))) {
+            return getActionPropertyValueForRow(rowIndex, property.propertyName(actionKey), valueType);
+        }
+
+        // client-evaluated action properties are not sent, so evaluate them on the server like the browser would
+        assertClientEvaluated(action, property);
+        var row = getRow(rowIndex);
+        return valueType.cast(switch (property) {
+            case ICON_NAME -> action.iconNameFor(row);
+            case CLASS_NAME -> action.classNameFor(row);
+            case ARIA_LABEL -> action.ariaLabelFor(row);
+            case TOOLTIP -> action.tooltipFor(row);
+            case VISIBLE -> action.isVisibleFor(row);
+            case ENABLED -> action.isEnabledFor(row);
+        });
+    }
+
+    /**
+     * Check that a property left out of the rows is computed by the template instead.
+     */
+    private void assertClientEvaluated(ActionGrid<Y>.Action action, ActionProperty property) {
+        var renderer = getActionColumnRenderer();
+        var condition = switch (property) {
+            case CLASS_NAME -> action.getClassNameCondition();
+            case VISIBLE -> action.getVisibleCondition();
+            case ENABLED -> action.getEnabledCondition();
+            default -> null;
+        };
+        // toggle actions have both of their states in the template, and only send which one applies
+        var toggleProperty = action instanceof ActionGrid.ToggleAction
+                && property != ActionProperty.VISIBLE && property != ActionProperty.ENABLED;
+        var clientProperty = toggleProperty ? action.getKey() + "On"
+                : (condition != null) ? ROW_PROPERTIES_PROPERTY
+                : null;
+        if (clientProperty == null) {
+            throw new IllegalStateException("Property \"" + property.propertyName(action.getKey())
+                    + "\" is neither sent nor evaluated by the client.");
+        }
+        if (!renderer.getValueProviders().containsKey(clientProperty)
+                || !renderer.getTemplateExpression().contains("item." + clientProperty)) {
+            throw new IllegalStateException("Property \"" + property.propertyName(action.getKey())
+                    + "\" is evaluated by the client, but \"" + clientProperty + "\" is not sent to evaluate it from.");
+        }
+    }
+
+    private <V> V getActionPropertyValueForRow(int rowIndex, String propertyName, Class<V> valueType) {
+        return LitRendererTestUtil.getPropertyValue(getActionColumnRenderer(), this::getField, this::getRow, rowIndex, propertyName, valueType);
     }
 
     private LitRenderer<Y> getActionColumnRenderer() {
@@ -62,6 +202,26 @@ public class ActionGridTester<T extends ActionGrid<Y>, Y> extends GridTester<T,
         }
     }
 
+    private Object invokeClientCallable(String methodName, Object... args) {
+        var method = Arrays.stream(ActionGrid.class.getDeclaredMethods())
+                .filter(declaredMethod -> declaredMethod.getName().equals(methodName)
+                        && declaredMethod.isAnnotationPresent(ClientCallable.class))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Client callable \"" + methodName + "\" not found."));
+        try {
+            // the client callables are private, as only the browser calls them
+            method.setAccessible(true);
+            return method.invoke(getComponent(), args);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Failed to call " + methodName, e);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private Grid.Column<Y> getActionColumn() {
         try {